@@ -0,0 +1,116 @@
+package com.house.adminservice.config;
+
+import com.house.common.messaging.DeadLetterQueues;
+import org.aopalliance.aop.Advice;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.AcknowledgeMode;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.config.RetryInterceptorBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.retry.MessageBatchRecoverer;
+import org.springframework.amqp.rabbit.retry.MessageRecoverer;
+import org.springframework.amqp.rabbit.retry.RejectAndDontRequeueRecoverer;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.retry.policy.SimpleRetryPolicy;
+
+import java.util.Map;
+
+@Configuration
+public class RabbitConfig {
+
+    public static final String ZILLOW_DATA_QUEUE = "zillow.property.data";
+
+    public static final String ZILLOW_BATCH_QUEUE = "zillow.property.batch";
+
+    @Value("${zillow.ingest.retry.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${zillow.ingest.retry.initial-interval-ms:1000}")
+    private long initialIntervalMs;
+
+    @Value("${zillow.ingest.retry.max-interval-ms:10000}")
+    private long maxIntervalMs;
+
+    // 与 data-collection-service 一致，消息体为 JSON
+    @Bean
+    public MessageConverter messageConverter() {
+        return new Jackson2JsonMessageConverter();
+    }
+
+    // 批量消费：攒够 batch-size 条，或 receive-timeout-ms 内没有新消息时，整批交给监听器，处理完后整批确认。
+    // 监听器抛出异常时整批重试，重试用尽后整批拒绝且不重新入队，转入死信队列
+    @Bean
+    public SimpleRabbitListenerContainerFactory batchListenerContainerFactory(
+            ConnectionFactory connectionFactory,
+            MessageConverter messageConverter,
+            @Value("${zillow.ingest.batch.size:500}") int batchSize,
+            @Value("${zillow.ingest.batch.receive-timeout-ms:1000}") long receiveTimeoutMs) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        factory.setMessageConverter(messageConverter);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setReceiveTimeout(receiveTimeoutMs);
+        factory.setPrefetchCount(batchSize);
+        factory.setAcknowledgeMode(AcknowledgeMode.AUTO);
+        factory.setDefaultRequeueRejected(false);
+        factory.setAdviceChain(retryAdvice((MessageBatchRecoverer) (messages, cause) -> {
+            throw new AmqpRejectAndDontRequeueException("Moving " + messages.size()
+                    + " Zillow property messages to the dead letter queue after " + maxAttempts + " attempts", cause);
+        }));
+        return factory;
+    }
+
+    // 压缩批量消息：每条消息本身就是一批房源，逐条消费，其余设置沿用 spring.rabbitmq.listener.simple；
+    // 失败同样重试，用尽后转入 zillow.property.batch.dlq
+    @Bean
+    public SimpleRabbitListenerContainerFactory compressedBatchListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setAcknowledgeMode(AcknowledgeMode.AUTO);
+        factory.setDefaultRequeueRejected(false);
+        factory.setAdviceChain(retryAdvice(new RejectAndDontRequeueRecoverer()));
+        return factory;
+    }
+
+    // 逐条/批量消费的房源队列，失败消息转入 zillow.property.data.dlq
+    @Bean
+    public Queue zillowDataQueue() {
+        return DeadLetterQueues.withDeadLetterQueue(ZILLOW_DATA_QUEUE);
+    }
+
+    @Bean
+    public Queue zillowDataDeadLetterQueue() {
+        return DeadLetterQueues.deadLetterQueue(ZILLOW_DATA_QUEUE);
+    }
+
+    // data-collection-service 发布的批量消息（gzip 压缩的 NDJSON），两边声明的参数必须一致
+    @Bean
+    public Queue zillowBatchQueue() {
+        return DeadLetterQueues.withDeadLetterQueue(ZILLOW_BATCH_QUEUE);
+    }
+
+    @Bean
+    public Queue zillowBatchDeadLetterQueue() {
+        return DeadLetterQueues.deadLetterQueue(ZILLOW_BATCH_QUEUE);
+    }
+
+    // 最多尝试 max-attempts 次，间隔按指数退避；AmqpRejectAndDontRequeueException（如无法解码）重试也不会成功，直接交给 recoverer
+    private Advice retryAdvice(MessageRecoverer recoverer) {
+        return RetryInterceptorBuilder.stateless()
+                .retryPolicy(new SimpleRetryPolicy(maxAttempts,
+                        Map.of(AmqpRejectAndDontRequeueException.class, false), true, true))
+                .backOffOptions(initialIntervalMs, 2.0, maxIntervalMs)
+                .recoverer(recoverer)
+                .build();
+    }
+}
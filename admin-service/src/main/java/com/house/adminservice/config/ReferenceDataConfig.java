@@ -0,0 +1,40 @@
+package com.house.adminservice.config;
+
+import com.house.common.reference.ReferenceDataRegistry;
+import com.house.common.reference.ReferenceDataSync;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+
+@Configuration
+public class ReferenceDataConfig {
+
+    // 房屋类型、状态等字典表只在首次使用时加载一次，之后在内存中查找；
+    // 超过 max-age 后在下一次查找时重新加载
+    @Bean
+    public ReferenceDataRegistry referenceDataRegistry(EntityManagerFactory entityManagerFactory,
+                                                       @Value("${reference-data.max-age-minutes:10}") long maxAgeMinutes) {
+        return new ReferenceDataRegistry(entityManagerFactory, Duration.ofMinutes(maxAgeMinutes));
+    }
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    // house-service 刷新字典表时通过 Redis 通知，admin-service 随之重新加载
+    @Bean
+    public ReferenceDataSync referenceDataSync(ReferenceDataRegistry referenceDataRegistry,
+                                               StringRedisTemplate stringRedisTemplate,
+                                               RedisMessageListenerContainer redisMessageListenerContainer) {
+        return new ReferenceDataSync(referenceDataRegistry, stringRedisTemplate, redisMessageListenerContainer);
+    }
+}
@@ -0,0 +1,114 @@
+package com.house.adminservice.repository;
+
+import com.house.common.entity.House;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 按 zillow_id 批量写入房屋：一条多行 INSERT ... ON DUPLICATE KEY UPDATE，
+ * 依赖 houses.zillow_id 上的唯一索引（V5 迁移）。
+ */
+@Repository
+public class HouseBatchRepository {
+
+    // 每条语句的最大行数，15 个参数/行，远低于 MySQL 65535 个占位符的上限
+    private static final int MAX_ROWS_PER_STATEMENT = 1000;
+
+    private static final String INSERT_PREFIX = "INSERT INTO houses (address, city, state, zip_code, latitude, longitude, " +
+            "house_type_id, area_sqft, lot_area_sqft, house_status_id, build_year, bathrooms, bedrooms, description, zillow_id) VALUES ";
+
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // 内容未变化时 MySQL 不会修改该行，updated_at 和 version 也保持不变。
+    // version 必须最先赋值：其后的赋值会覆盖旧值，比较就失效了
+    private static final String ON_DUPLICATE_KEY_UPDATE = " AS incoming ON DUPLICATE KEY UPDATE " +
+            "version = version + IF(ROW(address, city, state, zip_code, latitude, longitude, house_type_id, area_sqft, " +
+            "lot_area_sqft, house_status_id, build_year, bathrooms, bedrooms, description) <=> " +
+            "ROW(incoming.address, incoming.city, incoming.state, incoming.zip_code, incoming.latitude, incoming.longitude, " +
+            "incoming.house_type_id, incoming.area_sqft, incoming.lot_area_sqft, incoming.house_status_id, " +
+            "incoming.build_year, incoming.bathrooms, incoming.bedrooms, incoming.description), 0, 1), " +
+            "address = incoming.address, city = incoming.city, state = incoming.state, zip_code = incoming.zip_code, " +
+            "latitude = incoming.latitude, longitude = incoming.longitude, house_type_id = incoming.house_type_id, " +
+            "area_sqft = incoming.area_sqft, lot_area_sqft = incoming.lot_area_sqft, house_status_id = incoming.house_status_id, " +
+            "build_year = incoming.build_year, bathrooms = incoming.bathrooms, bedrooms = incoming.bedrooms, " +
+            "description = incoming.description";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * 插入新房屋、更新已有房屋，返回 MySQL 报告的受影响行数（新增计 1，更新计 2，未变化计 0）。
+     */
+    public int upsertByZillowId(List<House> houses) {
+        int affected = 0;
+        for (int from = 0; from < houses.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<House> chunk = houses.subList(from, Math.min(houses.size(), from + MAX_ROWS_PER_STATEMENT));
+            affected += jdbcTemplate.update(buildUpsert(chunk.size()), toParameters(chunk));
+        }
+        return affected;
+    }
+
+    private static String buildUpsert(int rows) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDERS);
+        }
+        return sql.append(ON_DUPLICATE_KEY_UPDATE).toString();
+    }
+
+    /**
+     * 数据库当前时间。updated_at 由 MySQL 按自身时钟写入，findIdsChangedSince 的起点也要取自数据库。
+     */
+    public Timestamp currentTimestamp() {
+        return jdbcTemplate.queryForObject("SELECT CURRENT_TIMESTAMP", Timestamp.class);
+    }
+
+    /**
+     * 给定 zillow_id 中自 since 起新增或内容变化的房屋 id。内容未变化的行 updated_at 不变，不会返回；
+     * 同一秒内其他来源修改过的行也会返回。
+     */
+    public List<Long> findIdsChangedSince(List<String> zillowIds, Timestamp since) {
+        List<Long> ids = new ArrayList<>();
+        for (int from = 0; from < zillowIds.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<String> chunk = zillowIds.subList(from, Math.min(zillowIds.size(), from + MAX_ROWS_PER_STATEMENT));
+            String sql = "SELECT id FROM houses WHERE updated_at >= ? AND zillow_id IN ("
+                    + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+            List<Object> parameters = new ArrayList<>(chunk.size() + 1);
+            parameters.add(since);
+            parameters.addAll(chunk);
+            ids.addAll(jdbcTemplate.queryForList(sql, Long.class, parameters.toArray()));
+        }
+        return ids;
+    }
+
+    private static Object[] toParameters(List<House> houses) {
+        List<Object> parameters = new ArrayList<>(houses.size() * 15);
+        for (House house : houses) {
+            parameters.add(house.getAddress());
+            parameters.add(house.getCity());
+            parameters.add(house.getState());
+            parameters.add(house.getZipCode());
+            parameters.add(house.getLatitude());
+            parameters.add(house.getLongitude());
+            parameters.add(house.getHouseType() != null ? house.getHouseType().getId() : null);
+            parameters.add(house.getAreaSqft());
+            parameters.add(house.getLotAreaSqft());
+            parameters.add(house.getHouseStatus() != null ? house.getHouseStatus().getId() : null);
+            parameters.add(house.getBuildYear());
+            parameters.add(house.getBathrooms());
+            parameters.add(house.getBedrooms());
+            parameters.add(house.getDescription());
+            parameters.add(house.getZillowId());
+        }
+        return parameters.toArray();
+    }
+}
@@ -0,0 +1,48 @@
+package com.house.adminservice.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * 入库后通知 house-service：删除 Redis 中的房屋缓存（house:<id>），再在 house:invalidate
+ * 频道发布 "<instanceId>:<id>"，各 house-service 实例据此清除本地缓存和响应缓存。
+ *
+ * 通知失败不影响入库：house-service 的缓存最长在 house.cache.ttl-minutes 后过期。
+ */
+@Component
+public class HouseChangePublisher {
+
+    // 与 house-service 的 HouseCache 一致
+    private static final String HOUSE_CACHE_PREFIX = "house:";
+    private static final String INVALIDATION_CHANNEL = "house:invalidate";
+
+    private final String instanceId = "admin-service-" + UUID.randomUUID();
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    public void publishChanged(Collection<Long> houseIds) {
+        if (houseIds.isEmpty()) {
+            return;
+        }
+        try {
+            List<String> keys = houseIds.stream().map(id -> HOUSE_CACHE_PREFIX + id).collect(Collectors.toList());
+            stringRedisTemplate.delete(keys);
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                houseIds.forEach(id -> redis.publish(INVALIDATION_CHANNEL, instanceId + ":" + id));
+                return null;
+            });
+        } catch (RuntimeException e) {
+            System.err.println("Failed to invalidate " + houseIds.size() + " cached houses: " + e.getMessage());
+        }
+    }
+}
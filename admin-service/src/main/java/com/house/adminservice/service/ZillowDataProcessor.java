@@ -1,14 +1,30 @@
 package com.house.adminservice.service;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.house.common.dto.HouseDTO;
 import com.house.common.entity.*;
 import com.house.adminservice.repository.*;
-import com.house.datacollectionservice.model.ZillowProperty;
+import com.house.common.reference.ReferenceDataRegistry;
+import com.house.common.dto.ZillowProperty;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
 @Service
 public class ZillowDataProcessor {
     
@@ -16,12 +32,23 @@ public class ZillowDataProcessor {
     private HouseRepository houseRepository;
     
     @Autowired
-    private HouseTypeRepository houseTypeRepository;
+    private HouseBatchRepository houseBatchRepository;
+    
+    @Autowired
+    private ReferenceDataRegistry referenceData;
     
     @Autowired
-    private HouseStatusRepository houseStatusRepository;
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private HouseChangePublisher houseChangePublisher;
+    
+    // 批量写入的累计吞吐统计：实际新增或修改的行数，不含内容未变化和被跳过的房源
+    private final AtomicLong writtenRows = new AtomicLong();
+    private final AtomicLong upsertNanos = new AtomicLong();
     
-    @RabbitListener(queues = "zillow.property.data")
+    // 逐条模式，zillow.ingest.batch.enabled=false 时启用
+    @RabbitListener(queues = "zillow.property.data", autoStartup = "#{!${zillow.ingest.batch.enabled:true}}")
     @Transactional
     public void processZillowProperty(ZillowProperty zillowProperty) {
         try {
@@ -33,32 +60,8 @@ public class ZillowDataProcessor {
                 return;
             }
             
-            // 创建或更新房屋记录
-            House house = new House();
-            house.setAddress(zillowProperty.getStreetAddress());
-            house.setCity(zillowProperty.getCity());
-            house.setState(zillowProperty.getState());
-            house.setZipCode(zillowProperty.getZipcode());
-            house.setLatitude(zillowProperty.getLatitude());
-            house.setLongitude(zillowProperty.getLongitude());
-            house.setAreaSqft(zillowProperty.getLivingArea());
-            house.setLotAreaSqft(zillowProperty.getLotAreaValue());
-            house.setBuildYear(zillowProperty.getYearBuilt());
-            house.setBathrooms(zillowProperty.getBathrooms() != null ? zillowProperty.getBathrooms().intValue() : 0);
-            house.setBedrooms(zillowProperty.getBedrooms());
-            house.setDescription(zillowProperty.getDescription());
-            house.setZillowId(zillowProperty.getZpid());
-            
-            // 设置房屋类型
-            HouseType houseType = mapZillowHomeTypeToHouseType(zillowProperty.getHomeType());
-            house.setHouseType(houseType);
-            
-            // 设置房屋状态
-            HouseStatus houseStatus = mapZillowStatusToHouseStatus(zillowProperty.getHomeStatus());
-            house.setHouseStatus(houseStatus);
-            
             // 保存房屋
-            houseRepository.save(house);
+            houseRepository.save(toHouse(zillowProperty));
             
             System.out.println("Successfully processed property: " + zillowProperty.getZpid());
             
@@ -67,40 +70,163 @@ public class ZillowDataProcessor {
         }
     }
     
+    /**
+     * 批量模式（默认）：一次最多处理 zillow.ingest.batch.size 条消息，整批写入。
+     * 方法返回后整批确认；数据库不可用等异常会抛出，按 zillow.ingest.retry 重试，
+     * 重试用尽后整批转入死信队列 zillow.property.data.dlq。
+     */
+    @RabbitListener(queues = "zillow.property.data", containerFactory = "batchListenerContainerFactory",
+                    autoStartup = "${zillow.ingest.batch.enabled:true}")
+    public void processZillowProperties(List<ZillowProperty> zillowProperties) {
+        upsertProperties(zillowProperties);
+    }
+    
+    /**
+     * 批量消息：每条消息是 gzip 压缩的 NDJSON，包含多条房源，解码后与批量模式同样写入。
+     * 写入失败按 zillow.ingest.retry 重试，用尽后转入 zillow.property.batch.dlq；
+     * 无法解码的消息不重试，直接转入死信队列。
+     */
+    @RabbitListener(queues = "zillow.property.batch", containerFactory = "compressedBatchListenerContainerFactory")
+    public void processZillowPropertyBatch(Message message) {
+        upsertProperties(decodeBatch(message));
+    }
+    
+    private List<ZillowProperty> decodeBatch(Message message) {
+        try {
+            InputStream body = new ByteArrayInputStream(message.getBody());
+            if ("gzip".equals(message.getMessageProperties().getContentEncoding())) {
+                body = new GZIPInputStream(body);
+            }
+            try (MappingIterator<ZillowProperty> properties = objectMapper.readerFor(ZillowProperty.class).readValues(body)) {
+                return properties.readAll();
+            }
+        } catch (IOException e) {
+            throw new AmqpRejectAndDontRequeueException("Cannot decode Zillow property batch: " + e.getMessage(), e);
+        }
+    }
+    
+    // 一条多行 INSERT ... ON DUPLICATE KEY UPDATE 写入，已存在的 zillow_id 会被更新；
+    // 内容有变化的房屋随后通知 house-service 清除缓存
+    private void upsertProperties(List<ZillowProperty> zillowProperties) {
+        long start = System.nanoTime();
+        
+        List<House> houses = new ArrayList<>(zillowProperties.size());
+        for (ZillowProperty zillowProperty : zillowProperties) {
+            if (!hasRequiredFields(zillowProperty)) {
+                System.err.println("Skipping incomplete Zillow property: " + zillowProperty.getZpid());
+                continue;
+            }
+            houses.add(toHouse(zillowProperty));
+        }
+        
+        if (houses.isEmpty()) {
+            return;
+        }
+        
+        Timestamp since = houseBatchRepository.currentTimestamp();
+        try {
+            houseBatchRepository.upsertByZillowId(houses);
+        } catch (DataIntegrityViolationException e) {
+            // 个别记录违反约束会让整条语句失败，逐条重试以免整批丢弃
+            System.err.println("Batch upsert rejected, retrying one by one: " + e.getMostSpecificCause().getMessage());
+            upsertOneByOne(houses);
+        }
+        
+        List<Long> changedIds = houseBatchRepository.findIdsChangedSince(
+                houses.stream().map(House::getZillowId).collect(Collectors.toList()), since);
+        houseChangePublisher.publishChanged(changedIds);
+        
+        long elapsedNanos = System.nanoTime() - start;
+        long totalRows = writtenRows.addAndGet(changedIds.size());
+        long totalNanos = upsertNanos.addAndGet(elapsedNanos);
+        System.out.println(String.format("Wrote %d rows for %d Zillow properties in %d ms (%.0f rows/s, %.0f rows/s overall)",
+                changedIds.size(), zillowProperties.size(), elapsedNanos / 1_000_000,
+                changedIds.size() * 1e9 / Math.max(1, elapsedNanos),
+                totalRows * 1e9 / Math.max(1, totalNanos)));
+    }
+    
+    private void upsertOneByOne(List<House> houses) {
+        for (House house : houses) {
+            try {
+                houseBatchRepository.upsertByZillowId(List.of(house));
+            } catch (DataIntegrityViolationException e) {
+                System.err.println("Error processing Zillow property " + house.getZillowId() + ": "
+                        + e.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+    
+    private boolean hasRequiredFields(ZillowProperty zillowProperty) {
+        return zillowProperty.getZpid() != null
+                && zillowProperty.getStreetAddress() != null
+                && zillowProperty.getCity() != null
+                && zillowProperty.getState() != null
+                && zillowProperty.getZipcode() != null
+                && zillowProperty.getLatitude() != null
+                && zillowProperty.getLongitude() != null;
+    }
+    
+    private House toHouse(ZillowProperty zillowProperty) {
+        House house = new House();
+        house.setAddress(zillowProperty.getStreetAddress());
+        house.setCity(zillowProperty.getCity());
+        house.setState(zillowProperty.getState());
+        house.setZipCode(zillowProperty.getZipcode());
+        house.setLatitude(zillowProperty.getLatitude());
+        house.setLongitude(zillowProperty.getLongitude());
+        house.setAreaSqft(zillowProperty.getLivingArea());
+        house.setLotAreaSqft(zillowProperty.getLotAreaValue());
+        house.setBuildYear(zillowProperty.getYearBuilt());
+        house.setBathrooms(zillowProperty.getBathrooms() != null ? zillowProperty.getBathrooms().intValue() : 0);
+        house.setBedrooms(zillowProperty.getBedrooms());
+        house.setDescription(zillowProperty.getDescription());
+        house.setZillowId(zillowProperty.getZpid());
+        
+        // 设置房屋类型
+        HouseType houseType = mapZillowHomeTypeToHouseType(zillowProperty.getHomeType());
+        house.setHouseType(houseType);
+        
+        // 设置房屋状态
+        HouseStatus houseStatus = mapZillowStatusToHouseStatus(zillowProperty.getHomeStatus());
+        house.setHouseStatus(houseStatus);
+        
+        return house;
+    }
+    
     private HouseType mapZillowHomeTypeToHouseType(String zillowHomeType) {
         if (zillowHomeType == null) {
-            return houseTypeRepository.findByName("HOUSE").orElse(null);
+            return referenceData.findHouseType("HOUSE").orElse(null);
         }
         
         switch (zillowHomeType.toLowerCase()) {
             case "single family":
             case "house":
-                return houseTypeRepository.findByName("HOUSE").orElse(null);
+                return referenceData.findHouseType("HOUSE").orElse(null);
             case "condo":
             case "condominium":
-                return houseTypeRepository.findByName("CONDO").orElse(null);
+                return referenceData.findHouseType("CONDO").orElse(null);
             case "apartment":
-                return houseTypeRepository.findByName("APARTMENT").orElse(null);
+                return referenceData.findHouseType("APARTMENT").orElse(null);
             default:
-                return houseTypeRepository.findByName("HOUSE").orElse(null);
+                return referenceData.findHouseType("HOUSE").orElse(null);
         }
     }
     
     private HouseStatus mapZillowStatusToHouseStatus(String zillowStatus) {
         if (zillowStatus == null) {
-            return houseStatusRepository.findByName("FOR_SALE").orElse(null);
+            return referenceData.findHouseStatus("FOR_SALE").orElse(null);
         }
         
         switch (zillowStatus.toLowerCase()) {
             case "for sale":
             case "for sale by owner":
-                return houseStatusRepository.findByName("FOR_SALE").orElse(null);
+                return referenceData.findHouseStatus("FOR_SALE").orElse(null);
             case "sold":
-                return houseStatusRepository.findByName("SOLD").orElse(null);
+                return referenceData.findHouseStatus("SOLD").orElse(null);
             case "foreclosed":
-                return houseStatusRepository.findByName("FORECLOSED").orElse(null);
+                return referenceData.findHouseStatus("FORECLOSED").orElse(null);
             default:
-                return houseStatusRepository.findByName("FOR_SALE").orElse(null);
+                return referenceData.findHouseStatus("FOR_SALE").orElse(null);
         }
     }
 }
@@ -0,0 +1,108 @@
+package com.house.adminservice.config;
+
+import com.rabbitmq.client.Channel;
+import org.aopalliance.aop.Advice;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.boot.autoconfigure.amqp.RabbitProperties;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs the retry advice of the Zillow listener containers around a failing listener the
+ * way the container invokes it, without a broker.
+ */
+class RabbitConfigTest {
+
+    private static final Message MESSAGE = new Message(new byte[0], new MessageProperties());
+
+    private RabbitConfig config;
+
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        config = new RabbitConfig();
+        ReflectionTestUtils.setField(config, "maxAttempts", 3);
+        ReflectionTestUtils.setField(config, "initialIntervalMs", 1L);
+        ReflectionTestUtils.setField(config, "maxIntervalMs", 1L);
+    }
+
+    @Test
+    void compressedBatchIsRetriedUntilItSucceeds() {
+        Listener listener = listener(compressedBatchFactory(), 2, new IllegalStateException("database down"));
+
+        listener.invokeListener(mock(Channel.class), MESSAGE);
+
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void compressedBatchIsDeadLetteredAfterMaxAttempts() {
+        Listener listener = listener(compressedBatchFactory(), Integer.MAX_VALUE, new IllegalStateException("database down"));
+
+        assertThatThrownBy(() -> listener.invokeListener(mock(Channel.class), MESSAGE))
+                .hasCauseInstanceOf(AmqpRejectAndDontRequeueException.class);
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void undecodableBatchIsDeadLetteredWithoutRetry() {
+        Listener listener = listener(compressedBatchFactory(), Integer.MAX_VALUE,
+                new AmqpRejectAndDontRequeueException("Cannot decode Zillow property batch"));
+
+        assertThatThrownBy(() -> listener.invokeListener(mock(Channel.class), MESSAGE))
+                .hasCauseInstanceOf(AmqpRejectAndDontRequeueException.class);
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    void consumerBatchIsDeadLetteredAfterMaxAttempts() {
+        SimpleRabbitListenerContainerFactory factory = config.batchListenerContainerFactory(
+                mock(ConnectionFactory.class), new Jackson2JsonMessageConverter(), 500, 1000);
+        Listener listener = listener(factory, Integer.MAX_VALUE, new IllegalStateException("database down"));
+
+        assertThatThrownBy(() -> listener.invokeListener(mock(Channel.class), List.of(MESSAGE, MESSAGE)))
+                .isInstanceOf(AmqpRejectAndDontRequeueException.class);
+        assertThat(attempts).hasValue(3);
+    }
+
+    private SimpleRabbitListenerContainerFactory compressedBatchFactory() {
+        return config.compressedBatchListenerContainerFactory(
+                new SimpleRabbitListenerContainerFactoryConfigurer(new RabbitProperties()), mock(ConnectionFactory.class));
+    }
+
+    // A listener that throws the given exception on its first {@code failures} calls, wrapped in the
+    // factory's advice chain like the container's own listener invocation
+    private Listener listener(SimpleRabbitListenerContainerFactory factory, int failures, RuntimeException failure) {
+        Listener target = (channel, data) -> {
+            if (attempts.incrementAndGet() <= failures) {
+                throw failure;
+            }
+        };
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.addInterface(Listener.class);
+        for (Advice advice : factory.getAdviceChain()) {
+            proxyFactory.addAdvice(advice);
+        }
+        return (Listener) proxyFactory.getProxy();
+    }
+
+    interface Listener {
+        void invokeListener(Channel channel, Object data);
+    }
+}
@@ -0,0 +1,100 @@
+package com.house.adminservice.service;
+
+import com.house.adminservice.repository.HouseBatchRepository;
+import com.house.common.dto.ZillowProperty;
+import com.house.common.reference.ReferenceDataRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ZillowDataProcessorTest {
+
+    private static final Timestamp NOW = Timestamp.valueOf("2026-10-18 10:00:00");
+
+    private HouseBatchRepository houseBatchRepository;
+
+    private HouseChangePublisher houseChangePublisher;
+
+    private ZillowDataProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        houseBatchRepository = mock(HouseBatchRepository.class);
+        houseChangePublisher = mock(HouseChangePublisher.class);
+        when(houseBatchRepository.currentTimestamp()).thenReturn(NOW);
+
+        processor = new ZillowDataProcessor();
+        ReflectionTestUtils.setField(processor, "houseBatchRepository", houseBatchRepository);
+        ReflectionTestUtils.setField(processor, "houseChangePublisher", houseChangePublisher);
+        ReflectionTestUtils.setField(processor, "referenceData", mock(ReferenceDataRegistry.class));
+    }
+
+    @Test
+    void publishesAndCountsOnlyChangedRows() {
+        when(houseBatchRepository.findIdsChangedSince(List.of("z1", "z2", "z3"), NOW)).thenReturn(List.of(11L, 13L));
+
+        processor.processZillowProperties(List.of(property("z1"), property("z2"), property("z3"), incomplete("z4")));
+
+        verify(houseBatchRepository).upsertByZillowId(argThat(houses -> houses.size() == 3));
+        verify(houseChangePublisher).publishChanged(List.of(11L, 13L));
+        assertThat((AtomicLong) ReflectionTestUtils.getField(processor, "writtenRows")).hasValue(2);
+    }
+
+    @Test
+    void rejectedBatchIsWrittenOneByOne() {
+        when(houseBatchRepository.upsertByZillowId(anyList()))
+                .thenThrow(new DataIntegrityViolationException("duplicate"))
+                .thenReturn(1)
+                .thenThrow(new DataIntegrityViolationException("too long"));
+        when(houseBatchRepository.findIdsChangedSince(List.of("z1", "z2"), NOW)).thenReturn(List.of(11L));
+
+        processor.processZillowProperties(List.of(property("z1"), property("z2")));
+
+        verify(houseBatchRepository, times(3)).upsertByZillowId(anyList());
+        verify(houseChangePublisher).publishChanged(List.of(11L));
+    }
+
+    @Test
+    void batchWithoutCompletePropertiesTouchesNothing() {
+        processor.processZillowProperties(List.of(incomplete("z1")));
+
+        verify(houseBatchRepository, never()).upsertByZillowId(anyList());
+        verify(houseBatchRepository, never()).findIdsChangedSince(anyList(), any());
+        verify(houseChangePublisher, never()).publishChanged(any());
+    }
+
+    private static ZillowProperty property(String zpid) {
+        ZillowProperty property = new ZillowProperty();
+        property.setZpid(zpid);
+        property.setStreetAddress("1 Main St");
+        property.setCity("Irvine");
+        property.setState("CA");
+        property.setZipcode("92618");
+        property.setLatitude(new BigDecimal("33.6846"));
+        property.setLongitude(new BigDecimal("-117.8265"));
+        property.setBathrooms(new BigDecimal("2.5"));
+        return property;
+    }
+
+    private static ZillowProperty incomplete(String zpid) {
+        ZillowProperty property = property(zpid);
+        property.setLatitude(null);
+        return property;
+    }
+}
@@ -0,0 +1,165 @@
+package com.house.adminservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.house.adminservice.repository.HouseBatchRepository;
+import com.house.common.dto.ZillowProperty;
+import com.house.common.entity.HouseStatus;
+import com.house.common.entity.HouseType;
+import com.house.common.reference.ReferenceDataRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Measures how many properties per second processZillowPropertyBatch gets through for
+ * gzip-compressed NDJSON messages of 500 properties, with the database stubbed out, so
+ * the number covers decompression, decoding and mapping to houses. Reference data is a
+ * plain subclass and the stubs do not record invocations: Mockito's per-call cost would
+ * otherwise dominate the measurement. Throughput and
+ * compression ratio are printed; the assertion only guards against a large regression.
+ */
+class ZillowDataProcessorThroughputTest {
+
+    private static final int PROPERTIES_PER_MESSAGE = 500;
+    private static final int MESSAGES = 200;
+    private static final int WARM_UP_MESSAGES = 100;
+    private static final double MIN_PROPERTIES_PER_SECOND = 20_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void compressedBatchThroughput() throws IOException {
+        HouseBatchRepository houseBatchRepository = mock(HouseBatchRepository.class, withSettings().stubOnly());
+        when(houseBatchRepository.currentTimestamp()).thenReturn(new Timestamp(System.currentTimeMillis()));
+        AtomicLong upserted = new AtomicLong();
+        when(houseBatchRepository.upsertByZillowId(anyList())).thenAnswer(invocation -> {
+            upserted.addAndGet(invocation.<List<?>>getArgument(0).size());
+            return 0;
+        });
+        when(houseBatchRepository.findIdsChangedSince(anyList(), any())).thenReturn(List.of());
+
+        ZillowDataProcessor processor = new ZillowDataProcessor();
+        ReflectionTestUtils.setField(processor, "houseBatchRepository", houseBatchRepository);
+        ReflectionTestUtils.setField(processor, "houseChangePublisher", mock(HouseChangePublisher.class, withSettings().stubOnly()));
+        ReflectionTestUtils.setField(processor, "referenceData", new FixedReferenceData());
+        ReflectionTestUtils.setField(processor, "objectMapper", objectMapper);
+
+        List<Message> messages = new ArrayList<>(MESSAGES);
+        long compressedBytes = 0;
+        for (int m = 0; m < MESSAGES; m++) {
+            Message message = toMessage(m);
+            compressedBytes += message.getBody().length;
+            messages.add(message);
+        }
+        long uncompressedBytes = uncompressedSize(messages.get(0)) * MESSAGES;
+
+        for (Message message : messages.subList(0, WARM_UP_MESSAGES)) {
+            processor.processZillowPropertyBatch(message);
+        }
+        upserted.set(0);
+
+        long start = System.nanoTime();
+        for (Message message : messages) {
+            processor.processZillowPropertyBatch(message);
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        double propertiesPerSecond = upserted.get() * 1e9 / elapsedNanos;
+        System.out.printf("%,d compressed batches of %d properties: %,d ms, %,.0f properties/s, "
+                        + "%,d KB on the wire (%.1fx smaller than JSON)%n",
+                MESSAGES, PROPERTIES_PER_MESSAGE, elapsedNanos / 1_000_000, propertiesPerSecond,
+                compressedBytes / 1024, (double) uncompressedBytes / compressedBytes);
+        assertThat(upserted).hasValue((long) MESSAGES * PROPERTIES_PER_MESSAGE);
+        assertThat(propertiesPerSecond).isGreaterThan(MIN_PROPERTIES_PER_SECOND);
+    }
+
+    // Encoded the way ZillowBatchPublisher does it
+    private Message toMessage(int batch) throws IOException {
+        List<ZillowProperty> properties = new ArrayList<>(PROPERTIES_PER_MESSAGE);
+        for (int i = 0; i < PROPERTIES_PER_MESSAGE; i++) {
+            properties.add(property(batch * PROPERTIES_PER_MESSAGE + i));
+        }
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (SequenceWriter writer = objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .writeValues(new GZIPOutputStream(body))) {
+            writer.writeAll(properties);
+        }
+        return MessageBuilder.withBody(body.toByteArray())
+                .setContentType("application/x-ndjson")
+                .setContentEncoding("gzip")
+                .build();
+    }
+
+    private long uncompressedSize(Message message) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(message.getBody()))) {
+            return in.readAllBytes().length;
+        }
+    }
+
+    // Two lookups per property, answered without a database
+    private static final class FixedReferenceData extends ReferenceDataRegistry {
+
+        private final HouseType houseType = new HouseType("HOUSE", null);
+
+        private final HouseStatus houseStatus = new HouseStatus("FOR_SALE", null);
+
+        FixedReferenceData() {
+            super(null);
+        }
+
+        @Override
+        public Optional<HouseType> findHouseType(String name) {
+            return Optional.of(houseType);
+        }
+
+        @Override
+        public Optional<HouseStatus> findHouseStatus(String name) {
+            return Optional.of(houseStatus);
+        }
+    }
+
+    private static ZillowProperty property(int id) {
+        ZillowProperty property = new ZillowProperty();
+        property.setZpid("z" + id);
+        property.setStreetAddress(id + " Main St");
+        property.setCity("Irvine");
+        property.setState("CA");
+        property.setZipcode("92618");
+        property.setLatitude(new BigDecimal("33.6846"));
+        property.setLongitude(new BigDecimal("-117.8265"));
+        property.setHomeType("Single Family");
+        property.setPrice(950000);
+        property.setBathrooms(new BigDecimal("2.5"));
+        property.setBedrooms(3);
+        property.setLivingArea(1800);
+        property.setLotAreaValue(5000);
+        property.setYearBuilt(1998);
+        property.setHomeStatus("For Sale");
+        property.setDescription("Three bedroom single family home close to parks and schools");
+        property.setChangeType(ZillowProperty.ChangeType.INSERT);
+        return property;
+    }
+}
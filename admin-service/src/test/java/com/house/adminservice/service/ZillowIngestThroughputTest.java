@@ -0,0 +1,159 @@
+package com.house.adminservice.service;
+
+import com.house.adminservice.repository.HouseBatchRepository;
+import com.house.common.dto.ZillowProperty;
+import com.house.common.reference.ReferenceDataRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.MountableFile;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures messages per second on MySQL for the two listeners of zillow.property.data:
+ * processZillowProperty, which looks each property up by zillow_id and saves it in its own
+ * transaction, and processZillowProperties, which writes a batch of zillow.ingest.batch.size
+ * messages with one multi-row upsert. Both insert the same number of new properties through
+ * the Spring proxies, so each call commits as it would behind the listener container; the
+ * broker itself is left out. The schema is sql/init.sql. Figures are printed; the assertion
+ * only checks that the batch listener is faster.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ZillowDataProcessor.class, HouseBatchRepository.class, ZillowIngestThroughputTest.Config.class})
+class ZillowIngestThroughputTest {
+
+    private static final int MESSAGES = 5_000;
+    private static final int WARM_UP_MESSAGES = 500;
+
+    // zillow.ingest.batch.size default
+    private static final int BATCH_SIZE = 500;
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0")
+            .withDatabaseName("house_db")
+            .withCopyFileToContainer(MountableFile.forHostPath(Path.of("..", "sql", "init.sql").toAbsolutePath()),
+                    "/docker-entrypoint-initdb.d/init.sql");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+    }
+
+    // House and the reference tables live in common, outside this application's package
+    @TestConfiguration
+    @EntityScan("com.house.common.entity")
+    static class Config {
+
+        @Bean
+        ReferenceDataRegistry referenceDataRegistry(EntityManagerFactory entityManagerFactory) {
+            return new ReferenceDataRegistry(entityManagerFactory);
+        }
+    }
+
+    @Autowired
+    private ZillowDataProcessor processor;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private HouseChangePublisher houseChangePublisher;
+
+    @Test
+    void batchListenerAgainstPerMessageListener() {
+        perMessage(properties("warm-single-", WARM_UP_MESSAGES));
+        batched(properties("warm-batch-", WARM_UP_MESSAGES));
+
+        List<ZillowProperty> single = properties("single-", MESSAGES);
+        long start = System.nanoTime();
+        perMessage(single);
+        long perMessageNanos = System.nanoTime() - start;
+
+        List<ZillowProperty> batch = properties("batch-", MESSAGES);
+        start = System.nanoTime();
+        batched(batch);
+        long batchedNanos = System.nanoTime() - start;
+
+        double perMessageRate = MESSAGES * 1e9 / perMessageNanos;
+        double batchedRate = MESSAGES * 1e9 / batchedNanos;
+        System.out.printf("%,d new properties on MySQL:%n"
+                        + "  per message              %,8d ms  %,10.0f messages/s%n"
+                        + "  batches of %-4d          %,8d ms  %,10.0f messages/s  (%.1fx)%n",
+                MESSAGES, perMessageNanos / 1_000_000, perMessageRate,
+                BATCH_SIZE, batchedNanos / 1_000_000, batchedRate, batchedRate / perMessageRate);
+
+        assertThat(count("single-%")).isEqualTo(MESSAGES);
+        assertThat(count("batch-%")).isEqualTo(MESSAGES);
+        assertThat(batchedRate).isGreaterThan(perMessageRate);
+    }
+
+    private void perMessage(List<ZillowProperty> properties) {
+        properties.forEach(processor::processZillowProperty);
+    }
+
+    private void batched(List<ZillowProperty> properties) {
+        for (int from = 0; from < properties.size(); from += BATCH_SIZE) {
+            processor.processZillowProperties(properties.subList(from, Math.min(properties.size(), from + BATCH_SIZE)));
+        }
+    }
+
+    private long count(String zpidPattern) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM houses WHERE zillow_id LIKE ?", Long.class, zpidPattern);
+    }
+
+    private static List<ZillowProperty> properties(String prefix, int count) {
+        List<ZillowProperty> properties = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ZillowProperty property = new ZillowProperty();
+            property.setZpid(prefix + i);
+            property.setStreetAddress(i + " Main St");
+            property.setCity("Irvine");
+            property.setState("CA");
+            property.setZipcode("92618");
+            property.setLatitude(new BigDecimal("33.6846"));
+            property.setLongitude(new BigDecimal("-117.8265"));
+            property.setHomeType("Single Family");
+            property.setPrice(950000);
+            property.setBathrooms(new BigDecimal("2.5"));
+            property.setBedrooms(3);
+            property.setLivingArea(1800);
+            property.setLotAreaValue(5000);
+            property.setYearBuilt(1998);
+            property.setHomeStatus("For Sale");
+            property.setDescription("Three bedroom single family home close to parks and schools");
+            property.setChangeType(ZillowProperty.ChangeType.INSERT);
+            properties.add(property);
+        }
+        return properties;
+    }
+}
@@ -32,8 +32,11 @@ public class SecurityConfig {
                         .requestMatchers("/api/users/register").permitAll()
                         .requestMatchers("/api/users/login").permitAll()
                         .requestMatchers("/api/houses/search/**").permitAll()
+                        .requestMatchers("/api/houses/tiles/**").permitAll()
+                        .requestMatchers("/api/houses/suggest").permitAll()
                         .requestMatchers("/api/houses/{id}").permitAll()
                         .requestMatchers("/api/houses").permitAll()
+                        .requestMatchers("/actuator/health/**").permitAll()
                         .anyRequest().authenticated());
 
         return http.build();
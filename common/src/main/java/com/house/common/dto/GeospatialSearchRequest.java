@@ -38,6 +38,9 @@ public class GeospatialSearchRequest {
 
     private Integer minBathrooms;
 
+    // Free text matched against address, city, zip code and description
+    private String keywords;
+
     // Constructors
     public GeospatialSearchRequest() {
     }
@@ -136,4 +139,12 @@ public class GeospatialSearchRequest {
     public void setMinBathrooms(Integer minBathrooms) {
         this.minBathrooms = minBathrooms;
     }
+
+    public String getKeywords() {
+        return keywords;
+    }
+
+    public void setKeywords(String keywords) {
+        this.keywords = keywords;
+    }
 }
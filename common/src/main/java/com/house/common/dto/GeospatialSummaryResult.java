@@ -0,0 +1,48 @@
+package com.house.common.dto;
+
+import java.math.BigDecimal;
+
+public class GeospatialSummaryResult {
+
+    private HouseSummaryDTO house;
+
+    private Double distanceKm;
+
+    private BigDecimal distanceMeters;
+
+    // Constructors
+    public GeospatialSummaryResult() {
+    }
+
+    public GeospatialSummaryResult(HouseSummaryDTO house, Double distanceKm) {
+        this.house = house;
+        this.distanceKm = distanceKm;
+        this.distanceMeters = BigDecimal.valueOf(distanceKm * 1000);
+    }
+
+    // Getters and Setters
+    public HouseSummaryDTO getHouse() {
+        return house;
+    }
+
+    public void setHouse(HouseSummaryDTO house) {
+        this.house = house;
+    }
+
+    public Double getDistanceKm() {
+        return distanceKm;
+    }
+
+    public void setDistanceKm(Double distanceKm) {
+        this.distanceKm = distanceKm;
+        this.distanceMeters = BigDecimal.valueOf(distanceKm * 1000);
+    }
+
+    public BigDecimal getDistanceMeters() {
+        return distanceMeters;
+    }
+
+    public void setDistanceMeters(BigDecimal distanceMeters) {
+        this.distanceMeters = distanceMeters;
+    }
+}
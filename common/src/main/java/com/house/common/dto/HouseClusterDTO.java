@@ -0,0 +1,67 @@
+package com.house.common.dto;
+
+public class HouseClusterDTO {
+
+    private Long count;
+
+    private Double latitude;
+
+    private Double longitude;
+
+    private Integer minAreaSqft;
+
+    private Integer maxAreaSqft;
+
+    // Constructors
+    public HouseClusterDTO() {
+    }
+
+    public HouseClusterDTO(Long count, Double latitude, Double longitude, Integer minAreaSqft, Integer maxAreaSqft) {
+        this.count = count;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.minAreaSqft = minAreaSqft;
+        this.maxAreaSqft = maxAreaSqft;
+    }
+
+    // Getters and Setters
+    public Long getCount() {
+        return count;
+    }
+
+    public void setCount(Long count) {
+        this.count = count;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public Integer getMinAreaSqft() {
+        return minAreaSqft;
+    }
+
+    public void setMinAreaSqft(Integer minAreaSqft) {
+        this.minAreaSqft = minAreaSqft;
+    }
+
+    public Integer getMaxAreaSqft() {
+        return maxAreaSqft;
+    }
+
+    public void setMaxAreaSqft(Integer maxAreaSqft) {
+        this.maxAreaSqft = maxAreaSqft;
+    }
+}
@@ -59,6 +59,8 @@ public class HouseDTO {
 
     private LocalDateTime updatedAt;
 
+    private Long version;
+
     private List<HouseSaleDTO> sales;
 
     private List<HouseMaintenanceDTO> maintenanceRecords;
@@ -228,6 +230,14 @@ public class HouseDTO {
         this.updatedAt = updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public List<HouseSaleDTO> getSales() {
         return sales;
     }
@@ -0,0 +1,55 @@
+package com.house.common.dto;
+
+import java.util.List;
+
+/**
+ * Houses inside a map viewport: pre-aggregated clusters when the viewport
+ * holds many houses, individual markers once it is zoomed in far enough.
+ */
+public class HouseMapViewDTO {
+
+    private Integer zoom;
+
+    private Long total;
+
+    private List<HouseClusterDTO> clusters;
+
+    private List<HouseMarkerDTO> markers;
+
+    // Constructors
+    public HouseMapViewDTO() {
+    }
+
+    // Getters and Setters
+    public Integer getZoom() {
+        return zoom;
+    }
+
+    public void setZoom(Integer zoom) {
+        this.zoom = zoom;
+    }
+
+    public Long getTotal() {
+        return total;
+    }
+
+    public void setTotal(Long total) {
+        this.total = total;
+    }
+
+    public List<HouseClusterDTO> getClusters() {
+        return clusters;
+    }
+
+    public void setClusters(List<HouseClusterDTO> clusters) {
+        this.clusters = clusters;
+    }
+
+    public List<HouseMarkerDTO> getMarkers() {
+        return markers;
+    }
+
+    public void setMarkers(List<HouseMarkerDTO> markers) {
+        this.markers = markers;
+    }
+}
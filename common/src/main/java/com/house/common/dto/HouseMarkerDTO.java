@@ -0,0 +1,91 @@
+package com.house.common.dto;
+
+import java.math.BigDecimal;
+
+public class HouseMarkerDTO {
+
+    private Long id;
+
+    private BigDecimal latitude;
+
+    private BigDecimal longitude;
+
+    private String houseType;
+
+    private String houseStatus;
+
+    private Integer areaSqft;
+
+    private Integer bedrooms;
+
+    private Integer bathrooms;
+
+    // Constructors
+    public HouseMarkerDTO() {
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public BigDecimal getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(BigDecimal latitude) {
+        this.latitude = latitude;
+    }
+
+    public BigDecimal getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(BigDecimal longitude) {
+        this.longitude = longitude;
+    }
+
+    public String getHouseType() {
+        return houseType;
+    }
+
+    public void setHouseType(String houseType) {
+        this.houseType = houseType;
+    }
+
+    public String getHouseStatus() {
+        return houseStatus;
+    }
+
+    public void setHouseStatus(String houseStatus) {
+        this.houseStatus = houseStatus;
+    }
+
+    public Integer getAreaSqft() {
+        return areaSqft;
+    }
+
+    public void setAreaSqft(Integer areaSqft) {
+        this.areaSqft = areaSqft;
+    }
+
+    public Integer getBedrooms() {
+        return bedrooms;
+    }
+
+    public void setBedrooms(Integer bedrooms) {
+        this.bedrooms = bedrooms;
+    }
+
+    public Integer getBathrooms() {
+        return bathrooms;
+    }
+
+    public void setBathrooms(Integer bathrooms) {
+        this.bathrooms = bathrooms;
+    }
+}
@@ -0,0 +1,152 @@
+package com.house.common.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Lightweight view of a house for list and map views, without the description
+ * and sales, maintenance and disaster history carried by {@link HouseDTO}.
+ */
+public class HouseSummaryDTO {
+
+    private Long id;
+
+    private String address;
+
+    private String city;
+
+    private String state;
+
+    private String zipCode;
+
+    private BigDecimal latitude;
+
+    private BigDecimal longitude;
+
+    private String houseType;
+
+    private String houseStatus;
+
+    private Integer areaSqft;
+
+    private Integer bedrooms;
+
+    private Integer bathrooms;
+
+    // Constructors
+    public HouseSummaryDTO() {
+    }
+
+    public HouseSummaryDTO(Long id, String address, String city, String state, String zipCode,
+            BigDecimal latitude, BigDecimal longitude, String houseType, String houseStatus,
+            Integer areaSqft, Integer bedrooms, Integer bathrooms) {
+        this.id = id;
+        this.address = address;
+        this.city = city;
+        this.state = state;
+        this.zipCode = zipCode;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.houseType = houseType;
+        this.houseStatus = houseStatus;
+        this.areaSqft = areaSqft;
+        this.bedrooms = bedrooms;
+        this.bathrooms = bathrooms;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public void setAddress(String address) {
+        this.address = address;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public String getZipCode() {
+        return zipCode;
+    }
+
+    public void setZipCode(String zipCode) {
+        this.zipCode = zipCode;
+    }
+
+    public BigDecimal getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(BigDecimal latitude) {
+        this.latitude = latitude;
+    }
+
+    public BigDecimal getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(BigDecimal longitude) {
+        this.longitude = longitude;
+    }
+
+    public String getHouseType() {
+        return houseType;
+    }
+
+    public void setHouseType(String houseType) {
+        this.houseType = houseType;
+    }
+
+    public String getHouseStatus() {
+        return houseStatus;
+    }
+
+    public void setHouseStatus(String houseStatus) {
+        this.houseStatus = houseStatus;
+    }
+
+    public Integer getAreaSqft() {
+        return areaSqft;
+    }
+
+    public void setAreaSqft(Integer areaSqft) {
+        this.areaSqft = areaSqft;
+    }
+
+    public Integer getBedrooms() {
+        return bedrooms;
+    }
+
+    public void setBedrooms(Integer bedrooms) {
+        this.bedrooms = bedrooms;
+    }
+
+    public Integer getBathrooms() {
+        return bathrooms;
+    }
+
+    public void setBathrooms(Integer bathrooms) {
+        this.bathrooms = bathrooms;
+    }
+}
@@ -0,0 +1,81 @@
+package com.house.common.dto;
+
+public class SuggestionDTO {
+
+    // ZIP, CITY, STREET or ADDRESS
+    private String type;
+
+    private String text;
+
+    // Centroid of the matching houses
+    private Double latitude;
+
+    private Double longitude;
+
+    private Long count;
+
+    // Only set for ADDRESS suggestions
+    private Long houseId;
+
+    // Constructors
+    public SuggestionDTO() {
+    }
+
+    public SuggestionDTO(String type, String text, Double latitude, Double longitude, Long count, Long houseId) {
+        this.type = type;
+        this.text = text;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.count = count;
+        this.houseId = houseId;
+    }
+
+    // Getters and Setters
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public Long getCount() {
+        return count;
+    }
+
+    public void setCount(Long count) {
+        this.count = count;
+    }
+
+    public Long getHouseId() {
+        return houseId;
+    }
+
+    public void setHouseId(Long houseId) {
+        this.houseId = houseId;
+    }
+}
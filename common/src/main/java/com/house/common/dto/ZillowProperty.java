@@ -1,10 +1,13 @@
-package com.house.datacollectionservice.model;
+package com.house.common.dto;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.math.BigDecimal;
 
 public class ZillowProperty {
     
+    // 相对上次采集的变化类型，由 data-collection-service 在发布前设置
+    public enum ChangeType { INSERT, UPDATE }
+    
     @JsonProperty("zpid")
     private String zpid;
     
@@ -53,6 +56,9 @@ public class ZillowProperty {
     @JsonProperty("description")
     private String description;
     
+    @JsonProperty("changeType")
+    private ChangeType changeType;
+    
     // Constructors
     public ZillowProperty() {}
     
@@ -104,4 +110,7 @@ public class ZillowProperty {
     
     public String getDescription() { return description; }
     public void setDescription(String description) { this.description = description; }
+    
+    public ChangeType getChangeType() { return changeType; }
+    public void setChangeType(ChangeType changeType) { this.changeType = changeType; }
 }
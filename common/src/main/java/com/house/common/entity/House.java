@@ -75,6 +75,10 @@ public class House {
     @LastModifiedDate
     private LocalDateTime updatedAt;
 
+    // Incremented on every update; the ETag of a house
+    @Version
+    private Long version;
+
     @OneToMany(mappedBy = "house", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<HouseSale> sales = new ArrayList<>();
 
@@ -247,6 +251,14 @@ public class House {
         this.updatedAt = updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public List<HouseSale> getSales() {
         return sales;
     }
@@ -0,0 +1,32 @@
+package com.house.common.messaging;
+
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+
+/**
+ * Durable queues whose rejected messages (retries exhausted, undecodable bodies) are
+ * dead-lettered through the default exchange to {@code <name>.dlq}, where they wait to
+ * be inspected and moved back.
+ *
+ * Every service declaring one of these queues must use these arguments: RabbitMQ refuses
+ * a declaration whose arguments differ from the existing queue. A queue created before
+ * the arguments were added has to be deleted once (or given a dead-letter policy).
+ */
+public final class DeadLetterQueues {
+
+    public static final String SUFFIX = ".dlq";
+
+    private DeadLetterQueues() {
+    }
+
+    public static Queue withDeadLetterQueue(String name) {
+        return QueueBuilder.durable(name)
+                .deadLetterExchange("")
+                .deadLetterRoutingKey(name + SUFFIX)
+                .build();
+    }
+
+    public static Queue deadLetterQueue(String name) {
+        return QueueBuilder.durable(name + SUFFIX).build();
+    }
+}
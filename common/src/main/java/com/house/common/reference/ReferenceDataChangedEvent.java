@@ -0,0 +1,18 @@
+package com.house.common.reference;
+
+/**
+ * Published after house types, house statuses, maintenance scales or disaster types
+ * change, so every {@link ReferenceDataRegistry} in the application reloads them.
+ */
+public class ReferenceDataChangedEvent {
+
+    private final String reason;
+
+    public ReferenceDataChangedEvent(String reason) {
+        this.reason = reason;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+}
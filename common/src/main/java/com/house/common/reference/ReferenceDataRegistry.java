@@ -0,0 +1,153 @@
+package com.house.common.reference;
+
+import com.house.common.entity.DisasterType;
+import com.house.common.entity.HouseStatus;
+import com.house.common.entity.HouseType;
+import com.house.common.entity.MaintenanceScale;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.context.event.EventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory copy of the lookup tables (house types, house statuses, maintenance scales
+ * and disaster types), keyed by name.
+ *
+ * The tables are read once, on first use, into immutable maps that are swapped as a
+ * whole on refresh, so lookups never touch the database and never block. The entities
+ * are detached; they can be assigned to many-to-one associations but must not be
+ * modified. Publish a {@link ReferenceDataChangedEvent} after changing the tables;
+ * {@link ReferenceDataSync} relays it to the other instances. A snapshot older than
+ * the optional maximum age is reloaded on the next lookup, which bounds staleness when
+ * a change notification is missed.
+ *
+ * Not a component: each service declares it as a bean.
+ */
+public class ReferenceDataRegistry {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    // Null when snapshots never expire
+    private final Duration maxAge;
+
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private volatile Snapshot snapshot;
+
+    public ReferenceDataRegistry(EntityManagerFactory entityManagerFactory) {
+        this(entityManagerFactory, null);
+    }
+
+    public ReferenceDataRegistry(EntityManagerFactory entityManagerFactory, Duration maxAge) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.maxAge = maxAge;
+    }
+
+    public Optional<HouseType> findHouseType(String name) {
+        return Optional.ofNullable(name).map(snapshot().houseTypes()::get);
+    }
+
+    public Optional<HouseStatus> findHouseStatus(String name) {
+        return Optional.ofNullable(name).map(snapshot().houseStatuses()::get);
+    }
+
+    public Optional<MaintenanceScale> findMaintenanceScale(String name) {
+        return Optional.ofNullable(name).map(snapshot().maintenanceScales()::get);
+    }
+
+    public Optional<DisasterType> findDisasterType(String name) {
+        return Optional.ofNullable(name).map(snapshot().disasterTypes()::get);
+    }
+
+    public Map<String, HouseType> getHouseTypes() {
+        return snapshot().houseTypes();
+    }
+
+    public Map<String, HouseStatus> getHouseStatuses() {
+        return snapshot().houseStatuses();
+    }
+
+    public Map<String, MaintenanceScale> getMaintenanceScales() {
+        return snapshot().maintenanceScales();
+    }
+
+    public Map<String, DisasterType> getDisasterTypes() {
+        return snapshot().disasterTypes();
+    }
+
+    @EventListener
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        System.out.println("Reloading reference data: " + event.getReason());
+        refresh();
+    }
+
+    /**
+     * Reloads all lookup tables and replaces the current snapshot.
+     */
+    public void refresh() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            snapshot = new Snapshot(
+                    load(entityManager, HouseType.class, HouseType::getName),
+                    load(entityManager, HouseStatus.class, HouseStatus::getName),
+                    load(entityManager, MaintenanceScale.class, MaintenanceScale::getName),
+                    load(entityManager, DisasterType.class, DisasterType::getName),
+                    System.nanoTime());
+        } finally {
+            entityManager.close();
+        }
+        System.out.println("Loaded reference data: " + snapshot.houseTypes().size() + " house types, "
+                + snapshot.houseStatuses().size() + " house statuses, "
+                + snapshot.maintenanceScales().size() + " maintenance scales, "
+                + snapshot.disasterTypes().size() + " disaster types");
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null && isExpired(current) && refreshing.compareAndSet(false, true)) {
+            // One caller reloads; the others keep using the current snapshot meanwhile
+            try {
+                refresh();
+                current = snapshot;
+            } catch (RuntimeException e) {
+                System.err.println("Reference data reload failed, keeping the loaded data: " + e.getMessage());
+            } finally {
+                refreshing.set(false);
+            }
+        }
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    refresh();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private boolean isExpired(Snapshot current) {
+        return maxAge != null && System.nanoTime() - current.loadedNanos() > maxAge.toNanos();
+    }
+
+    private static <T> Map<String, T> load(EntityManager entityManager, Class<T> type, Function<T, String> name) {
+        List<T> rows = entityManager
+                .createQuery("SELECT e FROM " + type.getSimpleName() + " e", type)
+                .getResultList();
+        return rows.stream().collect(Collectors.toUnmodifiableMap(name, Function.identity()));
+    }
+
+    private record Snapshot(Map<String, HouseType> houseTypes,
+                            Map<String, HouseStatus> houseStatuses,
+                            Map<String, MaintenanceScale> maintenanceScales,
+                            Map<String, DisasterType> disasterTypes,
+                            long loadedNanos) {
+    }
+}
@@ -0,0 +1,60 @@
+package com.house.common.reference;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Relays {@link ReferenceDataChangedEvent}s between instances and services over the
+ * {@code reference-data:changed} Redis channel as {@code <instanceId>:<reason>}.
+ *
+ * The instance that publishes the event reloads through the registry's own listener;
+ * every other subscriber reloads its {@link ReferenceDataRegistry} on receipt.
+ * Pub/sub does not redeliver, so registries should also be given a maximum age.
+ *
+ * Not a component: each service declares it as a bean next to its registry.
+ */
+public class ReferenceDataSync implements MessageListener {
+
+    public static final String CHANNEL = "reference-data:changed";
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final ReferenceDataRegistry registry;
+
+    private final StringRedisTemplate redisTemplate;
+
+    public ReferenceDataSync(ReferenceDataRegistry registry, StringRedisTemplate redisTemplate,
+                             RedisMessageListenerContainer listenerContainer) {
+        this.registry = registry;
+        this.redisTemplate = redisTemplate;
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    @EventListener
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, instanceId + ":" + event.getReason());
+        } catch (RuntimeException e) {
+            // The other instances still catch up once their snapshot reaches its maximum age
+            System.err.println("Could not announce reference data change: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(':');
+        if (separator < 0 || body.substring(0, separator).equals(instanceId)) {
+            return;
+        }
+        System.out.println("Reloading reference data: " + body.substring(separator + 1) + " (announced by another instance)");
+        registry.refresh();
+    }
+}
@@ -0,0 +1,30 @@
+package com.house.datacollectionservice.config;
+
+import com.house.common.messaging.DeadLetterQueues;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RabbitConfig {
+
+    // ZillowProperty 以 JSON 发送，admin-service 按同样格式反序列化
+    @Bean
+    public MessageConverter messageConverter() {
+        return new Jackson2JsonMessageConverter();
+    }
+
+    // 批量消息队列，admin-service 以相同参数声明同一个队列；处理失败的消息转入 <name>.dlq
+    @Bean
+    public Queue zillowBatchQueue(@Value("${rabbitmq.queue.zillow-batch}") String name) {
+        return DeadLetterQueues.withDeadLetterQueue(name);
+    }
+
+    @Bean
+    public Queue zillowBatchDeadLetterQueue(@Value("${rabbitmq.queue.zillow-batch}") String name) {
+        return DeadLetterQueues.deadLetterQueue(name);
+    }
+}
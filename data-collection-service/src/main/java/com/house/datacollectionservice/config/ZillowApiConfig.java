@@ -0,0 +1,18 @@
+package com.house.datacollectionservice.config;
+
+import com.house.datacollectionservice.service.TokenBucketRateLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ZillowApiConfig {
+
+    // 所有城市的请求共用一个令牌桶，替代原来每个城市之间固定 sleep 1 秒
+    @Bean
+    public TokenBucketRateLimiter zillowRateLimiter(
+            @Value("${zillow.api.rate-limit.permits-per-second:1}") double permitsPerSecond,
+            @Value("${zillow.api.rate-limit.burst:1}") int burst) {
+        return new TokenBucketRateLimiter(permitsPerSecond, burst);
+    }
+}
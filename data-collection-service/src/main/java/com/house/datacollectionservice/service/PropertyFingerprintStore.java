@@ -0,0 +1,122 @@
+package com.house.datacollectionservice.service;
+
+import com.house.common.dto.ZillowProperty;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * 每个 zpid 上次发布内容的指纹，保存在本地 H2 MVStore 文件中，重启后仍然有效。
+ *
+ * 指纹取规范化字段 SHA-256 的前 8 字节，每条房源约 30 字节（含 zpid），
+ * 百万级房源也只占几十 MB。只有新增或指纹变化的房源才需要发布。
+ */
+@Component
+public class PropertyFingerprintStore {
+
+    // 字段分隔符，避免 "ab"+"c" 与 "a"+"bc" 得到相同的指纹
+    private static final char SEPARATOR = '\u001f';
+
+    @Value("${zillow.fingerprint.path:data/zillow-fingerprints.mv.db}")
+    private String path;
+
+    private MVStore store;
+
+    private MVMap<String, Long> fingerprints;
+
+    @PostConstruct
+    public void open() {
+        File parent = new File(path).getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new RuntimeException("Cannot create fingerprint store directory " + parent);
+        }
+        store = new MVStore.Builder()
+                .fileName(path)
+                .compress()
+                .open();
+        fingerprints = store.openMap("fingerprints");
+        System.out.println("Fingerprint store opened with " + fingerprints.size() + " properties: " + path);
+    }
+
+    @PreDestroy
+    public void close() {
+        if (store != null && !store.isClosed()) {
+            store.close();
+        }
+    }
+
+    /**
+     * 与上次发布的内容比较：新房源返回 INSERT，内容变化返回 UPDATE，未变化返回 null。
+     * 只做比较不做记录，发布成功后再调用 {@link #record}。
+     */
+    public ZillowProperty.ChangeType detectChange(ZillowProperty property, long fingerprint) {
+        Long previous = fingerprints.get(property.getZpid());
+        if (previous == null) {
+            return ZillowProperty.ChangeType.INSERT;
+        }
+        return previous == fingerprint ? null : ZillowProperty.ChangeType.UPDATE;
+    }
+
+    public void record(String zpid, long fingerprint) {
+        fingerprints.put(zpid, fingerprint);
+    }
+
+    // 一轮采集结束后落盘；MVStore 也会在后台定期自动提交
+    public void commit() {
+        store.commit();
+    }
+
+    public long size() {
+        return fingerprints.sizeAsLong();
+    }
+
+    public long fingerprint(ZillowProperty property) {
+        StringBuilder normalized = new StringBuilder(256);
+        append(normalized, property.getZpid());
+        append(normalized, property.getStreetAddress());
+        append(normalized, property.getCity());
+        append(normalized, property.getState());
+        append(normalized, property.getZipcode());
+        append(normalized, property.getLatitude());
+        append(normalized, property.getLongitude());
+        append(normalized, property.getHomeType());
+        append(normalized, property.getPrice());
+        append(normalized, property.getBathrooms());
+        append(normalized, property.getBedrooms());
+        append(normalized, property.getLivingArea());
+        append(normalized, property.getLotAreaValue());
+        append(normalized, property.getYearBuilt());
+        append(normalized, property.getHomeStatus());
+        append(normalized, property.getDescription());
+
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(normalized.toString().getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest, 0, Long.BYTES).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 is not available", e);
+        }
+    }
+
+    // 字符串去除首尾空白并合并连续空白（大小写保留，改名大小写也算变化）；数值去掉尾随零，使 "2.0" 与 "2" 等价
+    private static void append(StringBuilder normalized, Object value) {
+        if (value instanceof BigDecimal decimal) {
+            normalized.append(decimal.stripTrailingZeros().toPlainString());
+        } else if (value instanceof String text) {
+            normalized.append(text.trim().replaceAll("\\s+", " "));
+        } else if (value != null) {
+            normalized.append(value);
+        }
+        normalized.append(SEPARATOR);
+    }
+}
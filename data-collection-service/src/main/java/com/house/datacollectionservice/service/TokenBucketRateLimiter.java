@@ -0,0 +1,58 @@
+package com.house.datacollectionservice.service;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * 非阻塞令牌桶：每秒补充 permitsPerSecond 个令牌，最多积攒 burst 个。
+ *
+ * 令牌不足时不会阻塞线程，而是预约下一个令牌并返回一个延迟到该时刻才完成的 Mono，
+ * 所有并发请求共享同一个桶，整体速率不超过上游 API 的限制。
+ */
+public class TokenBucketRateLimiter {
+
+    private final double permitsPerSecond;
+
+    private final double burst;
+
+    private final long nanosPerPermit;
+
+    private double availablePermits;
+
+    private long lastRefillNanos;
+
+    public TokenBucketRateLimiter(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive and burst at least 1");
+        }
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.nanosPerPermit = (long) (1_000_000_000L / permitsPerSecond);
+        this.availablePermits = burst;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * 取得一个令牌后完成。
+     */
+    public Mono<Void> acquire() {
+        return Mono.defer(() -> {
+            long waitNanos = reserve();
+            return waitNanos <= 0 ? Mono.empty() : Mono.delay(Duration.ofNanos(waitNanos)).then();
+        });
+    }
+
+    // 扣除一个令牌（可以透支），返回需要等待到令牌补足的时间
+    private synchronized long reserve() {
+        long now = System.nanoTime();
+        availablePermits = Math.min(burst, availablePermits + (now - lastRefillNanos) * permitsPerSecond / 1e9);
+        lastRefillNanos = now;
+
+        availablePermits -= 1;
+        if (availablePermits >= 0) {
+            return 0;
+        }
+        return (long) (-availablePermits * nanosPerPermit);
+    }
+}
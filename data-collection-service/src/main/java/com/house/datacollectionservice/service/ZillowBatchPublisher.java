@@ -0,0 +1,82 @@
+package com.house.datacollectionservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.house.common.dto.ZillowProperty;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 把一批房源编码为 gzip 压缩的 NDJSON（每行一个 ZillowProperty），作为一条消息发布到
+ * zillow.property.batch，并异步等待 broker 的 publisher confirm。
+ *
+ * 需要 spring.rabbitmq.publisher-confirm-type=correlated。
+ */
+@Component
+public class ZillowBatchPublisher {
+
+    public static final String CONTENT_TYPE_NDJSON = "application/x-ndjson";
+    public static final String HEADER_PROPERTY_COUNT = "x-property-count";
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${rabbitmq.queue.zillow-batch}")
+    private String zillowBatchQueue;
+
+    @Value("${zillow.publish.batch.confirm-timeout-seconds:30}")
+    private long confirmTimeoutSeconds;
+
+    /**
+     * 发布一批房源，broker 确认（ack）后返回 true，拒绝（nack）返回 false。
+     * 超时或发送失败以错误结束。
+     */
+    public Mono<Boolean> publish(List<ZillowProperty> properties) {
+        return Mono.fromCallable(() -> {
+                    CorrelationData correlation = new CorrelationData(UUID.randomUUID().toString());
+                    rabbitTemplate.send("", zillowBatchQueue, toMessage(properties), correlation);
+                    return correlation;
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(correlation -> Mono.fromFuture(correlation.getFuture()))
+                .timeout(Duration.ofSeconds(confirmTimeoutSeconds))
+                .map(confirm -> {
+                    if (!confirm.isAck()) {
+                        System.err.println("Batch of " + properties.size() + " properties was rejected by the broker: "
+                                + confirm.getReason());
+                    }
+                    return confirm.isAck();
+                });
+    }
+
+    private Message toMessage(List<ZillowProperty> properties) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (SequenceWriter writer = objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .writeValues(new GZIPOutputStream(body))) {
+            writer.writeAll(properties);
+        }
+        return MessageBuilder.withBody(body.toByteArray())
+                .setContentType(CONTENT_TYPE_NDJSON)
+                .setContentEncoding("gzip")
+                .setHeader(HEADER_PROPERTY_COUNT, properties.size())
+                .build();
+    }
+}
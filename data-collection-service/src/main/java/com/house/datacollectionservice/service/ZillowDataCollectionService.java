@@ -2,17 +2,30 @@ package com.house.datacollectionservice.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.house.datacollectionservice.model.ZillowProperty;
+import com.house.common.dto.ZillowProperty;
+import jakarta.annotation.PostConstruct;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
 
-import java.util.ArrayList;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
 
 @Service
 public class ZillowDataCollectionService {
@@ -26,80 +39,138 @@ public class ZillowDataCollectionService {
     @Autowired
     private ObjectMapper objectMapper;
     
+    @Autowired
+    private PropertyFingerprintStore fingerprintStore;
+    
+    @Autowired
+    private TokenBucketRateLimiter zillowRateLimiter;
+    
+    @Autowired
+    private ZillowBatchPublisher batchPublisher;
+    
     @Value("${zillow.api.key}")
     private String zillowApiKey;
     
     @Value("${zillow.api.base-url}")
     private String zillowBaseUrl;
     
+    @Value("${zillow.api.timeout-seconds:30}")
+    private long timeoutSeconds;
+    
+    @Value("${zillow.api.retry.max-retries:3}")
+    private int maxRetries;
+    
+    @Value("${zillow.api.retry.min-backoff-ms:500}")
+    private long minBackoffMs;
+    
+    @Value("${zillow.collection.cities}")
+    private List<String> cities;
+    
+    @Value("${zillow.collection.concurrency:4}")
+    private int concurrency;
+    
+    // 等待发布的房源上限，发布跟不上时上游停止拉取
+    @Value("${zillow.collection.publish-buffer:256}")
+    private int publishBuffer;
+    
+    // 批量发布：多条房源合并为一条压缩消息，false 时逐条发布到 zillow.property.data
+    @Value("${zillow.publish.batch.enabled:true}")
+    private boolean batchPublishing;
+    
+    @Value("${zillow.publish.batch.max-size:500}")
+    private int batchMaxSize;
+    
+    @Value("${zillow.publish.batch.max-wait-ms:1000}")
+    private long batchMaxWaitMs;
+    
+    // 已发出、尚未收到 confirm 的批次上限
+    @Value("${zillow.publish.batch.max-in-flight:8}")
+    private int batchMaxInFlight;
+    
     @Value("${rabbitmq.queue.zillow-data}")
     private String zillowDataQueue;
     
+    private WebClient webClient;
+    
+    private enum PublishResult { SENT, UNCHANGED, FAILED }
+    
+    // 待发布的房源及其指纹，确认发布成功后记录指纹
+    private record Change(ZillowProperty property, long fingerprint) {
+    }
+    
+    @PostConstruct
+    public void init() {
+        webClient = webClientBuilder.build();
+    }
+    
     // 定时任务：每天凌晨2点执行数据采集
     @Scheduled(cron = "0 0 2 * * ?")
     public void collectZillowData() {
         System.out.println("Starting Zillow data collection...");
+        long start = System.currentTimeMillis();
         
-        // 这里可以配置多个城市进行数据采集
-        String[] cities = {"San Francisco", "New York", "Los Angeles", "Chicago", "Seattle"};
+        // 最多 concurrency 个城市同时采集，请求速率由共享令牌桶控制；
+        // 发布在 boundedElastic 线程上进行，缓冲满后上游暂停拉取（背压）
+        Flux<ZillowProperty> properties = Flux.fromIterable(cities)
+                .flatMap(this::fetchPropertiesFromZillow, concurrency)
+                .publishOn(Schedulers.boundedElastic(), publishBuffer);
+        Flux<PublishResult> published = batchPublishing
+                ? publishInBatches(properties)
+                : properties.map(this::sendToQueue);
         
-        for (String city : cities) {
-            try {
-                List<ZillowProperty> properties = fetchPropertiesFromZillow(city);
-                sendToQueue(properties);
-                Thread.sleep(1000); // 避免API调用过于频繁
-            } catch (Exception e) {
-                System.err.println("Error collecting data for city " + city + ": " + e.getMessage());
-            }
-        }
+        Map<PublishResult, Long> results = published
+                .collect(Collectors.groupingBy(result -> result,
+                        () -> new EnumMap<>(PublishResult.class), Collectors.counting()))
+                .block();
         
-        System.out.println("Zillow data collection completed.");
+        fingerprintStore.commit();
+        System.out.println("Zillow data collection completed in " + (System.currentTimeMillis() - start)
+                + " ms: " + results);
     }
     
-    public List<ZillowProperty> fetchPropertiesFromZillow(String city) {
-        try {
-            WebClient webClient = webClientBuilder.build();
-            
-            // 构建Zillow API请求
-            String url = zillowBaseUrl + "/GetSearchResults.htm?" +
-                        "zws-id=" + zillowApiKey +
-                        "&address=" + city +
-                        "&citystatezip=" + city;
-            
-            Mono<String> response = webClient.get()
-                    .uri(url)
-                    .retrieve()
-                    .bodyToMono(String.class);
-            
-            String responseBody = response.block();
-            return parseZillowResponse(responseBody);
-            
-        } catch (Exception e) {
-            System.err.println("Error fetching data from Zillow: " + e.getMessage());
-            return new ArrayList<>();
-        }
+    /**
+     * 采集一个城市的房源。每次请求（包括重试）先从令牌桶取令牌，单次请求超时后
+     * 按指数退避加随机抖动重试；最终失败只记录日志，不影响其他城市。
+     */
+    public Flux<ZillowProperty> fetchPropertiesFromZillow(String city) {
+        // 构建Zillow API请求
+        String url = zillowBaseUrl + "/GetSearchResults.htm?" +
+                    "zws-id=" + zillowApiKey +
+                    "&address=" + city +
+                    "&citystatezip=" + city;
+        
+        // 响应按数据块增量解析，每个房源解析完立即向下游发出；超时针对相邻数据块之间的间隔
+        return zillowRateLimiter.acquire()
+                .thenMany(Flux.defer(() -> {
+                    ZillowResponseParser parser = new ZillowResponseParser(objectMapper, this::parsePropertyNode);
+                    return webClient.get()
+                            .uri(url)
+                            .retrieve()
+                            .bodyToFlux(DataBuffer.class)
+                            .timeout(Duration.ofSeconds(timeoutSeconds))
+                            .concatMapIterable(parser::feed)
+                            .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                            .concatWith(Flux.defer(() -> Flux.fromIterable(parser.endOfInput())));
+                }))
+                .retryWhen(Retry.backoff(maxRetries, Duration.ofMillis(minBackoffMs))
+                        .jitter(0.5)
+                        .filter(this::isRetryable))
+                .onErrorResume(e -> {
+                    System.err.println("Error fetching data from Zillow for city " + city + ": " + e.getMessage());
+                    return Flux.empty();
+                });
     }
     
-    private List<ZillowProperty> parseZillowResponse(String response) {
-        List<ZillowProperty> properties = new ArrayList<>();
-        
-        try {
-            JsonNode rootNode = objectMapper.readTree(response);
-            JsonNode searchResults = rootNode.path("SearchResults").path("results");
-            
-            if (searchResults.isArray()) {
-                for (JsonNode propertyNode : searchResults) {
-                    ZillowProperty property = parsePropertyNode(propertyNode);
-                    if (property != null) {
-                        properties.add(property);
-                    }
-                }
-            }
-        } catch (Exception e) {
-            System.err.println("Error parsing Zillow response: " + e.getMessage());
+    // 超时、连接失败、429 和 5xx 可以重试，其他 4xx 重试也不会成功
+    private boolean isRetryable(Throwable e) {
+        if (e instanceof TimeoutException || e instanceof WebClientRequestException) {
+            return true;
         }
-        
-        return properties;
+        if (e instanceof WebClientResponseException responseException) {
+            int status = responseException.getStatusCode().value();
+            return status == 429 || status >= 500;
+        }
+        return false;
     }
     
     private ZillowProperty parsePropertyNode(JsonNode propertyNode) {
@@ -149,14 +220,64 @@ public class ZillowDataCollectionService {
         }
     }
     
-    private void sendToQueue(List<ZillowProperty> properties) {
-        for (ZillowProperty property : properties) {
-            try {
-                rabbitTemplate.convertAndSend(zillowDataQueue, property);
-                System.out.println("Sent property to queue: " + property.getZpid());
-            } catch (Exception e) {
-                System.err.println("Error sending property to queue: " + e.getMessage());
+    /**
+     * 变化的房源按 batch.max-size 条或 batch.max-wait-ms 攒成一批发布，最多 batch.max-in-flight
+     * 批同时等待 confirm，达到上限时暂停向上游拉取。批次被确认后才记录指纹，
+     * 被拒绝或超时的批次在下次采集时重新发布。
+     */
+    private Flux<PublishResult> publishInBatches(Flux<ZillowProperty> properties) {
+        return properties
+                .map(this::detectChange)
+                .groupBy(change -> change.property().getChangeType() != null)
+                .flatMap(group -> group.key()
+                        // fairBackpressure：in-flight 已满时不再继续攒批，而是向上游施加背压
+                        ? group.bufferTimeout(batchMaxSize, Duration.ofMillis(batchMaxWaitMs), true)
+                                .flatMap(this::publishBatch, batchMaxInFlight)
+                        : group.map(change -> PublishResult.UNCHANGED));
+    }
+    
+    private Flux<PublishResult> publishBatch(List<Change> batch) {
+        List<ZillowProperty> properties = batch.stream().map(Change::property).collect(Collectors.toList());
+        return batchPublisher.publish(properties)
+                .map(acked -> {
+                    if (!acked) {
+                        return PublishResult.FAILED;
+                    }
+                    for (Change change : batch) {
+                        fingerprintStore.record(change.property().getZpid(), change.fingerprint());
+                    }
+                    return PublishResult.SENT;
+                })
+                .onErrorResume(e -> {
+                    System.err.println("Error publishing batch of " + batch.size() + " properties: " + e.getMessage());
+                    return Mono.just(PublishResult.FAILED);
+                })
+                .flatMapMany(result -> Flux.fromIterable(Collections.nCopies(batch.size(), result)));
+    }
+    
+    // 与上次发布的指纹比较，设置 changeType；未变化时为 null
+    private Change detectChange(ZillowProperty property) {
+        long fingerprint = fingerprintStore.fingerprint(property);
+        property.setChangeType(fingerprintStore.detectChange(property, fingerprint));
+        return new Change(property, fingerprint);
+    }
+    
+    // 只发布新增或内容变化的房源，发布成功后才记录指纹，发送失败的房源下次采集时会重试
+    private PublishResult sendToQueue(ZillowProperty property) {
+        try {
+            Change change = detectChange(property);
+            ZillowProperty.ChangeType changeType = property.getChangeType();
+            if (changeType == null) {
+                return PublishResult.UNCHANGED;
             }
+            
+            rabbitTemplate.convertAndSend(zillowDataQueue, property);
+            fingerprintStore.record(property.getZpid(), change.fingerprint());
+            System.out.println("Sent property to queue: " + property.getZpid() + " (" + changeType + ")");
+            return PublishResult.SENT;
+        } catch (Exception e) {
+            System.err.println("Error sending property to queue: " + e.getMessage());
+            return PublishResult.FAILED;
         }
     }
     
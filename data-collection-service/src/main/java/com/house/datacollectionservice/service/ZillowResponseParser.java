@@ -0,0 +1,136 @@
+package com.house.datacollectionservice.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.house.common.dto.ZillowProperty;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * 增量解析一个搜索响应：数据块到达后立即交给 Jackson 非阻塞解析器，
+ * SearchResults.results 中每个房源对象解析完成就返回，不需要缓存整个响应。
+ *
+ * 同一时刻只在内存中保留一个房源对象的 token，每个响应创建一个实例，非线程安全。
+ */
+class ZillowResponseParser {
+
+    private static final List<String> RESULTS_PARENT_PATH = List.of("", "SearchResults");
+    private static final String RESULTS_FIELD = "results";
+
+    private final ObjectMapper objectMapper;
+
+    private final Function<JsonNode, ZillowProperty> propertyMapper;
+
+    private final JsonParser parser;
+
+    private final ByteArrayFeeder feeder;
+
+    // 当前所在的对象/数组对应的字段名，根和数组元素为 ""
+    private final Deque<String> path = new ArrayDeque<>();
+
+    // results 数组所在的深度，未进入时为 -1
+    private int resultsDepth = -1;
+
+    // 正在读取的房源对象
+    private TokenBuffer current;
+
+    ZillowResponseParser(ObjectMapper objectMapper, Function<JsonNode, ZillowProperty> propertyMapper) {
+        this.objectMapper = objectMapper;
+        this.propertyMapper = propertyMapper;
+        try {
+            this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot create JSON parser", e);
+        }
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    /**
+     * 喂入一个数据块，返回其中已经完整的房源。数据块读取后即释放。
+     */
+    List<ZillowProperty> feed(DataBuffer buffer) {
+        byte[] bytes = new byte[buffer.readableByteCount()];
+        buffer.read(bytes);
+        DataBufferUtils.release(buffer);
+        try {
+            feeder.feedInput(bytes, 0, bytes.length);
+            return drain();
+        } catch (IOException e) {
+            throw new RuntimeException("Error parsing Zillow response: " + e.getMessage(), e);
+        }
+    }
+
+    List<ZillowProperty> endOfInput() {
+        feeder.endOfInput();
+        try {
+            return drain();
+        } catch (IOException e) {
+            throw new RuntimeException("Error parsing Zillow response: " + e.getMessage(), e);
+        }
+    }
+
+    private List<ZillowProperty> drain() throws IOException {
+        List<ZillowProperty> properties = new ArrayList<>();
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            if (current != null) {
+                current.copyCurrentEvent(parser);
+            }
+
+            if (token.isStructStart()) {
+                if (token == JsonToken.START_ARRAY && RESULTS_FIELD.equals(parser.currentName())
+                        && pathEquals(RESULTS_PARENT_PATH)) {
+                    resultsDepth = path.size() + 1;
+                } else if (token == JsonToken.START_OBJECT && current == null && path.size() == resultsDepth) {
+                    current = new TokenBuffer(parser);
+                    current.copyCurrentEvent(parser);
+                }
+                path.addLast(Objects.requireNonNullElse(parser.currentName(), ""));
+            } else if (token.isStructEnd()) {
+                path.removeLast();
+                if (path.size() == resultsDepth && current != null) {
+                    ZillowProperty property = toProperty(current);
+                    current = null;
+                    if (property != null) {
+                        properties.add(property);
+                    }
+                } else if (path.size() == resultsDepth - 1) {
+                    resultsDepth = -1;
+                }
+            }
+        }
+        return properties;
+    }
+
+    private ZillowProperty toProperty(TokenBuffer tokens) throws IOException {
+        try (JsonParser objectParser = tokens.asParser(objectMapper)) {
+            JsonNode node = objectMapper.readTree(objectParser);
+            return propertyMapper.apply(node);
+        }
+    }
+
+    private boolean pathEquals(List<String> expected) {
+        if (path.size() != expected.size()) {
+            return false;
+        }
+        int i = 0;
+        for (String name : path) {
+            if (!name.equals(expected.get(i++))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
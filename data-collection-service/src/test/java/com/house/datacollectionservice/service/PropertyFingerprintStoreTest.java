@@ -0,0 +1,75 @@
+package com.house.datacollectionservice.service;
+
+import com.house.common.dto.ZillowProperty;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PropertyFingerprintStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private PropertyFingerprintStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new PropertyFingerprintStore();
+        ReflectionTestUtils.setField(store, "path", directory.resolve("fingerprints.mv.db").toString());
+        store.open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    void whitespaceAndTrailingZerosDoNotChangeFingerprint() {
+        ZillowProperty reformatted = property("123  Main St ", "Irvine");
+        reformatted.setBathrooms(new BigDecimal("2.50"));
+
+        assertThat(store.fingerprint(reformatted)).isEqualTo(store.fingerprint(property("123 Main St", "Irvine")));
+    }
+
+    @Test
+    void caseChangeIsPublishedAsUpdate() {
+        ZillowProperty original = property("123 Main St", "Irvine");
+        store.record(original.getZpid(), store.fingerprint(original));
+
+        ZillowProperty renamed = property("123 MAIN ST", "Irvine");
+
+        assertThat(store.detectChange(renamed, store.fingerprint(renamed))).isEqualTo(ZillowProperty.ChangeType.UPDATE);
+        assertThat(store.detectChange(original, store.fingerprint(original))).isNull();
+    }
+
+    @Test
+    void recordedFingerprintsSurviveReopen() {
+        ZillowProperty property = property("123 Main St", "Irvine");
+        store.record(property.getZpid(), store.fingerprint(property));
+        store.commit();
+        store.close();
+
+        store.open();
+
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.detectChange(property, store.fingerprint(property))).isNull();
+    }
+
+    private static ZillowProperty property(String streetAddress, String city) {
+        ZillowProperty property = new ZillowProperty();
+        property.setZpid("1001");
+        property.setStreetAddress(streetAddress);
+        property.setCity(city);
+        property.setState("CA");
+        property.setBathrooms(new BigDecimal("2.5"));
+        return property;
+    }
+}
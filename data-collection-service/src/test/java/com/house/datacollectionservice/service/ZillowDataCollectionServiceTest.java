@@ -0,0 +1,198 @@
+package com.house.datacollectionservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.house.common.dto.ZillowProperty;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the Zillow client against a MockWebServer: per-city concurrency, the shared rate
+ * limit, retries of 429/5xx responses and timeouts, and no retries for other 4xx.
+ */
+class ZillowDataCollectionServiceTest {
+
+    private static final String BODY = "{\"SearchResults\":{\"results\":["
+            + "{\"zpid\":\"1\",\"address\":{\"street\":\"1 Main St\",\"city\":\"Irvine\",\"state\":\"CA\",\"zipcode\":\"92618\"}},"
+            + "{\"zpid\":\"2\",\"address\":{\"street\":\"2 Main St\",\"city\":\"Irvine\",\"state\":\"CA\",\"zipcode\":\"92618\"}}"
+            + "]}}";
+
+    private MockWebServer server;
+
+    private RecordingDispatcher dispatcher;
+
+    private ZillowDataCollectionService service;
+
+    private RabbitTemplate rabbitTemplate;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dispatcher = new RecordingDispatcher();
+        server = new MockWebServer();
+        server.setDispatcher(dispatcher);
+        server.start();
+
+        PropertyFingerprintStore fingerprintStore = mock(PropertyFingerprintStore.class);
+        when(fingerprintStore.detectChange(any(), anyLong())).thenReturn(ZillowProperty.ChangeType.INSERT);
+        rabbitTemplate = mock(RabbitTemplate.class);
+
+        service = new ZillowDataCollectionService();
+        ReflectionTestUtils.setField(service, "webClientBuilder", WebClient.builder());
+        ReflectionTestUtils.setField(service, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(service, "rabbitTemplate", rabbitTemplate);
+        ReflectionTestUtils.setField(service, "fingerprintStore", fingerprintStore);
+        ReflectionTestUtils.setField(service, "zillowRateLimiter", new TokenBucketRateLimiter(1000, 10));
+        ReflectionTestUtils.setField(service, "zillowApiKey", "test-key");
+        ReflectionTestUtils.setField(service, "zillowBaseUrl", server.url("/webservice").toString());
+        ReflectionTestUtils.setField(service, "timeoutSeconds", 1L);
+        ReflectionTestUtils.setField(service, "maxRetries", 3);
+        ReflectionTestUtils.setField(service, "minBackoffMs", 10L);
+        ReflectionTestUtils.setField(service, "concurrency", 2);
+        ReflectionTestUtils.setField(service, "publishBuffer", 16);
+        ReflectionTestUtils.setField(service, "batchPublishing", false);
+        ReflectionTestUtils.setField(service, "zillowDataQueue", "zillow.property.data");
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    void collectsAtMostConcurrencyCitiesAtOnce() {
+        ReflectionTestUtils.setField(service, "cities", List.of("Irvine", "Tustin", "Anaheim", "Orange", "Brea", "Cypress"));
+        dispatcher.handlingMillis = 200;
+
+        service.collectZillowData();
+
+        assertThat(server.getRequestCount()).isEqualTo(6);
+        assertThat(dispatcher.maxInFlight.get()).isEqualTo(2);
+        verify(rabbitTemplate, times(12)).convertAndSend(eq("zillow.property.data"), any(ZillowProperty.class));
+    }
+
+    @Test
+    void requestsShareTheRateLimit() {
+        ReflectionTestUtils.setField(service, "zillowRateLimiter", new TokenBucketRateLimiter(10, 1));
+        ReflectionTestUtils.setField(service, "cities", List.of("Irvine", "Tustin", "Anaheim", "Orange", "Brea", "Cypress"));
+        ReflectionTestUtils.setField(service, "concurrency", 6);
+
+        service.collectZillowData();
+
+        // 6 requests at 10 per second with a burst of 1 take at least 500 ms
+        List<Long> starts = dispatcher.requestNanos();
+        assertThat(starts).hasSize(6);
+        long spanMillis = TimeUnit.NANOSECONDS.toMillis(starts.get(starts.size() - 1) - starts.get(0));
+        assertThat(spanMillis).isGreaterThanOrEqualTo(450);
+    }
+
+    @Test
+    void retriesTooManyRequestsAndServerErrors() {
+        dispatcher.responses.add(new MockResponse().setResponseCode(429));
+        dispatcher.responses.add(new MockResponse().setResponseCode(503));
+
+        List<ZillowProperty> properties = service.fetchPropertiesFromZillow("Irvine").collectList().block();
+
+        assertThat(properties).extracting(ZillowProperty::getZpid).containsExactly("1", "2");
+        assertThat(server.getRequestCount()).isEqualTo(3);
+    }
+
+    @Test
+    void retriesTimedOutRequests() {
+        dispatcher.responses.add(ok().setHeadersDelay(2, TimeUnit.SECONDS));
+
+        List<ZillowProperty> properties = service.fetchPropertiesFromZillow("Irvine").collectList().block();
+
+        assertThat(properties).extracting(ZillowProperty::getZpid).containsExactly("1", "2");
+        assertThat(server.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    void givesUpAfterMaxRetries() {
+        for (int i = 0; i < 4; i++) {
+            dispatcher.responses.add(new MockResponse().setResponseCode(500));
+        }
+
+        List<ZillowProperty> properties = service.fetchPropertiesFromZillow("Irvine").collectList().block();
+
+        assertThat(properties).isEmpty();
+        assertThat(server.getRequestCount()).isEqualTo(4);
+    }
+
+    @Test
+    void doesNotRetryClientErrors() {
+        dispatcher.responses.add(new MockResponse().setResponseCode(404));
+
+        List<ZillowProperty> properties = service.fetchPropertiesFromZillow("Irvine").collectList().block();
+
+        assertThat(properties).isEmpty();
+        assertThat(server.getRequestCount()).isEqualTo(1);
+    }
+
+    private static MockResponse ok() {
+        return new MockResponse().setHeader("Content-Type", "application/json").setBody(BODY);
+    }
+
+    // Answers with the scripted responses first and then with BODY, recording when each
+    // request arrived and how many were being handled at once
+    private static final class RecordingDispatcher extends Dispatcher {
+
+        private final Queue<MockResponse> responses = new ConcurrentLinkedQueue<>();
+
+        private final List<Long> requestNanos = Collections.synchronizedList(new ArrayList<>());
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+
+        private volatile long handlingMillis;
+
+        @Override
+        public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+            requestNanos.add(System.nanoTime());
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                if (handlingMillis > 0) {
+                    Thread.sleep(handlingMillis);
+                }
+                MockResponse response = responses.poll();
+                return response != null ? response : ok();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+
+        List<Long> requestNanos() {
+            synchronized (requestNanos) {
+                List<Long> sorted = new ArrayList<>(requestNanos);
+                Collections.sort(sorted);
+                return sorted;
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.house.datacollectionservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Streams a generated 50 MB search response through the parser in 8 KB chunks, the way
+ * WebClient delivers it, and samples the heap after forced collections. The response is
+ * generated on the fly, so anything retained beyond a few MB would be the parser holding
+ * on to input or parsed properties. Heap and throughput are printed; the assertion only
+ * checks the retained heap stays far below the response size.
+ */
+class ZillowResponseParserBenchmarkTest {
+
+    private static final long RESPONSE_BYTES = 50L * 1024 * 1024;
+    private static final int CHUNK_BYTES = 8 * 1024;
+    private static final int SAMPLE_EVERY_CHUNKS = 256;
+    private static final long MAX_RETAINED_BYTES = 8L * 1024 * 1024;
+
+    @Test
+    void parsesFiftyMegabytesInBoundedMemory() {
+        ZillowResponseParser parser = new ZillowResponseParser(new ObjectMapper(), ZillowResponseParserTest::toProperty);
+        ChunkedResponse response = new ChunkedResponse();
+
+        long baseline = usedHeapAfterGc();
+        long peakRetained = 0;
+        long properties = 0;
+        long chunks = 0;
+        long start = System.nanoTime();
+        byte[] chunk;
+        while ((chunk = response.next()) != null) {
+            properties += parser.feed(DefaultDataBufferFactory.sharedInstance.wrap(chunk)).size();
+            if (++chunks % SAMPLE_EVERY_CHUNKS == 0) {
+                peakRetained = Math.max(peakRetained, usedHeapAfterGc() - baseline);
+            }
+        }
+        properties += parser.endOfInput().size();
+        long elapsedNanos = System.nanoTime() - start;
+
+        System.out.printf("Parsed %,d properties from %,d MB in %,d ms (%.0f MB/s, GC sampling included), "
+                        + "peak retained heap %,d KB%n",
+                properties, response.bytes / (1024 * 1024), elapsedNanos / 1_000_000,
+                response.bytes / 1e6 / (elapsedNanos / 1e9), peakRetained / 1024);
+        assertThat(properties).isEqualTo(response.properties);
+        assertThat(peakRetained).isLessThan(MAX_RETAINED_BYTES);
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    // Generates {"SearchResults":{"results":[...]}} of roughly RESPONSE_BYTES in fixed-size
+    // chunks, so tokens are split at arbitrary positions
+    private static final class ChunkedResponse {
+
+        private final ByteArrayOutputStream pending = new ByteArrayOutputStream(2 * CHUNK_BYTES);
+
+        private long properties;
+
+        private long bytes;
+
+        private boolean closed;
+
+        ChunkedResponse() {
+            write("{\"SearchResults\":{\"total\":-1,\"results\":[");
+        }
+
+        byte[] next() {
+            while (pending.size() < CHUNK_BYTES && !closed) {
+                if (bytes + pending.size() < RESPONSE_BYTES) {
+                    write((properties > 0 ? "," : "") + property(properties++));
+                } else {
+                    write("]}}");
+                    closed = true;
+                }
+            }
+            if (pending.size() == 0) {
+                return null;
+            }
+            byte[] buffered = pending.toByteArray();
+            byte[] chunk = Arrays.copyOf(buffered, Math.min(CHUNK_BYTES, buffered.length));
+            pending.reset();
+            pending.write(buffered, chunk.length, buffered.length - chunk.length);
+            bytes += chunk.length;
+            return chunk;
+        }
+
+        private void write(String text) {
+            pending.writeBytes(text.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private static String property(long id) {
+            return "{\"zpid\":\"" + id + "\",\"address\":{\"street\":\"" + id + " Main St\",\"city\":\"Irvine\","
+                    + "\"state\":\"CA\",\"zipcode\":\"92618\",\"latitudeLongitude\":{\"latitude\":33.6846,"
+                    + "\"longitude\":-117.8265}},\"zestimate\":{\"amount\":950000},\"useCode\":\"SingleFamily\","
+                    + "\"editedFacts\":{\"bedrooms\":3,\"bathrooms\":2.5,\"finishedSqFt\":1800,\"lotSizeSqFt\":5000,"
+                    + "\"yearBuilt\":1998},\"homeStatus\":\"FOR_SALE\",\"photos\":[{\"url\":\"https://photos/" + id
+                    + ".jpg\"}]}";
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.house.datacollectionservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.house.common.dto.ZillowProperty;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class ZillowResponseParserTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final DataBufferFactory BUFFERS = DefaultDataBufferFactory.sharedInstance;
+
+    private static final String RESPONSE = "{\"request\":{\"results\":[{\"zpid\":\"request\"}]},"
+            + "\"SearchResults\":{"
+            + "\"related\":[{\"zpid\":\"related\"}],"
+            + "\"meta\":{\"results\":[{\"zpid\":\"meta\"}]},"
+            + "\"results\":["
+            + "{\"zpid\":\"1\",\"address\":{\"street\":\"1 Main St\",\"city\":\"Irvine\","
+            + "\"latitudeLongitude\":{\"latitude\":33.68,\"longitude\":-117.82}},"
+            + "\"photos\":[{\"zpid\":\"photo\",\"tags\":[[\"a\"],[]]}],\"description\":\"Quote \\\" and \\u00e9\"},"
+            + "{\"zpid\":\"2\",\"address\":{\"street\":\"2 Main St\",\"city\":\"Irvine\"},\"results\":[{\"zpid\":\"nested\"}]},"
+            + "{\"zpid\":\"3\",\"price\":-1.5e3,\"open\":true,\"hoa\":null}"
+            + "],"
+            + "\"totals\":[1,2,3]},"
+            + "\"results\":[{\"zpid\":\"top-level\"}]}";
+
+    @Test
+    void emitsOnlySearchResultsEntries() {
+        List<ZillowProperty> properties = parse(RESPONSE, RESPONSE.length());
+
+        assertThat(properties).extracting(ZillowProperty::getZpid).containsExactly("1", "2", "3");
+        assertThat(properties.get(0).getStreetAddress()).isEqualTo("1 Main St");
+        assertThat(properties.get(0).getDescription()).isEqualTo("Quote \" and \u00e9");
+    }
+
+    @Test
+    void sameResultForEveryChunkSize() {
+        List<ZillowProperty> whole = parse(RESPONSE, RESPONSE.length());
+
+        // Chunk sizes that split field names, strings, escapes, numbers and literals
+        for (int chunkSize = 1; chunkSize <= 64; chunkSize++) {
+            List<ZillowProperty> chunked = parse(RESPONSE, chunkSize);
+            assertThat(chunked).as("chunk size %d", chunkSize)
+                    .extracting(ZillowProperty::getZpid, ZillowProperty::getStreetAddress, ZillowProperty::getDescription)
+                    .containsExactlyElementsOf(whole.stream()
+                            .map(p -> tuple(p.getZpid(), p.getStreetAddress(), p.getDescription()))
+                            .toList());
+        }
+    }
+
+    @Test
+    void splitsMultiByteCharactersAcrossChunks() {
+        String response = "{\"SearchResults\":{\"results\":[{\"zpid\":\"1\",\"description\":\"\u00e9\u4e2d\ud83c\udfe0\"}]}}";
+
+        for (int chunkSize = 1; chunkSize <= 8; chunkSize++) {
+            assertThat(parse(response, chunkSize)).extracting(ZillowProperty::getDescription)
+                    .containsExactly("\u00e9\u4e2d\ud83c\udfe0");
+        }
+    }
+
+    @Test
+    void emitsEachPropertyAsSoonAsItIsComplete() {
+        ZillowResponseParser parser = new ZillowResponseParser(OBJECT_MAPPER, ZillowResponseParserTest::toProperty);
+
+        assertThat(feed(parser, "{\"SearchResults\":{\"results\":[{\"zpid\":\"1\"},{\"zpid\":")).extracting(ZillowProperty::getZpid)
+                .containsExactly("1");
+        assertThat(feed(parser, "\"2\"}")).extracting(ZillowProperty::getZpid).containsExactly("2");
+        assertThat(feed(parser, "]}}")).isEmpty();
+        assertThat(parser.endOfInput()).isEmpty();
+    }
+
+    @Test
+    void emptyOrMissingResults() {
+        assertThat(parse("{\"SearchResults\":{\"results\":[]}}", 3)).isEmpty();
+        assertThat(parse("{\"SearchResults\":{\"total\":0}}", 3)).isEmpty();
+        assertThat(parse("{\"SearchResults\":{\"results\":null}}", 3)).isEmpty();
+        assertThat(parse("{}", 1)).isEmpty();
+        assertThat(parse("", 1)).isEmpty();
+    }
+
+    @Test
+    void skipsEntriesTheMapperRejects() {
+        String response = "{\"SearchResults\":{\"results\":[{\"zpid\":\"1\"},{\"zpid\":\"skip\"},{\"zpid\":\"3\"}]}}";
+        ZillowResponseParser parser = new ZillowResponseParser(OBJECT_MAPPER,
+                node -> "skip".equals(node.path("zpid").asText()) ? null : toProperty(node));
+
+        List<ZillowProperty> properties = new ArrayList<>(feed(parser, response));
+        properties.addAll(parser.endOfInput());
+
+        assertThat(properties).extracting(ZillowProperty::getZpid).containsExactly("1", "3");
+    }
+
+    @Test
+    void malformedResponseFails() {
+        ZillowResponseParser parser = new ZillowResponseParser(OBJECT_MAPPER, ZillowResponseParserTest::toProperty);
+
+        assertThatThrownBy(() -> feed(parser, "{\"SearchResults\":{\"results\":[{\"zpid\" 1}]}}"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageStartingWith("Error parsing Zillow response");
+    }
+
+    static ZillowProperty toProperty(JsonNode node) {
+        ZillowProperty property = new ZillowProperty();
+        property.setZpid(node.path("zpid").asText());
+        property.setStreetAddress(node.path("address").path("street").asText(null));
+        property.setDescription(node.path("description").asText(null));
+        return property;
+    }
+
+    private static List<ZillowProperty> parse(String response, int chunkSize) {
+        ZillowResponseParser parser = new ZillowResponseParser(OBJECT_MAPPER, ZillowResponseParserTest::toProperty);
+        byte[] bytes = response.getBytes(StandardCharsets.UTF_8);
+        List<ZillowProperty> properties = new ArrayList<>();
+        for (int offset = 0; offset < bytes.length; offset += chunkSize) {
+            byte[] chunk = Arrays.copyOfRange(bytes, offset, Math.min(bytes.length, offset + chunkSize));
+            properties.addAll(parser.feed(BUFFERS.wrap(chunk)));
+        }
+        properties.addAll(parser.endOfInput());
+        return properties;
+    }
+
+    private static List<ZillowProperty> feed(ZillowResponseParser parser, String chunk) {
+        return parser.feed(BUFFERS.wrap(chunk.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -2,15 +2,30 @@ package com.house.houseservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.cloud.netflix.eureka.EnableEurekaClient;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.auditing.DateTimeProvider;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
 
 @SpringBootApplication
-@EnableEurekaClient
-@EnableJpaAuditing
+@EntityScan("com.house.common.entity")
+@EnableJpaAuditing(dateTimeProviderRef = "auditingDateTimeProvider")
+@EnableScheduling
 public class HouseServiceApplication {
     
     public static void main(String[] args) {
         SpringApplication.run(HouseServiceApplication.class, args);
     }
+    
+    // Audit times in whole seconds, as the TIMESTAMP columns store them, so a cached
+    // updatedAt equals the one read back from MySQL
+    @Bean
+    public DateTimeProvider auditingDateTimeProvider() {
+        return () -> Optional.of(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+    }
 }
@@ -0,0 +1,29 @@
+package com.house.houseservice.config;
+
+import com.house.common.reference.ReferenceDataRegistry;
+import com.house.common.reference.ReferenceDataSync;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+
+@Configuration
+public class ReferenceDataConfig {
+
+    @Bean
+    public ReferenceDataRegistry referenceDataRegistry(EntityManagerFactory entityManagerFactory,
+                                                       @Value("${reference-data.max-age-minutes:10}") long maxAgeMinutes) {
+        return new ReferenceDataRegistry(entityManagerFactory, Duration.ofMinutes(maxAgeMinutes));
+    }
+
+    @Bean
+    public ReferenceDataSync referenceDataSync(ReferenceDataRegistry referenceDataRegistry,
+                                               StringRedisTemplate stringRedisTemplate,
+                                               RedisMessageListenerContainer redisMessageListenerContainer) {
+        return new ReferenceDataSync(referenceDataRegistry, stringRedisTemplate, redisMessageListenerContainer);
+    }
+}
@@ -1,19 +1,51 @@
 package com.house.houseservice.controller;
 
+import com.house.common.dto.CursorPageDTO;
 import com.house.common.dto.GeospatialSearchRequest;
 import com.house.common.dto.GeospatialSearchResult;
+import com.house.common.dto.GeospatialSummaryResult;
 import com.house.common.dto.HouseDTO;
+import com.house.common.dto.HouseMapViewDTO;
+import com.house.common.dto.HouseSummaryDTO;
+import com.house.common.dto.SuggestionDTO;
+import com.house.common.reference.ReferenceDataChangedEvent;
+import com.house.houseservice.repository.HouseCollectionVersion;
+import com.house.houseservice.repository.HousePageQuery;
+import com.house.houseservice.repository.HouseSortKey;
+import com.house.houseservice.repository.HouseVersion;
+import com.house.houseservice.service.HouseCache;
+import com.house.houseservice.service.HouseMapService;
+import com.house.houseservice.service.HouseResponseCache;
+import com.house.houseservice.service.HouseSearchIndex;
 import com.house.houseservice.service.HouseService;
+import com.house.houseservice.service.HouseSuggestionIndex;
+import com.house.houseservice.service.HouseTileService;
+import com.house.houseservice.service.HouseViewCounter;
+import com.house.houseservice.util.AcceptEncoding;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/houses")
@@ -23,6 +55,41 @@ public class HouseController {
     @Autowired
     private HouseService houseService;
     
+    @Autowired
+    private HouseMapService houseMapService;
+    
+    @Autowired
+    private HouseTileService houseTileService;
+    
+    @Autowired
+    private HouseCache houseCache;
+    
+    @Autowired
+    private HouseResponseCache houseResponseCache;
+    
+    @Autowired
+    private HouseSearchIndex houseSearchIndex;
+    
+    @Autowired
+    private HouseViewCounter houseViewCounter;
+    
+    @Autowired
+    private HouseSuggestionIndex houseSuggestionIndex;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Value("${house.tiles.browser-max-age-seconds:60}")
+    private long tileBrowserMaxAgeSeconds;
+    
+    @Value("${house.suggest.max-results:50}")
+    private int maxSuggestions;
+    
+    private static final MediaType VECTOR_TILE = MediaType.parseMediaType("application/vnd.mapbox-vector-tile");
+    
+    private static final String FIELDS_SUMMARY = "summary";
+    private static final String FIELDS_DETAIL = "detail";
+    
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> createHouse(@Valid @RequestBody HouseDTO houseDTO) {
@@ -34,21 +101,126 @@ public class HouseController {
         }
     }
     
+    /**
+     * Served from pre-serialized bytes when the house is in the response cache, gzipped
+     * when the client accepts it and the body is large enough to have been compressed.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<?> getHouseById(@PathVariable Long id) {
-        Optional<HouseDTO> house = houseService.getHouseById(id);
-        if (house.isPresent()) {
-            return ResponseEntity.ok(house.get());
+    public ResponseEntity<?> getHouseById(@PathVariable Long id, WebRequest webRequest) {
+        HouseResponseCache.Body body = houseResponseCache.get(id);
+        
+        // Answer If-None-Match / If-Modified-Since from the version alone
+        HouseVersion version = body != null ? new HouseVersion(body.version(), null)
+                : houseService.getHouseVersion(id).orElse(null);
+        long lastModified = body != null ? body.lastModified()
+                : version != null && version.updatedAt() != null ? toEpochMilli(version.updatedAt()) : -1L;
+        if (version != null && version.version() != null
+                && webRequest.checkNotModified("\"" + id + "-v" + version.version() + "\"", lastModified)) {
+            houseViewCounter.record(id);
+            return null;
         }
-        return ResponseEntity.notFound().build();
+        
+        if (body == null) {
+            long generation = houseResponseCache.generation(id);
+            Optional<HouseDTO> house = houseService.getHouseById(id);
+            if (house.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            body = houseResponseCache.put(house.get(), generation);
+        }
+        houseViewCounter.record(id);
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (body.gzip() != null && AcceptEncoding.acceptsGzip(webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.gzip());
+        }
+        return response.body(body.json());
     }
     
     @GetMapping
-    public ResponseEntity<List<HouseDTO>> getAllHouses(
+    public ResponseEntity<?> getAllHouses(
             @RequestParam(required = false) String city,
             @RequestParam(required = false) String state,
             @RequestParam(required = false) String status,
-            @RequestParam(required = false) String type) {
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) BigDecimal latitude,
+            @RequestParam(required = false) BigDecimal longitude,
+            @RequestParam(defaultValue = FIELDS_DETAIL) String fields,
+            WebRequest webRequest) {
+        
+        if (!isValidFields(fields)) {
+            return invalidFields(fields);
+        }
+        boolean summary = FIELDS_SUMMARY.equals(fields);
+        String representation = String.join("|", city, state, status, type, sort,
+                String.valueOf(size), cursor, String.valueOf(latitude), String.valueOf(longitude), fields);
+        
+        // Any paging parameter switches to a keyset-paginated response
+        if (sort != null || size != null || cursor != null) {
+            try {
+                HousePageQuery query = new HousePageQuery();
+                query.setCity(city);
+                query.setState(state);
+                query.setStatus(status);
+                query.setType(type);
+                query.setLatitude(latitude);
+                query.setLongitude(longitude);
+                String sortParam = sort == null ? "-updatedAt" : sort;
+                query.setDescending(sortParam.startsWith("-"));
+                query.setSortKey(HouseSortKey.fromParam(sortParam.startsWith("-") ? sortParam.substring(1) : sortParam));
+                
+                boolean cityAndState = city != null && state != null;
+                HouseCollectionVersion version = houseService.getCollectionVersion(
+                        cityAndState ? city : null, cityAndState ? state : null, status, type);
+                if (isNotModified(webRequest, representation, version)) {
+                    return null;
+                }
+                
+                CursorPageDTO<?> page = summary
+                        ? houseService.getHouseSummaryPage(query, size, cursor)
+                        : houseService.getHousePage(query, size, cursor);
+                return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(page);
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            }
+        }
+        
+        // Version the rows the branch below returns, not every parameter given
+        HouseCollectionVersion version;
+        if (city != null && state != null) {
+            version = houseService.getCollectionVersion(city, state, null, null);
+        } else if (status != null) {
+            version = houseService.getCollectionVersion(null, null, status, null);
+        } else if (type != null) {
+            version = houseService.getCollectionVersion(null, null, null, type);
+        } else {
+            version = houseService.getCollectionVersion(null, null, null, null);
+        }
+        if (isNotModified(webRequest, representation, version)) {
+            return null;
+        }
+        
+        if (summary) {
+            List<HouseSummaryDTO> houses;
+            
+            if (city != null && state != null) {
+                houses = houseService.getHouseSummariesByCityAndState(city, state);
+            } else if (status != null) {
+                houses = houseService.getHouseSummariesByStatus(status);
+            } else if (type != null) {
+                houses = houseService.getHouseSummariesByType(type);
+            } else {
+                houses = houseService.getAllHouseSummaries();
+            }
+            
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(houses);
+        }
         
         List<HouseDTO> houses;
         
@@ -62,12 +234,47 @@ public class HouseController {
             houses = houseService.getAllHouses();
         }
         
-        return ResponseEntity.ok(houses);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(houses);
+    }
+    
+    /**
+     * Streams the listing as newline-delimited JSON when requested with
+     * {@code Accept: application/x-ndjson}, for bulk consumers such as analytics jobs.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportHouses(
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String state,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String type) {
+        StreamingResponseBody body = out -> houseService.exportHouses(city, state, status, type, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+    
+    @PostMapping("/batch")
+    public ResponseEntity<?> getHousesByIds(@RequestBody List<Long> ids) {
+        try {
+            List<HouseDTO> houses = houseService.getHousesByIds(ids);
+            return ResponseEntity.ok(houses);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
     
     @PostMapping("/search/location")
-    public ResponseEntity<?> searchHousesByLocation(@Valid @RequestBody GeospatialSearchRequest request) {
+    public ResponseEntity<?> searchHousesByLocation(
+            @Valid @RequestBody GeospatialSearchRequest request,
+            @RequestParam(defaultValue = FIELDS_DETAIL) String fields) {
+        if (!isValidFields(fields)) {
+            return invalidFields(fields);
+        }
         try {
+            if (FIELDS_SUMMARY.equals(fields)) {
+                List<GeospatialSummaryResult> results = houseService.searchHouseSummariesByLocation(request);
+                return ResponseEntity.ok(results);
+            }
             List<GeospatialSearchResult> results = houseService.searchHousesByLocation(request);
             return ResponseEntity.ok(results);
         } catch (RuntimeException e) {
@@ -75,6 +282,83 @@ public class HouseController {
         }
     }
     
+    @GetMapping("/map")
+    public ResponseEntity<?> getMapView(
+            @RequestParam double minLat,
+            @RequestParam double minLng,
+            @RequestParam double maxLat,
+            @RequestParam double maxLng,
+            @RequestParam int zoom) {
+        try {
+            HouseMapViewDTO view = houseMapService.getMapView(minLat, minLng, maxLat, maxLng, zoom);
+            return ResponseEntity.ok(view);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    /**
+     * Type-ahead for the search box: zip codes, cities, streets and addresses whose
+     * words start with {@code q}, answered from memory without touching MySQL.
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<?> suggest(@RequestParam String q, @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > maxSuggestions) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Limit must be between 1 and " + maxSuggestions));
+        }
+        List<SuggestionDTO> suggestions = houseSuggestionIndex.suggest(q, limit);
+        return ResponseEntity.ok(suggestions);
+    }
+    
+    @GetMapping("/tiles/{z}/{x}/{y}.mvt")
+    public ResponseEntity<?> getTile(@PathVariable int z, @PathVariable int x, @PathVariable int y) {
+        try {
+            byte[] tile = houseTileService.getTile(z, x, y);
+            return ResponseEntity.ok()
+                    .contentType(VECTOR_TILE)
+                    .cacheControl(CacheControl.maxAge(tileBrowserMaxAgeSeconds, TimeUnit.SECONDS).cachePublic())
+                    .body(tile);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    /**
+     * Reloads the cached house types, statuses, maintenance scales and disaster types
+     * after the lookup tables were edited, here and, through Redis, on every other
+     * house-service and admin-service instance.
+     */
+    @PostMapping("/reference-data/refresh")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> refreshReferenceData() {
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("requested through API"));
+        return ResponseEntity.ok(Map.of("message", "Reference data reloaded and change announced"));
+    }
+    
+    /**
+     * Rebuilds the Elasticsearch index from MySQL in the background; searches keep using
+     * the current index until the rebuilt one replaces it.
+     */
+    @PostMapping("/search-index/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> rebuildSearchIndex() {
+        if (!houseSearchIndex.isEnabled()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Elasticsearch search is disabled"));
+        }
+        CompletableFuture.runAsync(houseSearchIndex::rebuild)
+                .exceptionally(e -> {
+                    System.err.println("Search index rebuild failed: " + e.getMessage());
+                    return null;
+                });
+        return ResponseEntity.accepted().body(Map.of("message", "Search index rebuild started"));
+    }
+    
+    @GetMapping("/cache/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getCacheStats() {
+        return ResponseEntity.ok(houseCache.getStats());
+    }
+    
     @GetMapping("/zillow/{zillowId}")
     public ResponseEntity<?> getHouseByZillowId(@PathVariable String zillowId) {
         Optional<HouseDTO> house = houseService.getHouseByZillowId(zillowId);
@@ -105,4 +389,30 @@ public class HouseController {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
+    
+    /**
+     * Strong ETag of a listing from its parameters plus the latest modification time, size
+     * and version sum of the rows it covers, with Last-Modified from the same time. Returns true when
+     * the response was set to 304.
+     */
+    private static boolean isNotModified(WebRequest webRequest, String representation, HouseCollectionVersion version) {
+        long lastModified = version.lastModified() == null ? -1 : toEpochMilli(version.lastModified());
+        String eTag = "\"" + DigestUtils.md5DigestAsHex(
+                (representation + "|" + lastModified + "|" + version.count() + "|" + version.versionSum())
+                        .getBytes(StandardCharsets.UTF_8)) + "\"";
+        return webRequest.checkNotModified(eTag, lastModified);
+    }
+    
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+    
+    private static boolean isValidFields(String fields) {
+        return FIELDS_SUMMARY.equals(fields) || FIELDS_DETAIL.equals(fields);
+    }
+    
+    private static ResponseEntity<?> invalidFields(String fields) {
+        return ResponseEntity.badRequest().body(Map.of("error",
+                "Unknown fields value: " + fields + " (expected " + FIELDS_SUMMARY + " or " + FIELDS_DETAIL + ")"));
+    }
 }
@@ -0,0 +1,17 @@
+package com.house.houseservice.repository;
+
+/**
+ * One grid cell of houses aggregated in SQL for the map cluster view.
+ */
+public interface HouseClusterView {
+
+    Long getHouseCount();
+
+    Double getLatitude();
+
+    Double getLongitude();
+
+    Integer getMinAreaSqft();
+
+    Integer getMaxAreaSqft();
+}
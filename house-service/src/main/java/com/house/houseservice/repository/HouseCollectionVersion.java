@@ -0,0 +1,11 @@
+package com.house.houseservice.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Latest modification time, size and sum of the house versions of a filtered set of
+ * houses; together they change whenever a house in the set is inserted, updated or
+ * deleted, even several times within the second that lastModified resolves to.
+ */
+public record HouseCollectionVersion(LocalDateTime lastModified, Long count, Long versionSum) {
+}
@@ -0,0 +1,198 @@
+package com.house.houseservice.repository;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.elasticsearch.annotations.DateFormat;
+import org.springframework.data.elasticsearch.annotations.Document;
+import org.springframework.data.elasticsearch.annotations.Field;
+import org.springframework.data.elasticsearch.annotations.FieldType;
+import org.springframework.data.elasticsearch.annotations.GeoPointField;
+import org.springframework.data.elasticsearch.core.geo.GeoPoint;
+
+import java.time.LocalDateTime;
+
+/**
+ * Elasticsearch copy of a house, used only to find matching ids; MySQL stays the
+ * source of truth. "houses" is an alias over the index HouseSearchIndex builds;
+ * nothing is created at startup.
+ */
+@Document(indexName = "houses", createIndex = false)
+public class HouseDocument {
+
+    @Id
+    private Long id;
+
+    @Field(type = FieldType.Text)
+    private String address;
+
+    @Field(type = FieldType.Text)
+    private String city;
+
+    @Field(type = FieldType.Keyword)
+    private String state;
+
+    @Field(type = FieldType.Keyword)
+    private String zipCode;
+
+    @Field(type = FieldType.Text)
+    private String description;
+
+    @Field(type = FieldType.Keyword)
+    private String houseType;
+
+    @Field(type = FieldType.Keyword)
+    private String houseStatus;
+
+    @Field(type = FieldType.Integer)
+    private Integer areaSqft;
+
+    @Field(type = FieldType.Integer)
+    private Integer lotAreaSqft;
+
+    @Field(type = FieldType.Integer)
+    private Integer buildYear;
+
+    @Field(type = FieldType.Integer)
+    private Integer bedrooms;
+
+    @Field(type = FieldType.Integer)
+    private Integer bathrooms;
+
+    // Most recent recorded sale price
+    @Field(type = FieldType.Double)
+    private Double lastSalePrice;
+
+    @GeoPointField
+    private GeoPoint location;
+
+    @Field(type = FieldType.Date, format = DateFormat.date_hour_minute_second_millis)
+    private LocalDateTime updatedAt;
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public void setAddress(String address) {
+        this.address = address;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public String getZipCode() {
+        return zipCode;
+    }
+
+    public void setZipCode(String zipCode) {
+        this.zipCode = zipCode;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getHouseType() {
+        return houseType;
+    }
+
+    public void setHouseType(String houseType) {
+        this.houseType = houseType;
+    }
+
+    public String getHouseStatus() {
+        return houseStatus;
+    }
+
+    public void setHouseStatus(String houseStatus) {
+        this.houseStatus = houseStatus;
+    }
+
+    public Integer getAreaSqft() {
+        return areaSqft;
+    }
+
+    public void setAreaSqft(Integer areaSqft) {
+        this.areaSqft = areaSqft;
+    }
+
+    public Integer getLotAreaSqft() {
+        return lotAreaSqft;
+    }
+
+    public void setLotAreaSqft(Integer lotAreaSqft) {
+        this.lotAreaSqft = lotAreaSqft;
+    }
+
+    public Integer getBuildYear() {
+        return buildYear;
+    }
+
+    public void setBuildYear(Integer buildYear) {
+        this.buildYear = buildYear;
+    }
+
+    public Integer getBedrooms() {
+        return bedrooms;
+    }
+
+    public void setBedrooms(Integer bedrooms) {
+        this.bedrooms = bedrooms;
+    }
+
+    public Integer getBathrooms() {
+        return bathrooms;
+    }
+
+    public void setBathrooms(Integer bathrooms) {
+        this.bathrooms = bathrooms;
+    }
+
+    public Double getLastSalePrice() {
+        return lastSalePrice;
+    }
+
+    public void setLastSalePrice(Double lastSalePrice) {
+        this.lastSalePrice = lastSalePrice;
+    }
+
+    public GeoPoint getLocation() {
+        return location;
+    }
+
+    public void setLocation(GeoPoint location) {
+        this.location = location;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
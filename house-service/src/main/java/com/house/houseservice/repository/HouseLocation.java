@@ -0,0 +1,18 @@
+package com.house.houseservice.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Coordinates (and area, for map clusters) of a house, used to build in-memory
+ * indexes without hydrating full entities.
+ */
+public interface HouseLocation {
+
+    Long getId();
+
+    BigDecimal getLatitude();
+
+    BigDecimal getLongitude();
+
+    Integer getAreaSqft();
+}
@@ -0,0 +1,25 @@
+package com.house.houseservice.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Columns needed to draw a single house marker on the map.
+ */
+public interface HouseMarkerView {
+
+    Long getId();
+
+    BigDecimal getLatitude();
+
+    BigDecimal getLongitude();
+
+    String getHouseType();
+
+    String getHouseStatus();
+
+    Integer getAreaSqft();
+
+    Integer getBedrooms();
+
+    Integer getBathrooms();
+}
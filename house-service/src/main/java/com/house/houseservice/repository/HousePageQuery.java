@@ -0,0 +1,132 @@
+package com.house.houseservice.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Filters, ordering and keyset position for one page of a house listing.
+ */
+public class HousePageQuery {
+
+    private String city;
+
+    private String state;
+
+    private String status;
+
+    private String type;
+
+    private HouseSortKey sortKey = HouseSortKey.UPDATED_AT;
+
+    private boolean descending;
+
+    private BigDecimal latitude;
+
+    private BigDecimal longitude;
+
+    // Distance sorts only consider houses within this radius of the center
+    private Double maxDistanceKm;
+
+    // Sort value and id of the last row of the previous page; null for the first page
+    private Object afterValue;
+
+    private Long afterId;
+
+    private int limit;
+
+    // Getters and Setters
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public HouseSortKey getSortKey() {
+        return sortKey;
+    }
+
+    public void setSortKey(HouseSortKey sortKey) {
+        this.sortKey = sortKey;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    public void setDescending(boolean descending) {
+        this.descending = descending;
+    }
+
+    public BigDecimal getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(BigDecimal latitude) {
+        this.latitude = latitude;
+    }
+
+    public BigDecimal getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(BigDecimal longitude) {
+        this.longitude = longitude;
+    }
+
+    public Double getMaxDistanceKm() {
+        return maxDistanceKm;
+    }
+
+    public void setMaxDistanceKm(Double maxDistanceKm) {
+        this.maxDistanceKm = maxDistanceKm;
+    }
+
+    public Object getAfterValue() {
+        return afterValue;
+    }
+
+    public void setAfterValue(Object afterValue) {
+        this.afterValue = afterValue;
+    }
+
+    public Long getAfterId() {
+        return afterId;
+    }
+
+    public void setAfterId(Long afterId) {
+        this.afterId = afterId;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+}
@@ -1,26 +1,53 @@
 package com.house.houseservice.repository;
 
+import com.house.common.dto.HouseSummaryDTO;
 import com.house.common.entity.House;
 import com.house.common.entity.HouseStatus;
 import com.house.common.entity.HouseType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface HouseRepository extends JpaRepository<House, Long> {
+public interface HouseRepository extends JpaRepository<House, Long>, HouseSearchRepository {
     
+    // Read paths that feed convertToDTO fetch type and status in the same statement;
+    // the child collections are batch-loaded (hibernate.default_batch_fetch_size), so a
+    // page of houses costs a fixed number of queries instead of one per house.
+    
+    @Override
+    @EntityGraph(attributePaths = {"houseType", "houseStatus"})
+    List<House> findAll();
+    
+    @Override
+    @EntityGraph(attributePaths = {"houseType", "houseStatus"})
+    List<House> findAllById(Iterable<Long> ids);
+    
+    @Override
+    @EntityGraph(attributePaths = {"houseType", "houseStatus"})
+    Optional<House> findById(Long id);
+    
+    @EntityGraph(attributePaths = {"houseType", "houseStatus"})
     List<House> findByCityAndState(String city, String state);
     
     List<House> findByHouseStatus(HouseStatus houseStatus);
     
     List<House> findByHouseType(HouseType houseType);
     
+    @EntityGraph(attributePaths = {"houseType", "houseStatus"})
     Optional<House> findByZillowId(String zillowId);
     
     @Query("SELECT h FROM House h WHERE h.latitude BETWEEN :minLat AND :maxLat AND h.longitude BETWEEN :minLng AND :maxLng")
@@ -29,17 +56,111 @@ public interface HouseRepository extends JpaRepository<House, Long> {
                                    @Param("minLng") BigDecimal minLng, 
                                    @Param("maxLng") BigDecimal maxLng);
     
-    @Query("SELECT h FROM House h WHERE " +
-           "6371 * acos(cos(radians(:lat)) * cos(radians(h.latitude)) * " +
-           "cos(radians(h.longitude) - radians(:lng)) + sin(radians(:lat)) * " +
-           "sin(radians(h.latitude))) <= :radiusKm")
-    List<House> findByLocationWithinRadius(@Param("lat") BigDecimal latitude,
-                                          @Param("lng") BigDecimal longitude,
-                                          @Param("radiusKm") Double radiusKm);
+    @Query(value = "SELECT COUNT(*) FROM houses h " +
+                   "WHERE MBRContains(ST_GeomFromText(:boundingBox, 4326, 'axis-order=long-lat'), h.location)",
+           nativeQuery = true)
+    long countWithinBoundingBox(@Param("boundingBox") String boundingBoxWkt);
+    
+    @Query(value = "SELECT COUNT(*) AS houseCount, AVG(h.latitude) AS latitude, AVG(h.longitude) AS longitude, " +
+                   "MIN(h.area_sqft) AS minAreaSqft, MAX(h.area_sqft) AS maxAreaSqft " +
+                   "FROM houses h " +
+                   "WHERE MBRContains(ST_GeomFromText(:boundingBox, 4326, 'axis-order=long-lat'), h.location) " +
+                   "GROUP BY FLOOR(h.latitude / :cellSize), FLOOR(h.longitude / :cellSize)",
+           nativeQuery = true)
+    List<HouseClusterView> findClustersWithinBoundingBox(@Param("boundingBox") String boundingBoxWkt,
+                                                         @Param("cellSize") double cellSizeDegrees);
+    
+    // Ordered by id so a truncated result is the same subset on every call and replica
+    @Query(value = "SELECT h.id AS id, h.latitude AS latitude, h.longitude AS longitude, " +
+                   "t.name AS houseType, s.name AS houseStatus, h.area_sqft AS areaSqft, " +
+                   "h.bedrooms AS bedrooms, h.bathrooms AS bathrooms " +
+                   "FROM houses h " +
+                   "JOIN house_types t ON t.id = h.house_type_id " +
+                   "JOIN house_statuses s ON s.id = h.house_status_id " +
+                   "WHERE MBRContains(ST_GeomFromText(:boundingBox, 4326, 'axis-order=long-lat'), h.location) " +
+                   "ORDER BY h.id LIMIT :limit",
+           nativeQuery = true)
+    List<HouseMarkerView> findMarkersWithinBoundingBox(@Param("boundingBox") String boundingBoxWkt,
+                                                       @Param("limit") int limit);
+    
+    /**
+     * Forward-only stream over the matching houses for bulk export. A fetch size of
+     * Integer.MIN_VALUE makes MySQL Connector/J stream rows instead of buffering the
+     * whole result set, so no further queries may run on the connection while the
+     * stream is open; type and status are fetched in the same statement for that reason.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT h FROM House h JOIN FETCH h.houseType t JOIN FETCH h.houseStatus s " +
+           "WHERE (:city IS NULL OR h.city = :city) AND (:state IS NULL OR h.state = :state) " +
+           "AND (:status IS NULL OR s.name = :status) AND (:type IS NULL OR t.name = :type)")
+    Stream<House> streamForExport(@Param("city") String city,
+                                  @Param("state") String state,
+                                  @Param("status") String status,
+                                  @Param("type") String type);
+    
+    // Summary projections select only the list/map columns, without hydrating entities
+    String SELECT_SUMMARY = "SELECT new com.house.common.dto.HouseSummaryDTO(" +
+            "h.id, h.address, h.city, h.state, h.zipCode, h.latitude, h.longitude, " +
+            "t.name, s.name, h.areaSqft, h.bedrooms, h.bathrooms) " +
+            "FROM House h JOIN h.houseType t JOIN h.houseStatus s";
+    
+    @Query(SELECT_SUMMARY)
+    List<HouseSummaryDTO> findAllSummaries();
+    
+    @Query(SELECT_SUMMARY + " WHERE h.id IN :ids")
+    List<HouseSummaryDTO> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query(SELECT_SUMMARY + " WHERE h.city = :city AND h.state = :state")
+    List<HouseSummaryDTO> findSummariesByCityAndState(@Param("city") String city, @Param("state") String state);
+    
+    @Query(SELECT_SUMMARY + " WHERE s.name = :status")
+    List<HouseSummaryDTO> findSummariesByHouseStatusName(@Param("status") String status);
+    
+    @Query(SELECT_SUMMARY + " WHERE t.name = :type")
+    List<HouseSummaryDTO> findSummariesByHouseTypeName(@Param("type") String type);
+    
+    @Query("SELECT new com.house.houseservice.repository.HouseVersion(h.version, h.updatedAt) FROM House h WHERE h.id = :id")
+    Optional<HouseVersion> findVersionById(@Param("id") Long id);
+    
+    // Null filters are ignored
+    @Query("SELECT new com.house.houseservice.repository.HouseCollectionVersion(MAX(h.updatedAt), COUNT(h), SUM(h.version)) " +
+           "FROM House h JOIN h.houseType t JOIN h.houseStatus s " +
+           "WHERE (:city IS NULL OR h.city = :city) AND (:state IS NULL OR h.state = :state) " +
+           "AND (:status IS NULL OR s.name = :status) AND (:type IS NULL OR t.name = :type)")
+    HouseCollectionVersion findCollectionVersion(@Param("city") String city,
+                                                 @Param("state") String state,
+                                                 @Param("status") String status,
+                                                 @Param("type") String type);
+    
+    // The database clock, so sync watermarks are compared with updated_at on the same clock
+    @Query(value = "SELECT LOCALTIMESTAMP", nativeQuery = true)
+    LocalDateTime currentTimestamp();
+    
+    // Keyset batches of houses updated since the given time, or of all houses when it is null
+    @EntityGraph(attributePaths = {"houseType", "houseStatus"})
+    @Query("SELECT h FROM House h WHERE h.id > :afterId AND (:since IS NULL OR h.updatedAt >= :since) ORDER BY h.id")
+    List<House> findUpdatedSince(@Param("since") LocalDateTime since, @Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT h.id FROM House h ORDER BY h.updatedAt DESC")
+    List<Long> findRecentlyUpdatedIds(Pageable pageable);
+    
+    @Query("SELECT h.id AS id, h.latitude AS latitude, h.longitude AS longitude, h.areaSqft AS areaSqft FROM House h " +
+           "WHERE h.id > :afterId ORDER BY h.id")
+    List<HouseLocation> findLocationsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT h.id AS id, h.address AS address, h.city AS city, h.state AS state, h.zipCode AS zipCode, " +
+           "h.latitude AS latitude, h.longitude AS longitude FROM House h " +
+           "WHERE h.id > :afterId ORDER BY h.id")
+    List<HouseSuggestionSource> findSuggestionSourcesAfter(@Param("afterId") Long afterId, Pageable pageable);
     
+    @EntityGraph(attributePaths = {"houseType", "houseStatus"})
     @Query("SELECT h FROM House h WHERE h.houseStatus.name = :status")
     List<House> findByHouseStatusName(@Param("status") String status);
     
+    @EntityGraph(attributePaths = {"houseType", "houseStatus"})
     @Query("SELECT h FROM House h WHERE h.houseType.name = :type")
     List<House> findByHouseTypeName(@Param("type") String type);
 }
@@ -0,0 +1,33 @@
+package com.house.houseservice.repository;
+
+import com.house.common.dto.GeospatialSearchRequest;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Dynamic search queries that cannot be expressed as derived or fixed @Query methods.
+ */
+public interface HouseSearchRepository {
+
+    /**
+     * Finds the ids of the houses matching every filter set on the request. When
+     * {@code candidateIds} is null the radius is applied in SQL through the spatial index
+     * and each hit carries its distance; otherwise the search is restricted to those ids,
+     * which the caller has already matched against the radius, and distances are null.
+     */
+    List<SearchHit> searchHouseIds(GeospatialSearchRequest request, Collection<Long> candidateIds);
+    
+    /**
+     * Returns the ids and sort values of one page of houses, ordered by the query's sort key
+     * and then by id. Pages are positioned with a keyset predicate rather than OFFSET, so
+     * every page costs the same as the first.
+     */
+    List<PageKey> findPageKeys(HousePageQuery query);
+    
+    record PageKey(Long id, Object sortValue) {
+    }
+    
+    record SearchHit(Long id, Double distanceKm) {
+    }
+}
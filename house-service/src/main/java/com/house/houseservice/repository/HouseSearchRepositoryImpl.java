@@ -0,0 +1,207 @@
+package com.house.houseservice.repository;
+
+import com.house.common.dto.GeospatialSearchRequest;
+import com.house.houseservice.util.GeoUtils;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class HouseSearchRepositoryImpl implements HouseSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<SearchHit> searchHouseIds(GeospatialSearchRequest request, Collection<Long> candidateIds) {
+        if (candidateIds != null && candidateIds.isEmpty()) {
+            return List.of();
+        }
+
+        SqlBuilder sql;
+        if (candidateIds != null) {
+            sql = new SqlBuilder("SELECT h.id, NULL FROM houses h");
+            sql.where("h.id IN (:ids)", "ids", candidateIds);
+        } else {
+            double latitude = request.getLatitude().doubleValue();
+            double longitude = request.getLongitude().doubleValue();
+            String distance = "ST_Distance_Sphere(h.location, ST_GeomFromText(:center, 4326, 'axis-order=long-lat'))";
+            sql = new SqlBuilder("SELECT h.id, " + distance + " / 1000 FROM houses h");
+            sql.where("MBRContains(ST_GeomFromText(:boundingBox, 4326, 'axis-order=long-lat'), h.location)",
+                    "boundingBox", GeoUtils.boundingBoxWkt(latitude, longitude, request.getRadiusKm()));
+            sql.where(distance + " <= :radiusMeters", "center", GeoUtils.pointWkt(latitude, longitude));
+            sql.parameter("radiusMeters", request.getRadiusKm() * 1000);
+        }
+
+        if (request.getHouseType() != null) {
+            sql.where("h.house_type_id = (SELECT t.id FROM house_types t WHERE t.name = :houseType)",
+                    "houseType", request.getHouseType());
+        }
+        if (request.getHouseStatus() != null) {
+            sql.where("h.house_status_id = (SELECT st.id FROM house_statuses st WHERE st.name = :houseStatus)",
+                    "houseStatus", request.getHouseStatus());
+        }
+        if (request.getMinArea() != null) {
+            sql.where("h.area_sqft >= :minArea", "minArea", request.getMinArea());
+        }
+        if (request.getMaxArea() != null) {
+            sql.where("h.area_sqft <= :maxArea", "maxArea", request.getMaxArea());
+        }
+        if (request.getMinBedrooms() != null) {
+            sql.where("h.bedrooms >= :minBedrooms", "minBedrooms", request.getMinBedrooms());
+        }
+        if (request.getMinBathrooms() != null) {
+            sql.where("h.bathrooms >= :minBathrooms", "minBathrooms", request.getMinBathrooms());
+        }
+        if (request.getKeywords() != null && !request.getKeywords().isBlank()) {
+            // Unranked fallback for when the Elasticsearch index is unavailable
+            sql.where("(h.address LIKE :keywords OR h.city LIKE :keywords OR h.zip_code LIKE :keywords " +
+                    "OR h.description LIKE :keywords)", "keywords", "%" + request.getKeywords().trim() + "%");
+        }
+        if (request.getMinPrice() != null || request.getMaxPrice() != null) {
+            // Price is the most recent recorded sale price of the house
+            StringBuilder price = new StringBuilder(
+                    "EXISTS (SELECT 1 FROM house_sales s WHERE s.house_id = h.id " +
+                    "AND s.sale_date = (SELECT MAX(s2.sale_date) FROM house_sales s2 WHERE s2.house_id = h.id)");
+            if (request.getMinPrice() != null) {
+                price.append(" AND s.sale_price >= :minPrice");
+                sql.parameter("minPrice", request.getMinPrice());
+            }
+            if (request.getMaxPrice() != null) {
+                price.append(" AND s.sale_price <= :maxPrice");
+                sql.parameter("maxPrice", request.getMaxPrice());
+            }
+            price.append(")");
+            sql.where(price.toString());
+        }
+
+        Query query = entityManager.createNativeQuery(sql.toSql());
+        sql.parameters.forEach(query::setParameter);
+
+        List<Object[]> rows = query.getResultList();
+        List<SearchHit> hits = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Double distanceKm = row[1] == null ? null : ((Number) row[1]).doubleValue();
+            hits.add(new SearchHit(((Number) row[0]).longValue(), distanceKm));
+        }
+        return hits;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<PageKey> findPageKeys(HousePageQuery pageQuery) {
+        HouseSortKey sortKey = pageQuery.getSortKey();
+        String sortExpression = sortKey.getSqlExpression();
+        SqlBuilder sql = new SqlBuilder("SELECT h.id, " + sortExpression + " AS sort_value FROM houses h");
+
+        if (sortKey == HouseSortKey.DISTANCE) {
+            double latitude = pageQuery.getLatitude().doubleValue();
+            double longitude = pageQuery.getLongitude().doubleValue();
+            sql.parameter("center", GeoUtils.pointWkt(latitude, longitude));
+            // No index orders by distance from an arbitrary point, so the SPATIAL INDEX bounds
+            // how many rows are measured and sorted
+            if (pageQuery.getMaxDistanceKm() != null) {
+                sql.where("MBRContains(ST_GeomFromText(:distanceBox, 4326, 'axis-order=long-lat'), h.location)",
+                        "distanceBox", GeoUtils.boundingBoxWkt(latitude, longitude, pageQuery.getMaxDistanceKm()));
+            }
+        }
+        if (pageQuery.getCity() != null && pageQuery.getState() != null) {
+            sql.where("h.city = :city", "city", pageQuery.getCity());
+            sql.where("h.state = :state", "state", pageQuery.getState());
+        }
+        if (pageQuery.getStatus() != null) {
+            sql.where("h.house_status_id = (SELECT st.id FROM house_statuses st WHERE st.name = :houseStatus)",
+                    "houseStatus", pageQuery.getStatus());
+        }
+        if (pageQuery.getType() != null) {
+            sql.where("h.house_type_id = (SELECT t.id FROM house_types t WHERE t.name = :houseType)",
+                    "houseType", pageQuery.getType());
+        }
+
+        if (pageQuery.getAfterId() != null) {
+            sql.where(keysetPredicate(sortExpression, sortKey.isNullable(), pageQuery.isDescending(),
+                    pageQuery.getAfterValue() == null));
+            if (pageQuery.getAfterValue() != null) {
+                sql.parameter("afterValue", pageQuery.getAfterValue());
+            }
+            sql.parameter("afterId", pageQuery.getAfterId());
+        }
+
+        String direction = pageQuery.isDescending() ? " DESC" : " ASC";
+        String statement = sql.toSql() + " ORDER BY sort_value" + direction + ", h.id" + direction + " LIMIT :limit";
+        sql.parameter("limit", pageQuery.getLimit());
+
+        Query query = entityManager.createNativeQuery(statement);
+        sql.parameters.forEach(query::setParameter);
+
+        List<Object[]> rows = query.getResultList();
+        List<PageKey> keys = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            keys.add(new PageKey(((Number) row[0]).longValue(), row[1]));
+        }
+        return keys;
+    }
+
+    /**
+     * Rows after (sort value, id) in the listing order. MySQL sorts NULLs first ascending and
+     * last descending, so a NULL position continues within the NULLs and then, ascending,
+     * moves on to every non-NULL value; a non-NULL position, descending, ends with the NULLs.
+     */
+    static String keysetPredicate(String sortExpression, boolean nullable, boolean descending, boolean afterNull) {
+        String comparison = descending ? "<" : ">";
+        if (afterNull) {
+            String withinNulls = sortExpression + " IS NULL AND h.id " + comparison + " :afterId";
+            return descending
+                    ? "(" + withinNulls + ")"
+                    : "((" + withinNulls + ") OR " + sortExpression + " IS NOT NULL)";
+        }
+        String after = sortExpression + " " + comparison + " :afterValue OR (" +
+                sortExpression + " = :afterValue AND h.id " + comparison + " :afterId)";
+        if (nullable && descending) {
+            after += " OR " + sortExpression + " IS NULL";
+        }
+        return "(" + after + ")";
+    }
+
+    /**
+     * Accumulates AND-ed predicates and their named parameters.
+     */
+    private static final class SqlBuilder {
+
+        private final String select;
+
+        private final List<String> predicates = new ArrayList<>();
+
+        private final Map<String, Object> parameters = new LinkedHashMap<>();
+
+        SqlBuilder(String select) {
+            this.select = select;
+        }
+
+        void where(String predicate) {
+            predicates.add(predicate);
+        }
+
+        void where(String predicate, String name, Object value) {
+            predicates.add(predicate);
+            parameters.put(name, value);
+        }
+
+        void parameter(String name, Object value) {
+            parameters.put(name, value);
+        }
+
+        String toSql() {
+            if (predicates.isEmpty()) {
+                return select;
+            }
+            return select + " WHERE " + String.join(" AND ", predicates);
+        }
+    }
+}
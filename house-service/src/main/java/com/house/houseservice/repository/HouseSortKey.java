@@ -0,0 +1,81 @@
+package com.house.houseservice.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Sort keys supported by keyset-paginated house listings, with the SQL expression
+ * each one orders by. Build year is coalesced to match its functional index; the
+ * distance can be NULL and sorts as MySQL orders NULLs (first ascending, last
+ * descending), which the keyset predicate handles with IS NULL.
+ */
+public enum HouseSortKey {
+
+    AREA_SQFT("areaSqft", "h.area_sqft", false),
+    BUILD_YEAR("buildYear", "COALESCE(h.build_year, 0)", false),
+    UPDATED_AT("updatedAt", "h.updated_at", false),
+    DISTANCE("distance", "ST_Distance_Sphere(h.location, ST_GeomFromText(:center, 4326, 'axis-order=long-lat'))", true);
+
+    // Cursor encoding of a NULL sort value; never a valid number or timestamp
+    private static final String NULL_VALUE = "";
+
+    private final String param;
+
+    private final String sqlExpression;
+
+    private final boolean nullable;
+
+    HouseSortKey(String param, String sqlExpression, boolean nullable) {
+        this.param = param;
+        this.sqlExpression = sqlExpression;
+        this.nullable = nullable;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    public String getSqlExpression() {
+        return sqlExpression;
+    }
+
+    public boolean isNullable() {
+        return nullable;
+    }
+
+    public static HouseSortKey fromParam(String param) {
+        for (HouseSortKey key : values()) {
+            if (key.param.equals(param)) {
+                return key;
+            }
+        }
+        throw new RuntimeException("Unsupported sort: " + param);
+    }
+
+    /**
+     * Parses a sort value previously written by {@link #formatValue(Object)}.
+     */
+    public Object parseValue(String value) {
+        if (NULL_VALUE.equals(value)) {
+            return null;
+        }
+        switch (this) {
+            case AREA_SQFT:
+            case BUILD_YEAR:
+                return Long.parseLong(value);
+            case UPDATED_AT:
+                return LocalDateTime.parse(value);
+            default:
+                return Double.parseDouble(value);
+        }
+    }
+
+    public String formatValue(Object value) {
+        if (value == null) {
+            return NULL_VALUE;
+        }
+        if (value instanceof java.sql.Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toString();
+        }
+        return String.valueOf(value);
+    }
+}
@@ -0,0 +1,24 @@
+package com.house.houseservice.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Address and coordinates projection of a house, used to build the
+ * type-ahead suggestion index without hydrating full entities.
+ */
+public interface HouseSuggestionSource {
+
+    Long getId();
+
+    String getAddress();
+
+    String getCity();
+
+    String getState();
+
+    String getZipCode();
+
+    BigDecimal getLatitude();
+
+    BigDecimal getLongitude();
+}
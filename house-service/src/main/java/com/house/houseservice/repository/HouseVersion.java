@@ -0,0 +1,10 @@
+package com.house.houseservice.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Version number and modification time of one house. The version changes on every
+ * update, while updatedAt is stored with one-second precision.
+ */
+public record HouseVersion(Long version, LocalDateTime updatedAt) {
+}
@@ -0,0 +1,321 @@
+package com.house.houseservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.house.common.dto.HouseDTO;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Two-tier cache of house details: a bounded in-process L1 (Caffeine, W-TinyLFU) in front
+ * of the shared Redis L2, where values are stored with {@link HouseCacheCodec}.
+ *
+ * Writes never replace a cached copy of a newer house version, so a loader that read
+ * the row before a concurrent update committed cannot overwrite the update's entry.
+ *
+ * Writes and evictions are announced on the {@code house:invalidate} channel as
+ * {@code <instanceId>:<houseId>}; every other instance drops its L1 entry on receipt.
+ * Serialized responses in {@link HouseResponseCache} are dropped along with L1 entries.
+ * The short L1 TTL bounds staleness if a message is lost.
+ *
+ * Entries remember how long they took to load. As an entry nears its Redis expiry,
+ * {@link #get} reports a miss to a growing random share of callers (XFetch, "Optimal
+ * Probabilistic Cache Stampede Prevention"), so one of them reloads it before it
+ * expires for everybody.
+ */
+@Component
+public class HouseCache implements MessageListener {
+
+    private static final String HOUSE_CACHE_PREFIX = "house:";
+    static final String INVALIDATION_CHANNEL = "house:invalidate";
+
+    // Sets KEYS[1] to ARGV[1] with a TTL of ARGV[4] ms unless it holds a house version above ARGV[2]
+    private static final String PUT_UNLESS_NEWER_SCRIPT =
+            "local current = redis.call('GET', KEYS[1]) " +
+            "if current and string.len(current) >= " + (HouseCacheCodec.VERSION_POSITION + 7) + " " +
+            "and string.byte(current, 1) == tonumber(ARGV[3]) " +
+            "and struct.unpack('>i8', current, " + HouseCacheCodec.VERSION_POSITION + ") > tonumber(ARGV[2]) then " +
+            "return 0 end " +
+            "redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[4]) " +
+            "return 1";
+
+    private static final RedisScript<Long> PUT_UNLESS_NEWER = RedisScript.of(PUT_UNLESS_NEWER_SCRIPT, Long.class);
+
+    private final HouseCacheCodec codec = new HouseCacheCodec();
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final LongAdder remoteHits = new LongAdder();
+
+    private final LongAdder remoteMisses = new LongAdder();
+
+    private final LongAdder earlyRefreshes = new LongAdder();
+
+    @Autowired
+    @Qualifier("binaryRedisTemplate")
+    private RedisTemplate<String, byte[]> binaryRedisTemplate;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private RedisMessageListenerContainer listenerContainer;
+
+    @Autowired
+    private HouseResponseCache responseCache;
+
+    @Value("${house.cache.ttl-minutes:30}")
+    private long ttlMinutes;
+
+    @Value("${house.cache.local.maximum-size:10000}")
+    private long localMaximumSize;
+
+    @Value("${house.cache.local.ttl-seconds:60}")
+    private long localTtlSeconds;
+
+    // Higher values refresh earlier; 0 disables early refresh
+    @Value("${house.cache.early-refresh-beta:1.0}")
+    private double earlyRefreshBeta;
+
+    private Cache<Long, HouseCacheCodec.Entry> localCache;
+
+    @PostConstruct
+    public void init() {
+        localCache = Caffeine.newBuilder()
+                .maximumSize(localMaximumSize)
+                .expireAfterWrite(Duration.ofSeconds(localTtlSeconds))
+                .recordStats()
+                .build();
+        listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    /**
+     * Returns the cached house, or empty on a miss or when this caller was picked to
+     * refresh the entry ahead of its expiry.
+     */
+    public Optional<HouseDTO> get(Long id) {
+        HouseCacheCodec.Entry entry = localCache.getIfPresent(id);
+        if (entry == null) {
+            entry = codec.decode(binaryRedisTemplate.opsForValue().get(key(id)));
+            if (entry == null) {
+                remoteMisses.increment();
+                return Optional.empty();
+            }
+            remoteHits.increment();
+            localCache.put(id, entry);
+        }
+
+        if (isEarlyRefreshDue(entry)) {
+            earlyRefreshes.increment();
+            return Optional.empty();
+        }
+        return Optional.of(entry.house());
+    }
+
+    /**
+     * Batch form of {@link #get}: checks L1, then reads all remaining keys with one MGET.
+     * Missing ids are absent from the returned map.
+     */
+    public Map<Long, HouseDTO> getAll(Collection<Long> ids) {
+        Map<Long, HouseDTO> found = new HashMap<>();
+        List<Long> remoteIds = new ArrayList<>();
+        for (Long id : ids) {
+            HouseCacheCodec.Entry entry = localCache.getIfPresent(id);
+            if (entry == null) {
+                remoteIds.add(id);
+            } else if (!isEarlyRefreshDue(entry)) {
+                found.put(id, entry.house());
+            } else {
+                earlyRefreshes.increment();
+            }
+        }
+        if (remoteIds.isEmpty()) {
+            return found;
+        }
+
+        List<byte[]> values = binaryRedisTemplate.opsForValue().multiGet(
+                remoteIds.stream().map(HouseCache::key).collect(Collectors.toList()));
+        for (int i = 0; i < remoteIds.size(); i++) {
+            HouseCacheCodec.Entry entry = values == null ? null : codec.decode(values.get(i));
+            if (entry == null) {
+                remoteMisses.increment();
+                continue;
+            }
+            remoteHits.increment();
+            localCache.put(remoteIds.get(i), entry);
+            if (isEarlyRefreshDue(entry)) {
+                earlyRefreshes.increment();
+            } else {
+                found.put(remoteIds.get(i), entry.house());
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Caches houses read from the database with one pipelined round trip.
+     * Other instances are not notified.
+     *
+     * @param loadMillis how long loading the whole batch took
+     */
+    public void putAll(Collection<HouseDTO> houses, long loadMillis) {
+        if (houses.isEmpty()) {
+            return;
+        }
+        long ttlMillis = TimeUnit.MINUTES.toMillis(ttlMinutes);
+        long expiresAt = System.currentTimeMillis() + ttlMillis;
+        // XFetch scales the head start by the cost of reloading one entry, not the whole batch
+        int loadMillisPerHouse = (int) Math.min(Integer.MAX_VALUE, loadMillis / houses.size());
+        List<HouseCacheCodec.Entry> entries = houses.stream()
+                .map(house -> new HouseCacheCodec.Entry(house, expiresAt, loadMillisPerHouse))
+                .collect(Collectors.toList());
+
+        byte[] script = PUT_UNLESS_NEWER_SCRIPT.getBytes(StandardCharsets.UTF_8);
+        binaryRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (HouseCacheCodec.Entry entry : entries) {
+                connection.scriptingCommands().eval(script, ReturnType.INTEGER, 1,
+                        scriptArguments(key(entry.house().getId()), entry, ttlMillis));
+            }
+            return null;
+        });
+        entries.forEach(this::putLocalUnlessNewer);
+    }
+
+    /**
+     * Caches a house read from the database, unless a newer version is already cached.
+     * Other instances are not notified.
+     *
+     * @param loadMillis how long loading the house took, which scales early refresh
+     */
+    public void put(HouseDTO house, long loadMillis) {
+        long ttlMillis = TimeUnit.MINUTES.toMillis(ttlMinutes);
+        HouseCacheCodec.Entry entry = new HouseCacheCodec.Entry(house,
+                System.currentTimeMillis() + ttlMillis, (int) Math.min(Integer.MAX_VALUE, loadMillis));
+        String key = key(house.getId());
+        byte[][] arguments = scriptArguments(key, entry, ttlMillis);
+        binaryRedisTemplate.execute(PUT_UNLESS_NEWER, List.of(key), (Object[]) Arrays.copyOfRange(arguments, 1, arguments.length));
+        putLocalUnlessNewer(entry);
+    }
+
+    public void put(HouseDTO house) {
+        put(house, 0);
+    }
+
+    /**
+     * Caches a house that was just written and evicts the stale copy from every other instance.
+     */
+    public void update(HouseDTO house) {
+        put(house);
+        responseCache.invalidate(house.getId());
+        publishInvalidation(house.getId());
+    }
+
+    public void evict(Long id) {
+        binaryRedisTemplate.delete(key(id));
+        localCache.invalidate(id);
+        responseCache.invalidate(id);
+        publishInvalidation(id);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.lastIndexOf(':');
+        if (separator < 0 || body.substring(0, separator).equals(instanceId)) {
+            return;
+        }
+        try {
+            Long id = Long.valueOf(body.substring(separator + 1));
+            localCache.invalidate(id);
+            responseCache.invalidate(id);
+        } catch (NumberFormatException e) {
+            System.err.println("Ignoring malformed house invalidation: " + body);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        CacheStats local = localCache.stats();
+        Map<String, Object> l1 = new LinkedHashMap<>();
+        l1.put("size", localCache.estimatedSize());
+        l1.put("hits", local.hitCount());
+        l1.put("misses", local.missCount());
+        l1.put("hitRatio", local.hitRate());
+        l1.put("evictions", local.evictionCount());
+
+        long hits = remoteHits.sum();
+        long misses = remoteMisses.sum();
+        Map<String, Object> l2 = new LinkedHashMap<>();
+        l2.put("hits", hits);
+        l2.put("misses", misses);
+        l2.put("hitRatio", hits + misses == 0 ? 1.0 : (double) hits / (hits + misses));
+        l2.put("earlyRefreshes", earlyRefreshes.sum());
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("l1", l1);
+        stats.put("l2", l2);
+        stats.put("responses", responseCache.getStats());
+        return stats;
+    }
+
+    private boolean isEarlyRefreshDue(HouseCacheCodec.Entry entry) {
+        if (earlyRefreshBeta <= 0 || entry.loadMillis() <= 0) {
+            return false;
+        }
+        double random = ThreadLocalRandom.current().nextDouble();
+        double headStart = -entry.loadMillis() * earlyRefreshBeta * Math.log(random);
+        return System.currentTimeMillis() + headStart >= entry.expiresAt();
+    }
+
+    private void putLocalUnlessNewer(HouseCacheCodec.Entry entry) {
+        localCache.asMap().merge(entry.house().getId(), entry,
+                (current, fresh) -> current.version() > fresh.version() ? current : fresh);
+    }
+
+    // KEYS[1] followed by the ARGV of PUT_UNLESS_NEWER
+    private byte[][] scriptArguments(String key, HouseCacheCodec.Entry entry, long ttlMillis) {
+        return new byte[][]{
+                key.getBytes(StandardCharsets.UTF_8),
+                codec.encode(entry),
+                Long.toString(entry.version()).getBytes(StandardCharsets.UTF_8),
+                Byte.toString(HouseCacheCodec.FORMAT_VERSION).getBytes(StandardCharsets.UTF_8),
+                Long.toString(ttlMillis).getBytes(StandardCharsets.UTF_8)
+        };
+    }
+
+    private void publishInvalidation(Long id) {
+        stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, instanceId + ":" + id);
+    }
+
+    private static String key(Long id) {
+        return HOUSE_CACHE_PREFIX + id;
+    }
+}
@@ -0,0 +1,80 @@
+package com.house.houseservice.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.house.common.dto.HouseDTO;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Binary form of a cached {@link HouseDTO}: a header of one format-version byte, the
+ * expiry time (epoch millis, 8 bytes), the time it took to load the house (millis,
+ * 4 bytes) and the house version (8 bytes, -1 when unknown; read by the conditional
+ * write in {@link HouseCache}), followed by the DTO encoded as Smile (binary JSON). Values written by
+ * another format version, including entries left over from the old JDK-serialized
+ * entity cache, decode as null and are treated as cache misses.
+ */
+class HouseCacheCodec {
+
+    // 4: house version in the header
+    static final byte FORMAT_VERSION = 4;
+
+    // 1-based position of the house version, for Lua's struct.unpack
+    static final int VERSION_POSITION = 1 + 1 + Long.BYTES + Integer.BYTES;
+
+    private static final int HEADER_LENGTH = 1 + Long.BYTES + Integer.BYTES + Long.BYTES;
+
+    private final ObjectWriter writer;
+
+    private final ObjectReader reader;
+
+    HouseCacheCodec() {
+        SmileMapper mapper = SmileMapper.builder()
+                .findAndAddModules()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+        this.writer = mapper.writerFor(HouseDTO.class);
+        this.reader = mapper.readerFor(HouseDTO.class);
+    }
+
+    byte[] encode(Entry entry) {
+        try {
+            byte[] body = writer.writeValueAsBytes(entry.house());
+            return ByteBuffer.allocate(HEADER_LENGTH + body.length)
+                    .put(FORMAT_VERSION)
+                    .putLong(entry.expiresAt())
+                    .putInt(entry.loadMillis())
+                    .putLong(entry.version())
+                    .put(body)
+                    .array();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode house " + entry.house().getId(), e);
+        }
+    }
+
+    Entry decode(byte[] value) {
+        if (value == null || value.length <= HEADER_LENGTH || value[0] != FORMAT_VERSION) {
+            return null;
+        }
+        try {
+            ByteBuffer header = ByteBuffer.wrap(value, 1, HEADER_LENGTH - 1);
+            long expiresAt = header.getLong();
+            int loadMillis = header.getInt();
+            HouseDTO house = reader.readValue(value, HEADER_LENGTH, value.length - HEADER_LENGTH);
+            return new Entry(house, expiresAt, loadMillis);
+        } catch (IOException e) {
+            System.err.println("Discarding unreadable cached house: " + e.getMessage());
+            return null;
+        }
+    }
+
+    record Entry(HouseDTO house, long expiresAt, int loadMillis) {
+
+        long version() {
+            return house.getVersion() == null ? -1 : house.getVersion();
+        }
+    }
+}
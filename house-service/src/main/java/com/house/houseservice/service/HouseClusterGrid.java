@@ -0,0 +1,341 @@
+package com.house.houseservice.service;
+
+import com.house.common.dto.HouseClusterDTO;
+import com.house.houseservice.repository.HouseLocation;
+import com.house.houseservice.repository.HouseRepository;
+import com.house.houseservice.util.GeoUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * House counts pre-aggregated per map cluster cell, used for zoomed-out map views.
+ *
+ * Cells are the cluster cells of zoom {@code house.map.precomputed-max-zoom}. A cluster
+ * cell at a lower zoom is exactly 2^n of these cells per side, so the cluster view of a
+ * zoom 0 viewport only merges the occupied cells instead of aggregating every row of
+ * the houses table. Viewports are matched at cell granularity.
+ */
+@Component
+public class HouseClusterGrid {
+
+    private static final int LOAD_BATCH_SIZE = 10000;
+
+    @Autowired
+    private HouseRepository houseRepository;
+
+    @Value("${house.map.precomputed-max-zoom:10}")
+    private int maxZoom;
+
+    @Value("${house.map.precomputed-enabled:true}")
+    private boolean enabled;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    // Guarded by lock
+    private Grid grid = new Grid();
+
+    // Changes made while a rebuild scans the table, replayed onto the new grid; guarded by lock
+    private List<Runnable> pendingChanges;
+
+    private volatile boolean loaded;
+
+    public boolean isReady() {
+        return enabled && loaded;
+    }
+
+    public int getMaxZoom() {
+        return maxZoom;
+    }
+
+    // Normally already loaded by HouseWarmUp; covers startups with warm-up disabled
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!loaded) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Periodically reloads the grid so houses written outside this instance
+     * (other replicas, admin-service ingest) are counted.
+     */
+    @Scheduled(initialDelayString = "${house.map.precomputed-refresh-interval-ms:300000}",
+               fixedDelayString = "${house.map.precomputed-refresh-interval-ms:300000}")
+    public void scheduledRefresh() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        if (!enabled || !rebuildLock.tryLock()) {
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            withWriteLock(() -> pendingChanges = new ArrayList<>());
+
+            Grid fresh = new Grid();
+            long lastId = 0L;
+            List<HouseLocation> batch;
+            try {
+                do {
+                    batch = houseRepository.findLocationsAfter(lastId, PageRequest.of(0, LOAD_BATCH_SIZE));
+                    for (HouseLocation location : batch) {
+                        if (location.getLatitude() != null && location.getLongitude() != null) {
+                            fresh.put(location.getId(), location.getLatitude().doubleValue(),
+                                    location.getLongitude().doubleValue(), location.getAreaSqft());
+                        }
+                        lastId = location.getId();
+                    }
+                } while (batch.size() == LOAD_BATCH_SIZE);
+            } catch (RuntimeException e) {
+                withWriteLock(() -> pendingChanges = null);
+                throw e;
+            }
+
+            withWriteLock(() -> {
+                // The scan may have read a row before or after a concurrent change; replaying
+                // it is idempotent and leaves the fresh grid at the committed state
+                grid = fresh;
+                pendingChanges.forEach(Runnable::run);
+                pendingChanges = null;
+                loaded = true;
+            });
+            System.out.println("Cluster grid loaded " + fresh.size() + " houses into " + fresh.cellCount()
+                    + " cells in " + (System.currentTimeMillis() - start) + " ms");
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    public void put(Long houseId, BigDecimal latitude, BigDecimal longitude, Integer areaSqft) {
+        if (houseId == null) {
+            return;
+        }
+        if (latitude == null || longitude == null) {
+            remove(houseId);
+            return;
+        }
+        double lat = latitude.doubleValue();
+        double lng = longitude.doubleValue();
+        applyChange(() -> grid.put(houseId, lat, lng, areaSqft));
+    }
+
+    public void remove(Long houseId) {
+        applyChange(() -> grid.remove(houseId));
+    }
+
+    /**
+     * Returns the clusters of houses in the viewport for the given zoom, which must not
+     * exceed {@link #getMaxZoom()}. Viewports crossing the antimeridian or wider than the
+     * world are split as in {@link GeoUtils#splitBoundingBox}.
+     */
+    public List<HouseClusterDTO> findClusters(double minLat, double minLng, double maxLat, double maxLng, int zoom) {
+        if (zoom > maxZoom) {
+            throw new IllegalArgumentException("Zoom " + zoom + " is above the precomputed maximum " + maxZoom);
+        }
+        int shift = maxZoom - zoom;
+
+        lock.readLock().lock();
+        try {
+            Set<Long> visited = new HashSet<>();
+            Map<Long, Cluster> clusters = new LinkedHashMap<>();
+            for (double[] box : GeoUtils.splitBoundingBox(minLat, minLng, maxLat, maxLng)) {
+                int minRow = cellIndex(box[0]);
+                int maxRow = cellIndex(box[2]);
+                int minCol = cellIndex(box[1]);
+                int maxCol = cellIndex(box[3]);
+
+                long probes = (long) (maxRow - minRow + 1) * (maxCol - minCol + 1);
+                if (probes > grid.cellCount()) {
+                    // Wide viewport: walking the occupied cells is cheaper than probing empty ones
+                    for (Map.Entry<Long, Cell> entry : grid.cells.entrySet()) {
+                        int row = (int) (entry.getKey() >> 32);
+                        int col = (int) (long) entry.getKey();
+                        if (row >= minRow && row <= maxRow && col >= minCol && col <= maxCol
+                                && visited.add(entry.getKey())) {
+                            addToCluster(clusters, row, col, shift, entry.getValue());
+                        }
+                    }
+                } else {
+                    for (int row = minRow; row <= maxRow; row++) {
+                        for (int col = minCol; col <= maxCol; col++) {
+                            long key = cellKey(row, col);
+                            Cell cell = grid.cells.get(key);
+                            if (cell != null && visited.add(key)) {
+                                addToCluster(clusters, row, col, shift, cell);
+                            }
+                        }
+                    }
+                }
+            }
+
+            List<HouseClusterDTO> result = new ArrayList<>(clusters.size());
+            for (Cluster cluster : clusters.values()) {
+                result.add(cluster.toDTO());
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return grid.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void applyChange(Runnable change) {
+        withWriteLock(() -> {
+            change.run();
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        });
+    }
+
+    private void withWriteLock(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void addToCluster(Map<Long, Cluster> clusters, int row, int col, int shift, Cell cell) {
+        long key = cellKey(row >> shift, col >> shift);
+        clusters.computeIfAbsent(key, k -> new Cluster()).add(cell);
+    }
+
+    private int cellIndex(double degrees) {
+        return (int) Math.floor(degrees / cellSize());
+    }
+
+    // Same cell size HouseMapService uses for cluster queries at maxZoom
+    private double cellSize() {
+        return 90.0 / (1L << maxZoom);
+    }
+
+    private static long cellKey(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+
+    private record Point(long cellKey, double latitude, double longitude, Integer areaSqft) {
+    }
+
+    private static final class Cell {
+
+        private long count;
+
+        private double latitudeSum;
+
+        private double longitudeSum;
+
+        // Area -> number of houses with it, so min and max survive removals
+        private final TreeMap<Integer, Integer> areas = new TreeMap<>();
+
+        void add(Point point) {
+            count++;
+            latitudeSum += point.latitude();
+            longitudeSum += point.longitude();
+            if (point.areaSqft() != null) {
+                areas.merge(point.areaSqft(), 1, Integer::sum);
+            }
+        }
+
+        void subtract(Point point) {
+            count--;
+            latitudeSum -= point.latitude();
+            longitudeSum -= point.longitude();
+            if (point.areaSqft() != null) {
+                areas.computeIfPresent(point.areaSqft(), (area, n) -> n == 1 ? null : n - 1);
+            }
+        }
+    }
+
+    private static final class Cluster {
+
+        private long count;
+
+        private double latitudeSum;
+
+        private double longitudeSum;
+
+        private Integer minAreaSqft;
+
+        private Integer maxAreaSqft;
+
+        void add(Cell cell) {
+            count += cell.count;
+            latitudeSum += cell.latitudeSum;
+            longitudeSum += cell.longitudeSum;
+            if (!cell.areas.isEmpty()) {
+                int min = cell.areas.firstKey();
+                int max = cell.areas.lastKey();
+                minAreaSqft = minAreaSqft == null ? min : Math.min(minAreaSqft, min);
+                maxAreaSqft = maxAreaSqft == null ? max : Math.max(maxAreaSqft, max);
+            }
+        }
+
+        HouseClusterDTO toDTO() {
+            return new HouseClusterDTO(count, latitudeSum / count, longitudeSum / count, minAreaSqft, maxAreaSqft);
+        }
+    }
+
+    private final class Grid {
+
+        private final Map<Long, Point> houses = new HashMap<>();
+
+        private final Map<Long, Cell> cells = new HashMap<>();
+
+        void put(Long id, double latitude, double longitude, Integer areaSqft) {
+            remove(id);
+            Point point = new Point(cellKey(cellIndex(latitude), cellIndex(longitude)), latitude, longitude, areaSqft);
+            houses.put(id, point);
+            cells.computeIfAbsent(point.cellKey(), key -> new Cell()).add(point);
+        }
+
+        void remove(Long id) {
+            Point previous = houses.remove(id);
+            if (previous == null) {
+                return;
+            }
+            Cell cell = cells.get(previous.cellKey());
+            cell.subtract(previous);
+            if (cell.count == 0) {
+                cells.remove(previous.cellKey());
+            }
+        }
+
+        int size() {
+            return houses.size();
+        }
+
+        int cellCount() {
+            return cells.size();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.house.houseservice.service;
+
+import com.house.houseservice.repository.HouseSortKey;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for keyset pagination. It records the sort the page was
+ * produced with and the sort value and id of the page's last row.
+ */
+final class HouseCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final HouseSortKey sortKey;
+
+    private final boolean descending;
+
+    private final Object sortValue;
+
+    private final Long id;
+
+    HouseCursor(HouseSortKey sortKey, boolean descending, Object sortValue, Long id) {
+        this.sortKey = sortKey;
+        this.descending = descending;
+        this.sortValue = sortValue;
+        this.id = id;
+    }
+
+    String encode() {
+        String raw = sortKey.getParam() + SEPARATOR + (descending ? "desc" : "asc") + SEPARATOR
+                + sortKey.formatValue(sortValue) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static HouseCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            HouseSortKey sortKey = HouseSortKey.fromParam(parts[0]);
+            return new HouseCursor(sortKey, "desc".equals(parts[1]),
+                    sortKey.parseValue(parts[2]), Long.parseLong(parts[3]));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid cursor", e);
+        }
+    }
+
+    HouseSortKey getSortKey() {
+        return sortKey;
+    }
+
+    boolean isDescending() {
+        return descending;
+    }
+
+    Object getSortValue() {
+        return sortValue;
+    }
+
+    Long getId() {
+        return id;
+    }
+}
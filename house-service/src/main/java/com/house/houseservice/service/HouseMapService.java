@@ -0,0 +1,132 @@
+package com.house.houseservice.service;
+
+import com.house.common.dto.HouseClusterDTO;
+import com.house.common.dto.HouseMapViewDTO;
+import com.house.common.dto.HouseMarkerDTO;
+import com.house.houseservice.repository.HouseClusterView;
+import com.house.houseservice.repository.HouseMarkerView;
+import com.house.houseservice.repository.HouseRepository;
+import com.house.houseservice.util.GeoUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional(readOnly = true)
+public class HouseMapService {
+
+    private static final int MIN_ZOOM = 0;
+    private static final int MAX_ZOOM = 22;
+
+    // Each 256px map tile is split into 4x4 clusters of roughly 64px
+    private static final int CLUSTERS_PER_TILE_SIDE = 4;
+
+    @Autowired
+    private HouseRepository houseRepository;
+
+    @Autowired
+    private HouseClusterGrid clusterGrid;
+
+    @Value("${house.map.marker-threshold:500}")
+    private int markerThreshold;
+
+    /**
+     * Returns the houses inside the viewport as clusters, or as individual
+     * markers once fewer than {@code house.map.marker-threshold} houses are visible.
+     * Zooms up to {@code house.map.precomputed-max-zoom} are served from the
+     * {@link HouseClusterGrid}; deeper zooms go through the SPATIAL INDEX, so the
+     * cost depends on the viewport rather than the size of the houses table.
+     */
+    public HouseMapViewDTO getMapView(double minLat, double minLng, double maxLat, double maxLng, int zoom) {
+        if (minLat >= maxLat || minLng >= maxLng) {
+            throw new RuntimeException("Invalid bounding box");
+        }
+        if (zoom < MIN_ZOOM || zoom > MAX_ZOOM) {
+            throw new RuntimeException("Zoom must be between " + MIN_ZOOM + " and " + MAX_ZOOM);
+        }
+
+        HouseMapViewDTO view = new HouseMapViewDTO();
+        view.setZoom(zoom);
+
+        List<String> boundingBoxes = GeoUtils.splitBoundingBox(minLat, minLng, maxLat, maxLng).stream()
+                .map(box -> GeoUtils.boundingBoxWkt(box[0], box[1], box[2], box[3]))
+                .collect(Collectors.toList());
+
+        if (zoom <= clusterGrid.getMaxZoom() && clusterGrid.isReady()) {
+            // Zoomed out the viewport covers most of the table; serve clusters from the precomputed grid
+            List<HouseClusterDTO> clusters = clusterGrid.findClusters(minLat, minLng, maxLat, maxLng, zoom);
+            long total = clusters.stream().mapToLong(HouseClusterDTO::getCount).sum();
+            view.setTotal(total);
+            if (total >= markerThreshold) {
+                view.setClusters(clusters);
+                view.setMarkers(List.of());
+                return view;
+            }
+        } else {
+            view.setTotal(boundingBoxes.stream().mapToLong(houseRepository::countWithinBoundingBox).sum());
+        }
+
+        if (view.getTotal() < markerThreshold) {
+            view.setClusters(List.of());
+            view.setMarkers(findMarkers(boundingBoxes));
+        } else {
+            List<HouseClusterDTO> clusters = new ArrayList<>();
+            for (String boundingBox : boundingBoxes) {
+                houseRepository.findClustersWithinBoundingBox(boundingBox, clusterCellSize(zoom)).stream()
+                        .map(this::toCluster)
+                        .forEach(clusters::add);
+            }
+            view.setClusters(clusters);
+            view.setMarkers(List.of());
+        }
+
+        return view;
+    }
+
+    private List<HouseMarkerDTO> findMarkers(List<String> boundingBoxes) {
+        List<HouseMarkerDTO> markers = new ArrayList<>();
+        for (String boundingBox : boundingBoxes) {
+            int remaining = markerThreshold - markers.size();
+            if (remaining <= 0) {
+                break;
+            }
+            houseRepository.findMarkersWithinBoundingBox(boundingBox, remaining).stream()
+                    .map(this::toMarker)
+                    .forEach(markers::add);
+        }
+        return markers;
+    }
+
+    private double clusterCellSize(int zoom) {
+        double tileWidthDegrees = 360.0 / (1L << zoom);
+        return tileWidthDegrees / CLUSTERS_PER_TILE_SIDE;
+    }
+
+    private HouseClusterDTO toCluster(HouseClusterView cluster) {
+        return new HouseClusterDTO(
+                cluster.getHouseCount(),
+                cluster.getLatitude(),
+                cluster.getLongitude(),
+                cluster.getMinAreaSqft(),
+                cluster.getMaxAreaSqft()
+        );
+    }
+
+    private HouseMarkerDTO toMarker(HouseMarkerView marker) {
+        HouseMarkerDTO dto = new HouseMarkerDTO();
+        dto.setId(marker.getId());
+        dto.setLatitude(marker.getLatitude());
+        dto.setLongitude(marker.getLongitude());
+        dto.setHouseType(marker.getHouseType());
+        dto.setHouseStatus(marker.getHouseStatus());
+        dto.setAreaSqft(marker.getAreaSqft());
+        dto.setBedrooms(marker.getBedrooms());
+        dto.setBathrooms(marker.getBathrooms());
+        return dto;
+    }
+}
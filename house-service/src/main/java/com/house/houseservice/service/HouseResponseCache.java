@@ -0,0 +1,151 @@
+package com.house.houseservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.house.common.dto.HouseDTO;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * In-process cache of serialized {@code GET /api/houses/{id}} response bodies, so hot
+ * houses are written straight from bytes without DTO mapping or JSON serialization.
+ * Bodies above {@code house.response-cache.gzip-min-bytes} are also kept gzipped.
+ *
+ * Bounded by total bytes. Entries are dropped by {@link HouseCache} whenever the house
+ * is written or deleted on any instance.
+ *
+ * A read that misses takes the house's {@link #generation(Long) generation} before loading
+ * and hands it to {@link #put(HouseDTO, long)}. Invalidation bumps the generation, so a body
+ * loaded before a write that committed during the load is served once but never cached.
+ * Generations are kept in a fixed array of stripes; ids that share a stripe only cost each
+ * other the occasional skipped put.
+ */
+@Component
+public class HouseResponseCache {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${house.response-cache.max-bytes:67108864}")
+    private long maxBytes;
+
+    @Value("${house.response-cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Value("${house.response-cache.gzip-min-bytes:1024}")
+    private int gzipMinBytes;
+
+    private static final int GENERATION_STRIPES = 4096;
+
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    private Cache<Long, Body> cache;
+
+    /**
+     * @param lastModified epoch millis of the house's updatedAt, or -1 when unknown
+     * @param gzip the gzipped JSON, or null for small bodies
+     * @param version the house version the body was serialized from, or null when unknown
+     */
+    public record Body(byte[] json, byte[] gzip, long lastModified, Long version) {
+
+        int weight() {
+            return json.length + (gzip == null ? 0 : gzip.length);
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long id, Body body) -> body.weight())
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    public Body get(Long id) {
+        return cache.getIfPresent(id);
+    }
+
+    /**
+     * Returns the current generation of the given house, to be passed to {@link #put(HouseDTO, long)}.
+     */
+    public long generation(Long id) {
+        return generations.get(stripe(id));
+    }
+
+    /**
+     * Serializes the house and caches the body, unless the house was invalidated since
+     * {@code generation} was taken or a body for a newer version is already cached.
+     *
+     * @return the serialized body, cached or not
+     */
+    public Body put(HouseDTO house, long generation) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(house);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize house " + house.getId(), e);
+        }
+        long lastModified = house.getUpdatedAt() == null ? -1
+                : house.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        Body body = new Body(json, json.length >= gzipMinBytes ? gzip(json) : null, lastModified, house.getVersion());
+        // Checked under the entry lock, which invalidate() takes after bumping the generation
+        cache.asMap().compute(house.getId(), (id, cached) -> {
+            if (generations.get(stripe(id)) != generation) {
+                return cached;
+            }
+            if (cached != null && cached.version() != null && body.version() != null
+                    && cached.version() > body.version()) {
+                return cached;
+            }
+            return body;
+        });
+        return body;
+    }
+
+    public void invalidate(Long id) {
+        generations.incrementAndGet(stripe(id));
+        cache.invalidate(id);
+    }
+
+    public Map<String, Object> getStats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRatio", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        return result;
+    }
+
+    private static int stripe(Long id) {
+        return (int) (id & (GENERATION_STRIPES - 1));
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,236 @@
+package com.house.houseservice.service;
+
+import com.house.common.dto.GeospatialSearchRequest;
+import com.house.houseservice.repository.HouseSearchRepository;
+import com.house.houseservice.util.GeoUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Redis cache of location search results, storing only house ids and distances.
+ *
+ * Queries are snapped to a grid before they run (center to 1e-4 degrees, about 11 m;
+ * radius to 10 m) so nearby repeats of the same search share one entry, keyed
+ * {@code geo-search:<lat>:<lng>:<radius>:<filters>}. Every entry is also registered in
+ * the {@code geo-search:cell:<x>:<y>} set of each 0.1-degree cell its circle overlaps.
+ * A write to a house reads the set for the house's cell and evicts only the entries
+ * whose circle contains the house.
+ *
+ * A miss registers its key in the cell sets and parks a pending marker under it before
+ * the search runs, and stores the result only if the marker is still there. An eviction
+ * that lands while the search is running deletes the marker, so the result, which may
+ * predate the write, is dropped instead of being cached for the full TTL.
+ */
+@Component
+public class HouseSearchCache {
+
+    private static final String KEY_PREFIX = "geo-search:";
+    private static final String CELL_KEY_PREFIX = "geo-search:cell:";
+    private static final byte FORMAT_VERSION = 1;
+    private static final byte PENDING_MARKER = 0;
+
+    private static final double CELL_SIZE_DEGREES = 0.1;
+    private static final double COORDINATE_SCALE = 1e4;
+    private static final double RADIUS_SCALE = 1e2;
+
+    // Slack for the difference between the database distance and GeoUtils.distanceKm
+    private static final double EVICTION_MARGIN_KM = 0.01;
+
+    // Sets KEYS[1] to ARGV[2] with a TTL of ARGV[3] ms if it still holds the pending marker ARGV[1]
+    private static final RedisScript<Long> STORE_IF_PENDING = RedisScript.of(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+            "redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3]) " +
+            "return 1 end " +
+            "return 0", Long.class);
+
+    @Autowired
+    @Qualifier("binaryRedisTemplate")
+    private RedisTemplate<String, byte[]> binaryRedisTemplate;
+
+    @Value("${house.search-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${house.search-cache.ttl-minutes:10}")
+    private long ttlMinutes;
+
+    @Value("${house.search-cache.max-radius-km:50}")
+    private double maxRadiusKm;
+
+    /**
+     * Returns the cached hits for the snapped request, or runs {@code loader} on the
+     * snapped request and caches its result. Searches wider than
+     * {@code house.search-cache.max-radius-km} bypass the cache.
+     */
+    public List<HouseSearchRepository.SearchHit> getOrLoad(GeospatialSearchRequest request,
+            Function<GeospatialSearchRequest, List<HouseSearchRepository.SearchHit>> loader) {
+        if (!enabled || request.getRadiusKm() > maxRadiusKm) {
+            return loader.apply(request);
+        }
+
+        long latitude = Math.round(request.getLatitude().doubleValue() * COORDINATE_SCALE);
+        long longitude = Math.round(request.getLongitude().doubleValue() * COORDINATE_SCALE);
+        long radius = Math.max(1, Math.round(request.getRadiusKm() * RADIUS_SCALE));
+        String key = KEY_PREFIX + latitude + ":" + longitude + ":" + radius + ":" + filtersHash(request);
+
+        List<HouseSearchRepository.SearchHit> cached = decode(binaryRedisTemplate.opsForValue().get(key));
+        if (cached != null) {
+            return cached;
+        }
+
+        GeospatialSearchRequest snapped = copyFilters(request);
+        snapped.setLatitude(BigDecimal.valueOf(latitude, 4));
+        snapped.setLongitude(BigDecimal.valueOf(longitude, 4));
+        snapped.setRadiusKm(radius / RADIUS_SCALE);
+
+        byte[] marker = register(key, snapped);
+        List<HouseSearchRepository.SearchHit> hits = loader.apply(snapped);
+        binaryRedisTemplate.execute(STORE_IF_PENDING, List.of(key), marker, encode(hits),
+                String.valueOf(TimeUnit.MINUTES.toMillis(ttlMinutes)).getBytes(StandardCharsets.UTF_8));
+        return hits;
+    }
+
+    /**
+     * Evicts every cached search whose circle contains the given coordinates.
+     */
+    public void evictContaining(BigDecimal latitude, BigDecimal longitude) {
+        if (!enabled || latitude == null || longitude == null) {
+            return;
+        }
+        double lat = latitude.doubleValue();
+        double lng = longitude.doubleValue();
+        String cellKey = cellKey(cellIndex(lng), cellIndex(lat));
+
+        Set<byte[]> members = binaryRedisTemplate.opsForSet().members(cellKey);
+        if (members == null || members.isEmpty()) {
+            return;
+        }
+
+        List<String> evicted = new ArrayList<>();
+        for (byte[] member : members) {
+            String key = new String(member, StandardCharsets.UTF_8);
+            String[] parts = key.substring(KEY_PREFIX.length()).split(":");
+            double centerLat = Long.parseLong(parts[0]) / COORDINATE_SCALE;
+            double centerLng = Long.parseLong(parts[1]) / COORDINATE_SCALE;
+            double radiusKm = Long.parseLong(parts[2]) / RADIUS_SCALE;
+            if (GeoUtils.distanceKm(centerLat, centerLng, lat, lng) <= radiusKm + EVICTION_MARGIN_KM) {
+                evicted.add(key);
+            }
+        }
+        if (evicted.isEmpty()) {
+            return;
+        }
+
+        binaryRedisTemplate.delete(evicted);
+        binaryRedisTemplate.opsForSet().remove(cellKey, evicted.stream()
+                .map(key -> key.getBytes(StandardCharsets.UTF_8))
+                .toArray());
+    }
+
+    /**
+     * Parks a pending marker under {@code key} and adds the key to every cell its circle
+     * overlaps, so evictions that arrive while the search runs can find it.
+     */
+    private byte[] register(String key, GeospatialSearchRequest snapped) {
+        double latitude = snapped.getLatitude().doubleValue();
+        double longitude = snapped.getLongitude().doubleValue();
+        double latDelta = GeoUtils.latitudeDelta(snapped.getRadiusKm());
+        double lngDelta = GeoUtils.longitudeDelta(latitude, snapped.getRadiusKm());
+        long minX = cellIndex(Math.max(-180.0, longitude - lngDelta));
+        long maxX = cellIndex(Math.min(180.0, longitude + lngDelta));
+        long minY = cellIndex(Math.max(-90.0, latitude - latDelta));
+        long maxY = cellIndex(Math.min(90.0, latitude + latDelta));
+
+        long ttlMillis = TimeUnit.MINUTES.toMillis(ttlMinutes);
+        byte[] rawKey = key.getBytes(StandardCharsets.UTF_8);
+        byte[] marker = ByteBuffer.allocate(1 + 2 * Long.BYTES).put(PENDING_MARKER)
+                .putLong(ThreadLocalRandom.current().nextLong())
+                .putLong(System.nanoTime())
+                .array();
+
+        // The cell sets live as long as the newest entry registered in them
+        binaryRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.stringCommands().set(rawKey, marker, Expiration.milliseconds(ttlMillis),
+                    RedisStringCommands.SetOption.upsert());
+            for (long x = minX; x <= maxX; x++) {
+                for (long y = minY; y <= maxY; y++) {
+                    byte[] cellKey = cellKey(x, y).getBytes(StandardCharsets.UTF_8);
+                    connection.setCommands().sAdd(cellKey, rawKey);
+                    connection.keyCommands().pExpire(cellKey, ttlMillis);
+                }
+            }
+            return null;
+        });
+        return marker;
+    }
+
+    private static byte[] encode(List<HouseSearchRepository.SearchHit> hits) {
+        ByteBuffer buffer = ByteBuffer.allocate(1 + Integer.BYTES + hits.size() * (Long.BYTES + Double.BYTES));
+        buffer.put(FORMAT_VERSION).putInt(hits.size());
+        for (HouseSearchRepository.SearchHit hit : hits) {
+            buffer.putLong(hit.id()).putDouble(hit.distanceKm());
+        }
+        return buffer.array();
+    }
+
+    private static List<HouseSearchRepository.SearchHit> decode(byte[] value) {
+        if (value == null || value.length < 1 + Integer.BYTES || value[0] != FORMAT_VERSION) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(value, 1, value.length - 1);
+        int count = buffer.getInt();
+        List<HouseSearchRepository.SearchHit> hits = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            hits.add(new HouseSearchRepository.SearchHit(buffer.getLong(), buffer.getDouble()));
+        }
+        return hits;
+    }
+
+    private static String filtersHash(GeospatialSearchRequest request) {
+        String filters = request.getHouseType() + "|" + request.getHouseStatus() + "|"
+                + request.getMinPrice() + "|" + request.getMaxPrice() + "|"
+                + request.getMinArea() + "|" + request.getMaxArea() + "|"
+                + request.getMinBedrooms() + "|" + request.getMinBathrooms() + "|"
+                + request.getKeywords();
+        return DigestUtils.md5DigestAsHex(filters.getBytes(StandardCharsets.UTF_8)).substring(0, 16);
+    }
+
+    private static GeospatialSearchRequest copyFilters(GeospatialSearchRequest request) {
+        GeospatialSearchRequest copy = new GeospatialSearchRequest();
+        copy.setHouseType(request.getHouseType());
+        copy.setHouseStatus(request.getHouseStatus());
+        copy.setMinPrice(request.getMinPrice());
+        copy.setMaxPrice(request.getMaxPrice());
+        copy.setMinArea(request.getMinArea());
+        copy.setMaxArea(request.getMaxArea());
+        copy.setMinBedrooms(request.getMinBedrooms());
+        copy.setMinBathrooms(request.getMinBathrooms());
+        copy.setKeywords(request.getKeywords());
+        return copy;
+    }
+
+    private static long cellIndex(double degrees) {
+        return (long) Math.floor(degrees / CELL_SIZE_DEGREES);
+    }
+
+    private static String cellKey(long x, long y) {
+        return CELL_KEY_PREFIX + x + ":" + y;
+    }
+}
@@ -0,0 +1,378 @@
+package com.house.houseservice.service;
+
+import com.house.common.dto.GeospatialSearchRequest;
+import com.house.common.entity.House;
+import com.house.common.entity.HouseSale;
+import com.house.houseservice.repository.HouseDocument;
+import com.house.houseservice.repository.HouseRepository;
+import com.house.houseservice.repository.HouseSearchRepository;
+import com.house.houseservice.util.GeoUtils;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.geo.GeoPoint;
+import org.springframework.data.elasticsearch.core.index.AliasAction;
+import org.springframework.data.elasticsearch.core.index.AliasActionParameters;
+import org.springframework.data.elasticsearch.core.index.AliasActions;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.Criteria;
+import org.springframework.data.elasticsearch.core.query.CriteriaQuery;
+import org.springframework.data.elasticsearch.core.query.FetchSourceFilter;
+import org.springframework.data.elasticsearch.core.query.GeoDistanceOrder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Elasticsearch index of houses used to answer location searches ({@code geo_distance}
+ * plus term and range filters, relevance-ranked when keywords are given). Only ids and
+ * distances come from Elasticsearch; houses are then loaded from MySQL by id.
+ *
+ * Writes through house-service are indexed after commit. Everything else, such as
+ * admin-service ingest, is picked up by a periodic sync of recently updated rows.
+ * While the index is missing, searches fall back to MySQL.
+ *
+ * {@code houses} is an alias. A rebuild fills a new {@code houses-<timestamp>} index
+ * and then switches the alias to it in one atomic alias update, so searches keep using
+ * the previous index until the new one is complete.
+ */
+@Service
+public class HouseSearchIndex {
+
+    private static final int BATCH_SIZE = 1000;
+
+    // Alias searched and written through; see HouseDocument
+    static final String ALIAS = "houses";
+
+    // Rows committed while a sync runs are picked up again by the next one
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    @Autowired
+    private ElasticsearchOperations elasticsearchOperations;
+
+    @Autowired
+    private HouseRepository houseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${house.search.elasticsearch.enabled:false}")
+    private boolean enabled;
+
+    @Value("${house.search.elasticsearch.max-results:10000}")
+    private int maxResults;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    private volatile boolean ready;
+
+    private volatile LocalDateTime lastSync;
+
+    // Houses saved or deleted while a rebuild fills a new index, re-read from MySQL
+    // once the alias points at it; null when no rebuild is running
+    private volatile Set<Long> pendingChanges;
+
+    @PostConstruct
+    public void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Ids and distances of the houses matching the request: nearest first, or most
+     * relevant first when the request has keywords.
+     */
+    public List<HouseSearchRepository.SearchHit> search(GeospatialSearchRequest request) {
+        double latitude = request.getLatitude().doubleValue();
+        double longitude = request.getLongitude().doubleValue();
+        GeoPoint center = new GeoPoint(latitude, longitude);
+
+        Criteria criteria = new Criteria("location").within(center, request.getRadiusKm() + "km");
+        if (request.getHouseType() != null) {
+            criteria = criteria.and(new Criteria("houseType").is(request.getHouseType()));
+        }
+        if (request.getHouseStatus() != null) {
+            criteria = criteria.and(new Criteria("houseStatus").is(request.getHouseStatus()));
+        }
+        if (request.getMinArea() != null) {
+            criteria = criteria.and(new Criteria("areaSqft").greaterThanEqual(request.getMinArea()));
+        }
+        if (request.getMaxArea() != null) {
+            criteria = criteria.and(new Criteria("areaSqft").lessThanEqual(request.getMaxArea()));
+        }
+        if (request.getMinBedrooms() != null) {
+            criteria = criteria.and(new Criteria("bedrooms").greaterThanEqual(request.getMinBedrooms()));
+        }
+        if (request.getMinBathrooms() != null) {
+            criteria = criteria.and(new Criteria("bathrooms").greaterThanEqual(request.getMinBathrooms()));
+        }
+        if (request.getMinPrice() != null) {
+            criteria = criteria.and(new Criteria("lastSalePrice").greaterThanEqual(request.getMinPrice()));
+        }
+        if (request.getMaxPrice() != null) {
+            criteria = criteria.and(new Criteria("lastSalePrice").lessThanEqual(request.getMaxPrice()));
+        }
+
+        boolean hasKeywords = request.getKeywords() != null && !request.getKeywords().isBlank();
+        if (hasKeywords) {
+            String keywords = request.getKeywords();
+            criteria = criteria.subCriteria(new Criteria("address").matches(keywords)
+                    .or("city").matches(keywords)
+                    .or("zipCode").matches(keywords)
+                    .or("description").matches(keywords));
+        }
+
+        // Without keywords every hit scores the same, so order by distance instead
+        CriteriaQuery query = new CriteriaQuery(criteria);
+        query.setPageable(hasKeywords
+                ? PageRequest.of(0, maxResults)
+                : PageRequest.of(0, maxResults, Sort.by(new GeoDistanceOrder("location", center))));
+        query.addSourceFilter(new FetchSourceFilter(new String[]{"location"}, null));
+
+        SearchHits<HouseDocument> hits = elasticsearchOperations.search(query, HouseDocument.class);
+        return hits.getSearchHits().stream()
+                .map(hit -> {
+                    GeoPoint location = hit.getContent().getLocation();
+                    return new HouseSearchRepository.SearchHit(Long.valueOf(hit.getId()),
+                            GeoUtils.distanceKm(latitude, longitude, location.getLat(), location.getLon()));
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Builds the document for a house; must run while the house's sales can still be loaded.
+     */
+    public HouseDocument toDocument(House house) {
+        HouseDocument document = new HouseDocument();
+        document.setId(house.getId());
+        document.setAddress(house.getAddress());
+        document.setCity(house.getCity());
+        document.setState(house.getState());
+        document.setZipCode(house.getZipCode());
+        document.setDescription(house.getDescription());
+        document.setHouseType(house.getHouseType() != null ? house.getHouseType().getName() : null);
+        document.setHouseStatus(house.getHouseStatus() != null ? house.getHouseStatus().getName() : null);
+        document.setAreaSqft(house.getAreaSqft());
+        document.setLotAreaSqft(house.getLotAreaSqft());
+        document.setBuildYear(house.getBuildYear());
+        document.setBedrooms(house.getBedrooms());
+        document.setBathrooms(house.getBathrooms());
+        document.setUpdatedAt(house.getUpdatedAt());
+        if (house.getLatitude() != null && house.getLongitude() != null) {
+            document.setLocation(new GeoPoint(house.getLatitude().doubleValue(), house.getLongitude().doubleValue()));
+        }
+        if (house.getSales() != null) {
+            house.getSales().stream()
+                    .filter(sale -> sale.getSaleDate() != null && sale.getSalePrice() != null)
+                    .max(Comparator.comparing(HouseSale::getSaleDate))
+                    .ifPresent(sale -> document.setLastSalePrice(sale.getSalePrice().doubleValue()));
+        }
+        return document;
+    }
+
+    public void save(HouseDocument document) {
+        if (!enabled) {
+            return;
+        }
+        recordPendingChange(document.getId());
+        try {
+            elasticsearchOperations.save(document);
+        } catch (RuntimeException e) {
+            // The periodic sync retries; MySQL stays authoritative
+            System.err.println("Failed to index house " + document.getId() + ": " + e.getMessage());
+        }
+    }
+
+    public void delete(Long id) {
+        if (!enabled) {
+            return;
+        }
+        recordPendingChange(id);
+        try {
+            elasticsearchOperations.delete(String.valueOf(id), HouseDocument.class);
+        } catch (RuntimeException e) {
+            // Stale ids are harmless: search results are loaded from MySQL by id
+            System.err.println("Failed to remove house " + id + " from the search index: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Indexes houses updated since the previous sync. Creates and fills the index when it
+     * does not exist yet.
+     */
+    @Scheduled(initialDelayString = "${house.search.elasticsearch.sync-interval-ms:60000}",
+               fixedDelayString = "${house.search.elasticsearch.sync-interval-ms:60000}")
+    public synchronized void syncChanges() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (!elasticsearchOperations.indexOps(HouseDocument.class).exists()) {
+                rebuild();
+                return;
+            }
+            ready = true;
+
+            // Read from MySQL: updated_at is compared against it, so this JVM's clock must not matter
+            LocalDateTime syncStart = houseRepository.currentTimestamp();
+            LocalDateTime since = lastSync == null ? null : lastSync.minus(SYNC_OVERLAP);
+            long count = indexHouses(since);
+            lastSync = syncStart;
+            if (count > 0) {
+                System.out.println("Search index synced " + count + " changed houses");
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Search index sync failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Indexes every house into a new index and switches the {@code houses} alias to it.
+     * Searches keep using the current index meanwhile; the previous indexes are deleted
+     * after the switch.
+     *
+     * @return the number of houses indexed
+     */
+    public synchronized long rebuild() {
+        if (!enabled) {
+            throw new RuntimeException("Elasticsearch search is disabled");
+        }
+        long start = System.currentTimeMillis();
+        IndexCoordinates target = IndexCoordinates.of(ALIAS + "-" + start);
+        IndexOperations targetOps = elasticsearchOperations.indexOps(target);
+        IndexOperations aliasOps = elasticsearchOperations.indexOps(HouseDocument.class);
+        targetOps.create(aliasOps.createSettings(), aliasOps.createMapping());
+
+        LocalDateTime rebuildStart = houseRepository.currentTimestamp();
+        long count;
+        Set<String> previous;
+        pendingChanges = ConcurrentHashMap.newKeySet();
+        try {
+            count = indexHouses(null, target);
+            targetOps.refresh();
+            previous = switchAlias(target);
+        } catch (RuntimeException e) {
+            pendingChanges = null;
+            targetOps.delete();
+            throw e;
+        }
+
+        // Writes made during the scan may have gone only to the previous index
+        Set<Long> changed = pendingChanges;
+        pendingChanges = null;
+        reindex(changed);
+        lastSync = rebuildStart;
+        ready = true;
+
+        for (String index : previous) {
+            if (!index.equals(target.getIndexName())) {
+                elasticsearchOperations.indexOps(IndexCoordinates.of(index)).delete();
+            }
+        }
+        System.out.println("Search index rebuilt into " + target.getIndexName() + " with " + count
+                + " houses in " + (System.currentTimeMillis() - start) + " ms");
+        return count;
+    }
+
+    /**
+     * Points the alias at the target index only, in one atomic update.
+     *
+     * @return the indexes the alias pointed at before
+     */
+    private Set<String> switchAlias(IndexCoordinates target) {
+        IndexOperations aliasOps = elasticsearchOperations.indexOps(HouseDocument.class);
+        Set<String> previous = aliasOps.exists()
+                ? new HashSet<>(aliasOps.getAliasesForIndex(ALIAS).keySet())
+                : new HashSet<>();
+
+        AliasActions actions = new AliasActions(new AliasAction.Add(AliasActionParameters.builder()
+                .withIndices(target.getIndexName())
+                .withAliases(ALIAS)
+                .build()));
+        if (previous.remove(ALIAS)) {
+            // A concrete index created before the alias existed; dropped in the same update
+            actions.add(new AliasAction.RemoveIndex(AliasActionParameters.builder().withIndices(ALIAS).build()));
+        }
+        if (!previous.isEmpty()) {
+            actions.add(new AliasAction.Remove(AliasActionParameters.builder()
+                    .withIndices(previous.toArray(new String[0]))
+                    .withAliases(ALIAS)
+                    .build()));
+        }
+        elasticsearchOperations.indexOps(target).alias(actions);
+        return previous;
+    }
+
+    private void recordPendingChange(Long id) {
+        Set<Long> changes = pendingChanges;
+        if (changes != null && id != null) {
+            changes.add(id);
+        }
+    }
+
+    // Copies the committed state of the given houses into the index, removing deleted ones
+    private void reindex(Set<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<HouseDocument> documents = readOnlyTransaction.execute(status -> houseRepository
+                .findAllById(ids)
+                .stream()
+                .map(this::toDocument)
+                .collect(Collectors.toList()));
+        if (!documents.isEmpty()) {
+            elasticsearchOperations.save(documents);
+        }
+        Set<Long> deleted = new HashSet<>(ids);
+        documents.forEach(document -> deleted.remove(document.getId()));
+        deleted.forEach(id -> elasticsearchOperations.delete(String.valueOf(id), HouseDocument.class));
+    }
+
+    private long indexHouses(LocalDateTime since) {
+        return indexHouses(since, elasticsearchOperations.getIndexCoordinatesFor(HouseDocument.class));
+    }
+
+    // A null since indexes every house
+    private long indexHouses(LocalDateTime since, IndexCoordinates index) {
+        long count = 0;
+        long lastId = 0L;
+        List<HouseDocument> batch;
+        do {
+            long afterId = lastId;
+            batch = readOnlyTransaction.execute(status -> houseRepository
+                    .findUpdatedSince(since, afterId, PageRequest.of(0, BATCH_SIZE))
+                    .stream()
+                    .map(this::toDocument)
+                    .collect(Collectors.toList()));
+            if (!batch.isEmpty()) {
+                elasticsearchOperations.save(batch, index);
+                lastId = batch.get(batch.size() - 1).getId();
+                count += batch.size();
+            }
+        } while (batch.size() == BATCH_SIZE);
+        return count;
+    }
+}
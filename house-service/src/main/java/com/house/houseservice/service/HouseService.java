@@ -1,21 +1,52 @@
 package com.house.houseservice.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.house.common.dto.CursorPageDTO;
 import com.house.common.dto.GeospatialSearchRequest;
 import com.house.common.dto.GeospatialSearchResult;
+import com.house.common.dto.GeospatialSummaryResult;
 import com.house.common.dto.HouseDTO;
+import com.house.common.dto.HouseSummaryDTO;
 import com.house.common.entity.*;
+import com.house.common.reference.ReferenceDataRegistry;
 import com.house.houseservice.repository.*;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -25,22 +56,72 @@ public class HouseService {
     private HouseRepository houseRepository;
     
     @Autowired
-    private HouseTypeRepository houseTypeRepository;
+    private ReferenceDataRegistry referenceData;
     
     @Autowired
-    private HouseStatusRepository houseStatusRepository;
+    private HouseCache houseCache;
     
     @Autowired
-    private RedisTemplate<String, Object> redisTemplate;
+    private HouseSpatialIndex spatialIndex;
     
-    private static final String HOUSE_CACHE_PREFIX = "house:";
-    private static final long CACHE_TTL_MINUTES = 30;
+    @Autowired
+    private HouseClusterGrid clusterGrid;
+    
+    @Autowired
+    private HouseSuggestionIndex suggestionIndex;
+    
+    @Autowired
+    private HouseTileService houseTileService;
+    
+    @Autowired
+    private HouseSearchCache houseSearchCache;
+    
+    @Autowired
+    private HouseSearchIndex houseSearchIndex;
+    
+    @Autowired
+    private HouseViewCounter viewCounter;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    private TransactionTemplate readOnlyTransaction;
+    
+    // Database loads currently running for getHouseById, so concurrent misses share one
+    private final Map<Long, CompletableFuture<Optional<HouseDTO>>> inFlightLoads = new ConcurrentHashMap<>();
+    
+    @Value("${house.pagination.default-size:20}")
+    private int defaultPageSize;
+    
+    @Value("${house.pagination.max-size:200}")
+    private int maxPageSize;
+    
+    @Value("${house.pagination.max-distance-km:100}")
+    private double maxDistanceKm;
+    
+    @Value("${house.batch.max-size:200}")
+    private int maxBatchSize;
+    
+    // How long a cache miss waits for another caller's load before loading itself
+    @Value("${house.cache.load-wait-ms:2000}")
+    private long loadWaitMillis;
+    
+    private static final int EXPORT_FLUSH_INTERVAL = 1000;
+    
+    // Above this many radius matches an IN list costs more than the spatial SQL query
+    private static final int MAX_INDEX_CANDIDATES = 5000;
     
     public HouseDTO createHouse(HouseDTO houseDTO) {
-        HouseType houseType = houseTypeRepository.findByName(houseDTO.getHouseType())
+        HouseType houseType = referenceData.findHouseType(houseDTO.getHouseType())
                 .orElseThrow(() -> new RuntimeException("House type not found: " + houseDTO.getHouseType()));
         
-        HouseStatus houseStatus = houseStatusRepository.findByName(houseDTO.getHouseStatus())
+        HouseStatus houseStatus = referenceData.findHouseStatus(houseDTO.getHouseStatus())
                 .orElseThrow(() -> new RuntimeException("House status not found: " + houseDTO.getHouseStatus()));
         
         House house = new House();
@@ -63,29 +144,128 @@ public class HouseService {
         House savedHouse = houseRepository.save(house);
         
         // Cache the house
-        cacheHouse(savedHouse);
+        HouseDTO savedDTO = convertToDTO(savedHouse);
+        HouseDocument document = houseSearchIndex.isEnabled() ? houseSearchIndex.toDocument(savedHouse) : null;
+        afterCommit(() -> {
+            suggestionIndex.put(savedHouse);
+            spatialIndex.put(savedHouse.getId(), savedHouse.getLatitude(), savedHouse.getLongitude());
+            clusterGrid.put(savedHouse.getId(), savedHouse.getLatitude(), savedHouse.getLongitude(), savedHouse.getAreaSqft());
+            houseCache.put(savedDTO);
+            houseTileService.evictTilesContaining(savedHouse.getLatitude(), savedHouse.getLongitude());
+            houseSearchCache.evictContaining(savedHouse.getLatitude(), savedHouse.getLongitude());
+            if (document != null) {
+                houseSearchIndex.save(document);
+            }
+        });
         
-        return convertToDTO(savedHouse);
+        return savedDTO;
+    }
+    
+    @PostConstruct
+    public void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
     }
     
+    /**
+     * Runs outside a transaction so callers waiting on another caller's load do not
+     * hold a database connection; the load itself opens a read-only transaction.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Optional<HouseDTO> getHouseById(Long id) {
         // Try to get from cache first
-        String cacheKey = HOUSE_CACHE_PREFIX + id;
-        House cachedHouse = (House) redisTemplate.opsForValue().get(cacheKey);
+        Optional<HouseDTO> cachedHouse = houseCache.get(id);
+        if (cachedHouse.isPresent()) {
+            return cachedHouse;
+        }
+        
+        // Only the first caller per id loads from the database; the rest wait for its result
+        CompletableFuture<Optional<HouseDTO>> load = new CompletableFuture<>();
+        CompletableFuture<Optional<HouseDTO>> running = inFlightLoads.putIfAbsent(id, load);
+        if (running != null) {
+            try {
+                return running.get(loadWaitMillis, TimeUnit.MILLISECONDS);
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : new CompletionException(e.getCause());
+            } catch (TimeoutException e) {
+                // A stuck load must not hold every other caller; load independently instead
+                return loadHouse(id);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while loading house " + id, e);
+            }
+        }
         
-        if (cachedHouse != null) {
-            return Optional.of(convertToDTO(cachedHouse));
+        try {
+            Optional<HouseDTO> house = loadHouse(id);
+            load.complete(house);
+            return house;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightLoads.remove(id, load);
+        }
+    }
+    
+    private Optional<HouseDTO> loadHouse(Long id) {
+        long start = System.currentTimeMillis();
+        Optional<HouseDTO> house = readOnlyTransaction.execute(status ->
+                houseRepository.findById(id).map(this::convertToDTO));
+        house.ifPresent(dto -> houseCache.put(dto, System.currentTimeMillis() - start));
+        return house;
+    }
+    
+    /**
+     * Version and last modification time of a house, read from the house cache when
+     * possible so conditional requests are answered without loading the house.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<HouseVersion> getHouseVersion(Long id) {
+        Optional<HouseDTO> cachedHouse = houseCache.get(id);
+        if (cachedHouse.isPresent() && cachedHouse.get().getVersion() != null) {
+            return Optional.of(new HouseVersion(cachedHouse.get().getVersion(), cachedHouse.get().getUpdatedAt()));
+        }
+        return houseRepository.findVersionById(id);
+    }
+    
+    @Transactional(readOnly = true)
+    public HouseCollectionVersion getCollectionVersion(String city, String state, String status, String type) {
+        return houseRepository.findCollectionVersion(city, state, status, type);
+    }
+    
+    /**
+     * Looks up many houses at once: one cache round trip for all ids, one query for the
+     * misses and one pipelined cache write to backfill them. Results follow the order of
+     * {@code ids}; unknown ids are skipped.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<HouseDTO> getHousesByIds(List<Long> ids) {
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        uniqueIds.remove(null);
+        if (uniqueIds.size() > maxBatchSize) {
+            throw new RuntimeException("At most " + maxBatchSize + " ids can be requested at once");
         }
         
-        // Get from database
-        Optional<House> houseOpt = houseRepository.findById(id);
-        if (houseOpt.isPresent()) {
-            House house = houseOpt.get();
-            cacheHouse(house);
-            return Optional.of(convertToDTO(house));
+        Map<Long, HouseDTO> housesById = new HashMap<>(houseCache.getAll(uniqueIds));
+        List<Long> missingIds = uniqueIds.stream()
+                .filter(id -> !housesById.containsKey(id))
+                .collect(Collectors.toList());
+        
+        if (!missingIds.isEmpty()) {
+            long start = System.currentTimeMillis();
+            List<HouseDTO> loaded = readOnlyTransaction.execute(status ->
+                    houseRepository.findAllById(missingIds).stream()
+                            .map(this::convertToDTO)
+                            .collect(Collectors.toList()));
+            houseCache.putAll(loaded, System.currentTimeMillis() - start);
+            loaded.forEach(house -> housesById.put(house.getId(), house));
         }
         
-        return Optional.empty();
+        return uniqueIds.stream()
+                .map(housesById::get)
+                .filter(house -> house != null)
+                .collect(Collectors.toList());
     }
     
     public List<HouseDTO> getAllHouses() {
@@ -112,29 +292,195 @@ public class HouseService {
                 .collect(Collectors.toList());
     }
     
+    public List<HouseSummaryDTO> getAllHouseSummaries() {
+        return houseRepository.findAllSummaries();
+    }
+    
+    public List<HouseSummaryDTO> getHouseSummariesByCityAndState(String city, String state) {
+        return houseRepository.findSummariesByCityAndState(city, state);
+    }
+    
+    public List<HouseSummaryDTO> getHouseSummariesByStatus(String status) {
+        return houseRepository.findSummariesByHouseStatusName(status);
+    }
+    
+    public List<HouseSummaryDTO> getHouseSummariesByType(String type) {
+        return houseRepository.findSummariesByHouseTypeName(type);
+    }
+    
+    /**
+     * Returns one keyset-paginated page of houses. {@code cursor} is the token returned
+     * with the previous page, or null for the first page.
+     */
+    public CursorPageDTO<HouseDTO> getHousePage(HousePageQuery query, Integer size, String cursor) {
+        return getPage(query, size, cursor, ids -> houseRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(House::getId, this::convertToDTO)));
+    }
+    
+    /**
+     * Same as {@link #getHousePage} but loads only the summary columns of each house.
+     */
+    public CursorPageDTO<HouseSummaryDTO> getHouseSummaryPage(HousePageQuery query, Integer size, String cursor) {
+        return getPage(query, size, cursor, ids -> houseRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(HouseSummaryDTO::getId, Function.identity())));
+    }
+    
+    private <T> CursorPageDTO<T> getPage(HousePageQuery query, Integer size, String cursor,
+                                         Function<List<Long>, Map<Long, T>> loader) {
+        int pageSize = size == null ? defaultPageSize : size;
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            throw new RuntimeException("Page size must be between 1 and " + maxPageSize);
+        }
+        if (query.getSortKey() == HouseSortKey.DISTANCE && (query.getLatitude() == null || query.getLongitude() == null)) {
+            throw new RuntimeException("Sorting by distance requires latitude and longitude");
+        }
+        if (query.getSortKey() == HouseSortKey.DISTANCE) {
+            query.setMaxDistanceKm(maxDistanceKm);
+        }
+        if (cursor != null) {
+            HouseCursor position = HouseCursor.decode(cursor);
+            if (position.getSortKey() != query.getSortKey() || position.isDescending() != query.isDescending()) {
+                throw new RuntimeException("Cursor does not match the requested sort");
+            }
+            query.setAfterValue(position.getSortValue());
+            query.setAfterId(position.getId());
+        }
+        
+        // Fetch one extra key to learn whether another page follows
+        query.setLimit(pageSize + 1);
+        List<HouseSearchRepository.PageKey> keys = houseRepository.findPageKeys(query);
+        boolean hasMore = keys.size() > pageSize;
+        if (hasMore) {
+            keys = keys.subList(0, pageSize);
+        }
+        
+        List<Long> ids = keys.stream().map(HouseSearchRepository.PageKey::id).collect(Collectors.toList());
+        Map<Long, T> itemsById = loader.apply(ids);
+        List<T> items = ids.stream()
+                .map(itemsById::get)
+                .filter(item -> item != null)
+                .collect(Collectors.toList());
+        
+        String nextCursor = null;
+        if (hasMore) {
+            HouseSearchRepository.PageKey last = keys.get(keys.size() - 1);
+            nextCursor = new HouseCursor(query.getSortKey(), query.isDescending(), last.sortValue(), last.id()).encode();
+        }
+        return new CursorPageDTO<>(items, items.size(), nextCursor);
+    }
+    
+    /**
+     * Writes every matching house to {@code out} as newline-delimited JSON while the rows are
+     * being read, detaching each entity once written so heap use stays flat regardless of
+     * table size. Sales, maintenance and disaster history are not included.
+     *
+     * @return the number of houses written
+     */
+    @Transactional(readOnly = true)
+    public long exportHouses(String city, String state, String status, String type, OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+        long count = 0;
+        
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+             Stream<House> houses = houseRepository.streamForExport(city, state, status, type)) {
+            generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            generator.setRootValueSeparator(new SerializedString(""));
+            
+            for (House house : (Iterable<House>) houses::iterator) {
+                writer.writeValue(generator, convertToDTO(house, false));
+                generator.writeRaw('\n');
+                entityManager.detach(house);
+                
+                if (++count % EXPORT_FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+            generator.flush();
+        }
+        
+        long elapsed = Math.max(1, System.currentTimeMillis() - start);
+        System.out.println("Exported " + count + " houses in " + elapsed + " ms ("
+                + (count * 1000 / elapsed) + " rows/s)");
+        return count;
+    }
+    
     public List<GeospatialSearchResult> searchHousesByLocation(GeospatialSearchRequest request) {
-        List<House> houses = houseRepository.findByLocationWithinRadius(
-                request.getLatitude(),
-                request.getLongitude(),
-                request.getRadiusKm()
-        );
-        
-        return houses.stream()
-                .map(house -> {
-                    double distance = calculateDistance(
-                            request.getLatitude().doubleValue(),
-                            request.getLongitude().doubleValue(),
-                            house.getLatitude().doubleValue(),
-                            house.getLongitude().doubleValue()
-                    );
-                    return new GeospatialSearchResult(convertToDTO(house), distance);
-                })
+        List<HouseSearchRepository.SearchHit> hits = findSearchHits(request);
+        Map<Long, House> housesById = houseRepository.findAllById(
+                        hits.stream().map(HouseSearchRepository.SearchHit::id).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(House::getId, Function.identity()));
+        
+        return hits.stream()
+                .filter(hit -> housesById.containsKey(hit.id()))
+                .map(hit -> new GeospatialSearchResult(convertToDTO(housesById.get(hit.id())), hit.distanceKm()))
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Same as {@link #searchHousesByLocation} but loads only the summary columns of each house,
+     * skipping the sales, maintenance and disaster history.
+     */
+    public List<GeospatialSummaryResult> searchHouseSummariesByLocation(GeospatialSearchRequest request) {
+        List<HouseSearchRepository.SearchHit> hits = findSearchHits(request);
+        Map<Long, HouseSummaryDTO> summariesById = houseRepository.findSummariesByIdIn(
+                        hits.stream().map(HouseSearchRepository.SearchHit::id).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(HouseSummaryDTO::getId, Function.identity()));
+        
+        return hits.stream()
+                .filter(hit -> summariesById.containsKey(hit.id()))
+                .map(hit -> new GeospatialSummaryResult(summariesById.get(hit.id()), hit.distanceKm()))
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Ids and distances of the houses matching the request, nearest first.
+     */
+    private List<HouseSearchRepository.SearchHit> findSearchHits(GeospatialSearchRequest request) {
+        return houseSearchCache.getOrLoad(request, this::loadSearchHits);
+    }
+    
+    private List<HouseSearchRepository.SearchHit> loadSearchHits(GeospatialSearchRequest request) {
+        if (houseSearchIndex.isReady()) {
+            try {
+                return houseSearchIndex.search(request);
+            } catch (RuntimeException e) {
+                System.err.println("Elasticsearch search failed, falling back to MySQL: " + e.getMessage());
+            }
+        }
+        
+        double latitude = request.getLatitude().doubleValue();
+        double longitude = request.getLongitude().doubleValue();
+        
+        // Resolve the radius from the in-memory index when it is loaded and selective enough;
+        // otherwise the search query applies it through the SPATIAL INDEX.
+        Map<Long, Double> indexedDistances = null;
+        if (spatialIndex.isReady()) {
+            List<HouseSpatialIndex.Match> matches = spatialIndex.searchWithinRadius(latitude, longitude, request.getRadiusKm());
+            if (matches.isEmpty()) {
+                return List.of();
+            }
+            if (matches.size() <= MAX_INDEX_CANDIDATES) {
+                indexedDistances = matches.stream()
+                        .collect(Collectors.toMap(HouseSpatialIndex.Match::houseId, HouseSpatialIndex.Match::distanceKm));
+            }
+        }
+        
+        Map<Long, Double> distances = indexedDistances;
+        return houseRepository.searchHouseIds(request, distances == null ? null : distances.keySet()).stream()
+                .map(hit -> hit.distanceKm() != null ? hit
+                        : new HouseSearchRepository.SearchHit(hit.id(), distances.get(hit.id())))
+                .sorted(Comparator.comparingDouble(HouseSearchRepository.SearchHit::distanceKm))
                 .collect(Collectors.toList());
     }
     
     public HouseDTO updateHouse(Long id, HouseDTO houseDTO) {
         House house = houseRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("House not found"));
+        BigDecimal previousLatitude = house.getLatitude();
+        BigDecimal previousLongitude = house.getLongitude();
         
         // Update fields
         house.setAddress(houseDTO.getAddress());
@@ -153,58 +499,87 @@ public class HouseService {
         
         // Update type and status if provided
         if (houseDTO.getHouseType() != null) {
-            HouseType houseType = houseTypeRepository.findByName(houseDTO.getHouseType())
+            HouseType houseType = referenceData.findHouseType(houseDTO.getHouseType())
                     .orElseThrow(() -> new RuntimeException("House type not found: " + houseDTO.getHouseType()));
             house.setHouseType(houseType);
         }
         
         if (houseDTO.getHouseStatus() != null) {
-            HouseStatus houseStatus = houseStatusRepository.findByName(houseDTO.getHouseStatus())
+            HouseStatus houseStatus = referenceData.findHouseStatus(houseDTO.getHouseStatus())
                     .orElseThrow(() -> new RuntimeException("House status not found: " + houseDTO.getHouseStatus()));
             house.setHouseStatus(houseStatus);
         }
         
-        House savedHouse = houseRepository.save(house);
+        // Flush now so @LastModifiedDate and @Version are applied before the DTO is built
+        House savedHouse = houseRepository.saveAndFlush(house);
         
         // Update cache
-        cacheHouse(savedHouse);
+        HouseDTO savedDTO = convertToDTO(savedHouse);
+        HouseDocument document = houseSearchIndex.isEnabled() ? houseSearchIndex.toDocument(savedHouse) : null;
+        afterCommit(() -> {
+            suggestionIndex.put(savedHouse);
+            spatialIndex.put(savedHouse.getId(), savedHouse.getLatitude(), savedHouse.getLongitude());
+            clusterGrid.put(savedHouse.getId(), savedHouse.getLatitude(), savedHouse.getLongitude(), savedHouse.getAreaSqft());
+            houseCache.update(savedDTO);
+            houseTileService.evictTilesContaining(previousLatitude, previousLongitude);
+            houseTileService.evictTilesContaining(savedHouse.getLatitude(), savedHouse.getLongitude());
+            houseSearchCache.evictContaining(previousLatitude, previousLongitude);
+            houseSearchCache.evictContaining(savedHouse.getLatitude(), savedHouse.getLongitude());
+            if (document != null) {
+                houseSearchIndex.save(document);
+            }
+        });
         
-        return convertToDTO(savedHouse);
+        return savedDTO;
     }
     
     public void deleteHouse(Long id) {
-        if (!houseRepository.existsById(id)) {
-            throw new RuntimeException("House not found");
-        }
+        House house = houseRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("House not found"));
+        BigDecimal latitude = house.getLatitude();
+        BigDecimal longitude = house.getLongitude();
         
-        houseRepository.deleteById(id);
+        houseRepository.delete(house);
         
         // Remove from cache
-        String cacheKey = HOUSE_CACHE_PREFIX + id;
-        redisTemplate.delete(cacheKey);
+        afterCommit(() -> {
+            suggestionIndex.remove(id);
+            spatialIndex.remove(id);
+            clusterGrid.remove(id);
+            houseCache.evict(id);
+            viewCounter.remove(id);
+            houseTileService.evictTilesContaining(latitude, longitude);
+            houseSearchCache.evictContaining(latitude, longitude);
+            houseSearchIndex.delete(id);
+        });
     }
     
     public Optional<HouseDTO> getHouseByZillowId(String zillowId) {
         return houseRepository.findByZillowId(zillowId).map(this::convertToDTO);
     }
     
-    private void cacheHouse(House house) {
-        String cacheKey = HOUSE_CACHE_PREFIX + house.getId();
-        redisTemplate.opsForValue().set(cacheKey, house, CACHE_TTL_MINUTES, TimeUnit.MINUTES);
+    /**
+     * Runs the action once the current transaction commits, so caches rebuilt
+     * by concurrent readers cannot pick up the pre-commit state.
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
     
-    private double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
-        final int R = 6371; // Radius of the earth in km
-        double latDistance = Math.toRadians(lat2 - lat1);
-        double lonDistance = Math.toRadians(lon2 - lon1);
-        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
-                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-                * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        return R * c; // Distance in km
+    private HouseDTO convertToDTO(House house) {
+        return convertToDTO(house, true);
     }
     
-    private HouseDTO convertToDTO(House house) {
+    private HouseDTO convertToDTO(House house, boolean includeHistory) {
         HouseDTO dto = new HouseDTO();
         dto.setId(house.getId());
         dto.setAddress(house.getAddress());
@@ -224,6 +599,11 @@ public class HouseService {
         dto.setZillowId(house.getZillowId());
         dto.setCreatedAt(house.getCreatedAt());
         dto.setUpdatedAt(house.getUpdatedAt());
+        dto.setVersion(house.getVersion());
+        
+        if (!includeHistory) {
+            return dto;
+        }
         
         // Convert related entities
         if (house.getSales() != null) {
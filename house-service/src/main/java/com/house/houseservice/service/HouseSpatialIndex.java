@@ -0,0 +1,238 @@
+package com.house.houseservice.service;
+
+import com.house.houseservice.repository.HouseLocation;
+import com.house.houseservice.repository.HouseRepository;
+import com.house.houseservice.util.GeoUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory grid index over house coordinates.
+ *
+ * Houses are bucketed into fixed-size lat/lng cells so a radius query only
+ * visits the cells overlapped by the circle's bounding box. The index holds
+ * ids and coordinates only; callers load the matching houses by id.
+ */
+@Component
+public class HouseSpatialIndex {
+
+    // ~1.1 km per cell at the equator, a good fit for typical map search radii
+    private static final double CELL_SIZE_DEGREES = 0.01;
+
+    private static final int LOAD_BATCH_SIZE = 10000;
+
+    @Autowired
+    private HouseRepository houseRepository;
+
+    @Value("${house.spatial-index.enabled:true}")
+    private boolean enabled;
+
+    private volatile Grid grid = new Grid();
+
+    // Changes made while a rebuild scans the table, replayed onto the new grid; guarded by this
+    private List<Runnable> pendingChanges;
+
+    private volatile boolean loaded;
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    public record Match(Long houseId, double distanceKm) {
+    }
+
+    public boolean isReady() {
+        return enabled && loaded;
+    }
+
+    // Normally already loaded by HouseWarmUp; covers startups with warm-up disabled
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!loaded) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Periodically reloads the index so houses written outside this instance
+     * (other replicas, admin-service ingest) become searchable.
+     */
+    @Scheduled(initialDelayString = "${house.spatial-index.refresh-interval-ms:300000}",
+               fixedDelayString = "${house.spatial-index.refresh-interval-ms:300000}")
+    public void scheduledRefresh() {
+        rebuild();
+    }
+
+    /**
+     * Reloads the index from the database. A call made while another rebuild is running
+     * returns immediately, e.g. the ApplicationReadyEvent load after a warm-up timeout.
+     */
+    public void rebuild() {
+        if (!enabled || !rebuildLock.tryLock()) {
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            synchronized (this) {
+                pendingChanges = new ArrayList<>();
+            }
+
+            Grid fresh = new Grid();
+            long lastId = 0L;
+            List<HouseLocation> batch;
+            try {
+                do {
+                    batch = houseRepository.findLocationsAfter(lastId, PageRequest.of(0, LOAD_BATCH_SIZE));
+                    for (HouseLocation location : batch) {
+                        fresh.put(location.getId(), location.getLatitude().doubleValue(), location.getLongitude().doubleValue());
+                        lastId = location.getId();
+                    }
+                } while (batch.size() == LOAD_BATCH_SIZE);
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    pendingChanges = null;
+                }
+                throw e;
+            }
+
+            synchronized (this) {
+                // The scan may have read a row before or after a concurrent change; replaying
+                // it is idempotent and leaves the fresh grid at the committed state
+                grid = fresh;
+                pendingChanges.forEach(Runnable::run);
+                pendingChanges = null;
+                loaded = true;
+            }
+            System.out.println("Spatial index loaded " + fresh.size() + " houses in "
+                    + (System.currentTimeMillis() - start) + " ms");
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    public void put(Long houseId, BigDecimal latitude, BigDecimal longitude) {
+        if (houseId == null || latitude == null || longitude == null) {
+            return;
+        }
+        double lat = latitude.doubleValue();
+        double lng = longitude.doubleValue();
+        applyChange(() -> grid.put(houseId, lat, lng));
+    }
+
+    public void remove(Long houseId) {
+        applyChange(() -> grid.remove(houseId));
+    }
+
+    /**
+     * Returns the houses within {@code radiusKm} of the given point, nearest first.
+     */
+    public List<Match> searchWithinRadius(double latitude, double longitude, double radiusKm) {
+        Grid current = grid;
+        double latDelta = GeoUtils.latitudeDelta(radiusKm);
+        double lngDelta = GeoUtils.longitudeDelta(latitude, radiusKm);
+
+        int minRow = cellIndex(latitude - latDelta);
+        int maxRow = cellIndex(latitude + latDelta);
+        int minCol = cellIndex(longitude - lngDelta);
+        int maxCol = cellIndex(longitude + lngDelta);
+
+        List<Match> matches = new ArrayList<>();
+        long cellCount = (long) (maxRow - minRow + 1) * (maxCol - minCol + 1);
+        if (cellCount > current.size()) {
+            // Huge radius: scanning every point is cheaper than probing empty cells
+            for (Map.Entry<Long, double[]> entry : current.locations.entrySet()) {
+                addIfWithin(matches, entry.getKey(), entry.getValue(), latitude, longitude, radiusKm);
+            }
+        } else {
+            for (int row = minRow; row <= maxRow; row++) {
+                for (int col = minCol; col <= maxCol; col++) {
+                    Set<Long> ids = current.cells.get(cellKey(row, col));
+                    if (ids == null) {
+                        continue;
+                    }
+                    for (Long id : ids) {
+                        double[] point = current.locations.get(id);
+                        if (point != null) {
+                            addIfWithin(matches, id, point, latitude, longitude, radiusKm);
+                        }
+                    }
+                }
+            }
+        }
+
+        matches.sort(Comparator.comparingDouble(Match::distanceKm));
+        return matches;
+    }
+
+    public int size() {
+        return grid.size();
+    }
+
+    private synchronized void applyChange(Runnable change) {
+        change.run();
+        if (pendingChanges != null) {
+            pendingChanges.add(change);
+        }
+    }
+
+    private static void addIfWithin(List<Match> matches, Long id, double[] point,
+                                    double latitude, double longitude, double radiusKm) {
+        double distance = GeoUtils.distanceKm(latitude, longitude, point[0], point[1]);
+        if (distance <= radiusKm) {
+            matches.add(new Match(id, distance));
+        }
+    }
+
+    private static int cellIndex(double degrees) {
+        return (int) Math.floor(degrees / CELL_SIZE_DEGREES);
+    }
+
+    private static long cellKey(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+
+    private static final class Grid {
+
+        private final Map<Long, double[]> locations = new ConcurrentHashMap<>();
+
+        private final Map<Long, Set<Long>> cells = new ConcurrentHashMap<>();
+
+        void put(Long id, double latitude, double longitude) {
+            remove(id);
+            locations.put(id, new double[]{latitude, longitude});
+            cells.computeIfAbsent(cellKey(cellIndex(latitude), cellIndex(longitude)),
+                    key -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+
+        void remove(Long id) {
+            double[] previous = locations.remove(id);
+            if (previous == null) {
+                return;
+            }
+            long key = cellKey(cellIndex(previous[0]), cellIndex(previous[1]));
+            Set<Long> ids = cells.get(key);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    cells.remove(key);
+                }
+            }
+        }
+
+        int size() {
+            return locations.size();
+        }
+    }
+}
@@ -0,0 +1,475 @@
+package com.house.houseservice.service;
+
+import com.house.common.dto.SuggestionDTO;
+import com.house.common.entity.House;
+import com.house.houseservice.repository.HouseRepository;
+import com.house.houseservice.repository.HouseSuggestionSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory prefix index behind the search box type-ahead.
+ *
+ * Every house contributes a zip code, a city, a street and its own address. Zip codes,
+ * cities and streets are aggregated across houses with a count and a coordinate centroid;
+ * addresses stay one suggestion per house. Each suggestion is reachable from the start of
+ * any of its words ("harv", "ave", "92614") through a sorted map, so a lookup is a range
+ * scan over the keys sharing the typed prefix. Prefixes matching too many suggestions to
+ * rank per keystroke ("a", "main st") keep their best {@code house.suggest.max-results}
+ * suggestions ranked instead, updated as houses change.
+ */
+@Component
+public class HouseSuggestionIndex {
+
+    public enum Type {
+        ZIP, CITY, STREET, ADDRESS
+    }
+
+    private static final int LOAD_BATCH_SIZE = 10000;
+
+    // Prefixes matching more suggestions than this are answered from a kept ranking
+    private static final int RANKING_MIN_CANDIDATES = 1000;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
+    private static final Pattern HOUSE_NUMBER = Pattern.compile("^\\S*\\d\\S*\\s+");
+    private static final Pattern UNIT = Pattern.compile("(?i)\\s+(#|(apt|unit|ste|suite)\\b).*$");
+
+    private static final Comparator<Suggestion> RANKING = Comparator
+            .comparing(Suggestion::count, Comparator.reverseOrder())
+            .thenComparing(Suggestion::type)
+            .thenComparing(Suggestion::text);
+
+    @Autowired
+    private HouseRepository houseRepository;
+
+    @Value("${house.suggest.enabled:true}")
+    private boolean enabled;
+
+    // Suggestions kept per ranked prefix, the most a caller may ask for
+    @Value("${house.suggest.max-results:50}")
+    private int maxResults;
+
+    private volatile Index index = new Index();
+
+    // Changes made while a rebuild scans the table, replayed onto the new index; guarded by this
+    private List<Runnable> pendingChanges;
+
+    private volatile boolean loaded;
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    public boolean isReady() {
+        return enabled && loaded;
+    }
+
+    // Normally already loaded by HouseWarmUp; covers startups with warm-up disabled
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!loaded) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Periodically reloads the index so houses written outside this instance
+     * (other replicas, admin-service ingest) show up in suggestions.
+     */
+    @Scheduled(initialDelayString = "${house.suggest.refresh-interval-ms:300000}",
+               fixedDelayString = "${house.suggest.refresh-interval-ms:300000}")
+    public void scheduledRefresh() {
+        rebuild();
+    }
+
+    /**
+     * Reloads the index from the database. A call made while another rebuild is running
+     * returns immediately, e.g. the ApplicationReadyEvent load after a warm-up timeout.
+     */
+    public void rebuild() {
+        if (!enabled || !rebuildLock.tryLock()) {
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            synchronized (this) {
+                pendingChanges = new ArrayList<>();
+            }
+
+            Index fresh = new Index();
+            long lastId = 0L;
+            List<HouseSuggestionSource> batch;
+            try {
+                do {
+                    batch = houseRepository.findSuggestionSourcesAfter(lastId, PageRequest.of(0, LOAD_BATCH_SIZE));
+                    for (HouseSuggestionSource house : batch) {
+                        fresh.put(house.getId(), house.getAddress(), house.getCity(), house.getState(),
+                                house.getZipCode(), house.getLatitude(), house.getLongitude());
+                        lastId = house.getId();
+                    }
+                } while (batch.size() == LOAD_BATCH_SIZE);
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    pendingChanges = null;
+                }
+                throw e;
+            }
+
+            synchronized (this) {
+                // The scan may have read a row before or after a concurrent change; replaying
+                // it is idempotent and leaves the fresh index at the committed state
+                index = fresh;
+                pendingChanges.forEach(Runnable::run);
+                pendingChanges = null;
+                loaded = true;
+            }
+            System.out.println("Suggestion index loaded " + fresh.suggestions.size() + " suggestions for "
+                    + fresh.houses.size() + " houses in " + (System.currentTimeMillis() - start) + " ms");
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Adds the house, replacing whatever it contributed before an update.
+     */
+    public void put(House house) {
+        Long houseId = house.getId();
+        if (houseId == null) {
+            return;
+        }
+        String address = house.getAddress();
+        String city = house.getCity();
+        String state = house.getState();
+        String zipCode = house.getZipCode();
+        BigDecimal latitude = house.getLatitude();
+        BigDecimal longitude = house.getLongitude();
+        applyChange(() -> index.put(houseId, address, city, state, zipCode, latitude, longitude));
+    }
+
+    public void remove(Long houseId) {
+        applyChange(() -> index.remove(houseId));
+    }
+
+    private synchronized void applyChange(Runnable change) {
+        change.run();
+        if (pendingChanges != null) {
+            pendingChanges.add(change);
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} suggestions whose words start with the query, zip codes,
+     * cities and streets first (most houses first), then individual addresses.
+     */
+    public List<SuggestionDTO> suggest(String query, int limit) {
+        String prefix = normalize(query);
+        if (prefix.isEmpty() || !isReady()) {
+            return List.of();
+        }
+
+        Index current = index;
+        List<Suggestion> ranked = current.match(current.areaKeys, current.areaRankings, prefix, limit);
+        if (ranked.size() < limit) {
+            ranked.addAll(current.match(current.addressKeys, current.addressRankings, prefix, limit));
+        }
+
+        return ranked.stream()
+                .limit(limit)
+                .map(Suggestion::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    public int size() {
+        return index.suggestions.size();
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return NON_ALPHANUMERIC.matcher(decomposed.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * "123 Harvard Ave Apt 4, Irvine" becomes "Harvard Ave".
+     */
+    static String streetName(String address) {
+        if (address == null) {
+            return "";
+        }
+        String street = address;
+        int comma = street.indexOf(',');
+        if (comma >= 0) {
+            street = street.substring(0, comma);
+        }
+        street = UNIT.matcher(street.trim()).replaceFirst("");
+        return HOUSE_NUMBER.matcher(street).replaceFirst("").trim();
+    }
+
+    /**
+     * A suggestion and the houses aggregated into it. Instances are immutable and
+     * replaced on every change, so lookups never see a half-applied update.
+     */
+    private record Suggestion(Type type, String text, String normalized, Long houseId,
+                              long count, double latitudeSum, double longitudeSum) {
+
+        Suggestion plus(double latitude, double longitude, int sign) {
+            return new Suggestion(type, text, normalized, houseId, count + sign,
+                    latitudeSum + sign * latitude, longitudeSum + sign * longitude);
+        }
+
+        SuggestionDTO toDTO() {
+            return new SuggestionDTO(type.name(), text, latitudeSum / count, longitudeSum / count, count, houseId);
+        }
+    }
+
+    // What a house added to the index, so an update or delete can take exactly that back out
+    private record Contribution(List<Suggestion> terms, double latitude, double longitude) {
+    }
+
+    /**
+     * Writes are serialized on the instance; lookups run without locking except to fill a
+     * missing prefix ranking.
+     */
+    private final class Index {
+
+        // Key -> suggestion keys, for zip codes, cities and streets
+        private final ConcurrentSkipListMap<String, Set<String>> areaKeys = new ConcurrentSkipListMap<>();
+
+        // Key -> suggestion keys, for individual addresses
+        private final ConcurrentSkipListMap<String, Set<String>> addressKeys = new ConcurrentSkipListMap<>();
+
+        // Prefix -> keys of its best suggestions in RANKING order, at most maxResults and all of
+        // them when fewer match. Filled on the first lookup of a prefix with more than
+        // RANKING_MIN_CANDIDATES matches, kept current by apply().
+        private final Map<String, List<String>> areaRankings = new ConcurrentHashMap<>();
+
+        private final Map<String, List<String>> addressRankings = new ConcurrentHashMap<>();
+
+        private final Map<String, Suggestion> suggestions = new ConcurrentHashMap<>();
+
+        private final Map<Long, Contribution> houses = new ConcurrentHashMap<>();
+
+        synchronized void put(Long houseId, String address, String city, String state, String zipCode,
+                 BigDecimal latitude, BigDecimal longitude) {
+            remove(houseId);
+            // Suggestions without coordinates have nothing to center the map on
+            if (latitude == null || longitude == null) {
+                return;
+            }
+
+            List<Suggestion> terms = new ArrayList<>(4);
+            String zip = zipCode == null ? "" : zipCode.trim();
+            if (zip.length() > 5) {
+                zip = zip.substring(0, 5);
+            }
+            addTerm(terms, Type.ZIP, zip, null, zip);
+            String area = state == null || state.isBlank() ? city : city + ", " + state;
+            addTerm(terms, Type.CITY, city, null, area);
+            String street = streetName(address);
+            addTerm(terms, Type.STREET, street, null, city == null ? street : street + ", " + area);
+            addTerm(terms, Type.ADDRESS, address, houseId, city == null ? address : address + ", " + area);
+
+            Contribution contribution = new Contribution(terms, latitude.doubleValue(), longitude.doubleValue());
+            for (Suggestion term : terms) {
+                apply(term, contribution, 1);
+            }
+            houses.put(houseId, contribution);
+        }
+
+        synchronized void remove(Long houseId) {
+            Contribution previous = houses.remove(houseId);
+            if (previous == null) {
+                return;
+            }
+            for (Suggestion term : previous.terms()) {
+                apply(term, previous, -1);
+            }
+        }
+
+        /**
+         * The best {@code limit} suggestions whose words start with the prefix, in RANKING order.
+         */
+        List<Suggestion> match(ConcurrentSkipListMap<String, Set<String>> keys,
+                               Map<String, List<String>> rankings, String prefix, int limit) {
+            List<String> ranking = rankings.get(prefix);
+            if (ranking == null || limit > maxResults) {
+                Set<String> candidates = candidates(keys, prefix, RANKING_MIN_CANDIDATES + 1);
+                if (candidates.size() <= RANKING_MIN_CANDIDATES) {
+                    return best(resolve(candidates), limit);
+                }
+                if (limit > maxResults) {
+                    return best(resolve(candidates(keys, prefix, Integer.MAX_VALUE)), limit);
+                }
+                ranking = rank(keys, rankings, prefix);
+            }
+            // Counts may have moved since the ranking was read; re-sort the few entries
+            return best(resolve(ranking), limit);
+        }
+
+        private synchronized List<String> rank(ConcurrentSkipListMap<String, Set<String>> keys,
+                                               Map<String, List<String>> rankings, String prefix) {
+            List<String> ranking = rankings.get(prefix);
+            if (ranking == null) {
+                List<Suggestion> matches = resolve(candidates(keys, prefix, Integer.MAX_VALUE));
+                matches.sort(RANKING);
+                ranking = matches.stream()
+                        .limit(maxResults)
+                        .map(Index::suggestionKey)
+                        .collect(Collectors.toUnmodifiableList());
+                rankings.put(prefix, ranking);
+            }
+            return ranking;
+        }
+
+        // Suggestion keys reachable from the prefix, stopping once max are collected
+        private Set<String> candidates(ConcurrentSkipListMap<String, Set<String>> keys, String prefix, int max) {
+            Set<String> candidates = new LinkedHashSet<>();
+            for (Set<String> ids : keys.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+                candidates.addAll(ids);
+                if (candidates.size() >= max) {
+                    break;
+                }
+            }
+            return candidates;
+        }
+
+        private List<Suggestion> best(List<Suggestion> matches, int limit) {
+            matches.sort(RANKING);
+            return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+        }
+
+        private List<Suggestion> resolve(Collection<String> ids) {
+            List<Suggestion> matches = new ArrayList<>(ids.size());
+            for (String id : ids) {
+                Suggestion suggestion = suggestions.get(id);
+                if (suggestion != null && suggestion.count() > 0) {
+                    matches.add(suggestion);
+                }
+            }
+            return matches;
+        }
+
+        /**
+         * Keeps the rankings of the term's prefixes current after its count changed.
+         * A ranking that is full and loses an entry or a count may now miss a suggestion
+         * ranked below its cut-off, so it is dropped and recomputed on the next lookup.
+         */
+        private void updateRankings(Suggestion term, String id, Suggestion updated, int sign) {
+            Map<String, List<String>> rankings = rankingsFor(term.type());
+            if (rankings.isEmpty()) {
+                return;
+            }
+            Set<String> prefixes = new LinkedHashSet<>();
+            for (String key : wordStarts(term.normalized())) {
+                for (int length = 1; length <= key.length(); length++) {
+                    prefixes.add(key.substring(0, length));
+                }
+            }
+
+            for (String prefix : prefixes) {
+                List<String> ranking = rankings.get(prefix);
+                if (ranking == null) {
+                    continue;
+                }
+                boolean listed = ranking.contains(id);
+                boolean full = ranking.size() >= maxResults;
+                List<String> changed = new ArrayList<>(ranking);
+                if (sign > 0) {
+                    if (!listed) {
+                        changed.add(id);
+                    }
+                } else if (!listed) {
+                    continue;
+                } else if (full) {
+                    rankings.remove(prefix);
+                    continue;
+                } else if (updated.count() <= 0) {
+                    changed.remove(id);
+                }
+
+                List<Suggestion> ranked = resolve(changed);
+                ranked.sort(RANKING);
+                rankings.put(prefix, ranked.stream()
+                        .limit(maxResults)
+                        .map(Index::suggestionKey)
+                        .collect(Collectors.toUnmodifiableList()));
+            }
+        }
+
+        private static void addTerm(List<Suggestion> terms, Type type, String value, Long houseId, String text) {
+            String normalized = normalize(value);
+            if (!normalized.isEmpty()) {
+                terms.add(new Suggestion(type, text.trim(), normalized, houseId, 0, 0, 0));
+            }
+        }
+
+        private void apply(Suggestion term, Contribution house, int sign) {
+            String id = suggestionKey(term);
+            Suggestion updated = suggestions.compute(id, (key, current) ->
+                    (current == null ? term : current).plus(house.latitude(), house.longitude(), sign));
+            if (sign > 0 && updated.count() == 1) {
+                for (String key : wordStarts(term.normalized())) {
+                    keysFor(term.type()).computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(id);
+                }
+            } else if (updated.count() <= 0) {
+                suggestions.remove(id);
+                for (String key : wordStarts(term.normalized())) {
+                    keysFor(term.type()).computeIfPresent(key, (k, ids) -> {
+                        ids.remove(id);
+                        return ids.isEmpty() ? null : ids;
+                    });
+                }
+            }
+            updateRankings(term, id, updated, sign);
+        }
+
+        private ConcurrentSkipListMap<String, Set<String>> keysFor(Type type) {
+            return type == Type.ADDRESS ? addressKeys : areaKeys;
+        }
+
+        private Map<String, List<String>> rankingsFor(Type type) {
+            return type == Type.ADDRESS ? addressRankings : areaRankings;
+        }
+
+        private static String suggestionKey(Suggestion term) {
+            if (term.type() == Type.ADDRESS) {
+                return term.type() + ":" + term.houseId();
+            }
+            // Streets of the same name in different cities are different suggestions
+            return term.type() + ":" + normalize(term.text());
+        }
+
+        // "harvard ave" is reachable as "harvard ave" and "ave"
+        private static List<String> wordStarts(String normalized) {
+            List<String> keys = new ArrayList<>();
+            keys.add(normalized);
+            for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+                keys.add(normalized.substring(i + 1));
+            }
+            return keys;
+        }
+    }
+}
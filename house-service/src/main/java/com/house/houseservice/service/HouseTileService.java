@@ -0,0 +1,162 @@
+package com.house.houseservice.service;
+
+import com.house.common.dto.HouseClusterDTO;
+import com.house.houseservice.repository.HouseMarkerView;
+import com.house.houseservice.repository.HouseRepository;
+import com.house.houseservice.util.GeoUtils;
+import com.house.houseservice.util.VectorTileEncoder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds Mapbox Vector Tiles of house markers and caches them in Redis per (z, x, y).
+ */
+@Service
+@Transactional(readOnly = true)
+public class HouseTileService {
+
+    public static final int MAX_ZOOM = 22;
+
+    private static final String TILE_CACHE_PREFIX = "house-tile:";
+    private static final String LAYER_NAME = "houses";
+    private static final String CLUSTER_LAYER_NAME = "house-clusters";
+
+    @Autowired
+    private HouseRepository houseRepository;
+
+    @Autowired
+    private HouseClusterGrid clusterGrid;
+
+    @Autowired
+    @Qualifier("binaryRedisTemplate")
+    private RedisTemplate<String, byte[]> binaryRedisTemplate;
+
+    @Value("${house.tiles.max-features:10000}")
+    private int maxFeatures;
+
+    @Value("${house.tiles.cache-ttl-minutes:60}")
+    private long cacheTtlMinutes;
+
+    public byte[] getTile(int z, int x, int y) {
+        if (z < 0 || z > MAX_ZOOM) {
+            throw new RuntimeException("Zoom must be between 0 and " + MAX_ZOOM);
+        }
+        long tilesPerSide = 1L << z;
+        if (x < 0 || y < 0 || x >= tilesPerSide || y >= tilesPerSide) {
+            throw new RuntimeException("Tile " + z + "/" + x + "/" + y + " is out of range");
+        }
+
+        String cacheKey = tileKey(z, x, y);
+        byte[] cached = binaryRedisTemplate.opsForValue().get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        byte[] tile = buildTile(z, x, y);
+        binaryRedisTemplate.opsForValue().set(cacheKey, tile, cacheTtlMinutes, TimeUnit.MINUTES);
+        return tile;
+    }
+
+    /**
+     * Evicts every cached tile, at all zoom levels, that contains the given coordinates.
+     */
+    public void evictTilesContaining(BigDecimal latitude, BigDecimal longitude) {
+        if (latitude == null || longitude == null) {
+            return;
+        }
+        List<String> keys = new ArrayList<>(MAX_ZOOM + 1);
+        for (int z = 0; z <= MAX_ZOOM; z++) {
+            int x = (int) Math.floor(GeoUtils.tileX(longitude.doubleValue(), z));
+            int y = (int) Math.floor(GeoUtils.tileY(latitude.doubleValue(), z));
+            keys.add(tileKey(z, x, y));
+        }
+        binaryRedisTemplate.delete(keys);
+    }
+
+    private byte[] buildTile(int z, int x, int y) {
+        double minLng = GeoUtils.tileLongitude(x, z);
+        double maxLng = GeoUtils.tileLongitude(x + 1, z);
+        double maxLat = GeoUtils.tileLatitude(y, z);
+        double minLat = GeoUtils.tileLatitude(y + 1, z);
+
+        if (z < clusterGrid.getMaxZoom() && clusterGrid.isReady()) {
+            List<HouseClusterDTO> clusters = clusterGrid.findClusters(minLat, minLng, maxLat, maxLng, z + 1);
+            long total = clusters.stream().mapToLong(HouseClusterDTO::getCount).sum();
+            if (total > maxFeatures) {
+                return buildClusterTile(clusters, z, x, y);
+            }
+        }
+
+        // Tiles at zoom 0 and 1 span 360 and 180 degrees, which a single SRID 4326 box cannot
+        List<HouseMarkerView> houses = new ArrayList<>();
+        for (double[] box : GeoUtils.splitBoundingBox(minLat, minLng, maxLat, maxLng)) {
+            int remaining = maxFeatures - houses.size();
+            if (remaining <= 0) {
+                break;
+            }
+            houses.addAll(houseRepository.findMarkersWithinBoundingBox(
+                    GeoUtils.boundingBoxWkt(box[0], box[1], box[2], box[3]), remaining));
+        }
+
+        VectorTileEncoder encoder = new VectorTileEncoder(LAYER_NAME);
+        int extent = encoder.getExtent();
+        for (HouseMarkerView house : houses) {
+            double tileX = GeoUtils.tileX(house.getLongitude().doubleValue(), z) - x;
+            double tileY = GeoUtils.tileY(house.getLatitude().doubleValue(), z) - y;
+
+            Map<String, Object> attributes = new LinkedHashMap<>();
+            attributes.put("houseType", house.getHouseType());
+            attributes.put("houseStatus", house.getHouseStatus());
+            attributes.put("areaSqft", house.getAreaSqft());
+            attributes.put("bedrooms", house.getBedrooms());
+            attributes.put("bathrooms", house.getBathrooms());
+
+            encoder.addPoint(house.getId(),
+                    (int) Math.round(tileX * extent),
+                    (int) Math.round(tileY * extent),
+                    attributes);
+        }
+        return encoder.encode();
+    }
+
+    /**
+     * Zoomed-out tile with more houses than {@code house.tiles.max-features}: one point per
+     * cluster of the next zoom level (8x8 per tile) in the {@value #CLUSTER_LAYER_NAME} layer,
+     * instead of an arbitrary subset of the houses.
+     */
+    private byte[] buildClusterTile(List<HouseClusterDTO> clusters, int z, int x, int y) {
+        VectorTileEncoder encoder = new VectorTileEncoder(CLUSTER_LAYER_NAME);
+        int extent = encoder.getExtent();
+        long featureId = 0;
+        for (HouseClusterDTO cluster : clusters) {
+            double tileX = GeoUtils.tileX(cluster.getLongitude(), z) - x;
+            double tileY = GeoUtils.tileY(cluster.getLatitude(), z) - y;
+
+            Map<String, Object> attributes = new LinkedHashMap<>();
+            attributes.put("count", cluster.getCount());
+            attributes.put("minAreaSqft", cluster.getMinAreaSqft());
+            attributes.put("maxAreaSqft", cluster.getMaxAreaSqft());
+
+            encoder.addPoint(++featureId,
+                    (int) Math.round(tileX * extent),
+                    (int) Math.round(tileY * extent),
+                    attributes);
+        }
+        return encoder.encode();
+    }
+
+    private static String tileKey(int z, int x, int y) {
+        return TILE_CACHE_PREFIX + z + "/" + x + "/" + y;
+    }
+}
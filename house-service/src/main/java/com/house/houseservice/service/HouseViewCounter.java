@@ -0,0 +1,83 @@
+package com.house.houseservice.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts house detail views in the {@code house-views} sorted set, shared by all instances.
+ * Views are summed in memory and flushed periodically with one pipelined ZINCRBY per house,
+ * so a page view adds no Redis round trip.
+ */
+@Component
+public class HouseViewCounter {
+
+    private static final String VIEWS_KEY = "house-views";
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    // Updated only through atomic per-key merge/remove, so a flush never drops a view
+    private final Map<Long, Long> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Counts a view of an existing house; callers record only after the house was found.
+     */
+    public void record(Long houseId) {
+        pending.merge(houseId, 1L, Long::sum);
+    }
+
+    public void remove(Long houseId) {
+        pending.remove(houseId);
+        stringRedisTemplate.opsForZSet().remove(VIEWS_KEY, houseId.toString());
+    }
+
+    @Scheduled(fixedDelayString = "${house.views.flush-interval-ms:10000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<Long, Long> counts = new HashMap<>();
+        for (Long houseId : new ArrayList<>(pending.keySet())) {
+            // Views recorded after the remove start a new entry for the next flush
+            Long count = pending.remove(houseId);
+            if (count != null) {
+                counts.put(houseId, count);
+            }
+        }
+
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                counts.forEach((houseId, count) -> redis.zIncrBy(VIEWS_KEY, count, houseId.toString()));
+                return null;
+            });
+        } catch (RuntimeException e) {
+            // Keep the views for the next flush
+            counts.forEach((houseId, count) -> pending.merge(houseId, count, Long::sum));
+            throw e;
+        }
+    }
+
+    /**
+     * Ids of the most viewed houses, most viewed first.
+     */
+    public List<Long> findMostViewed(int limit) {
+        Set<String> ids = stringRedisTemplate.opsForZSet().reverseRange(VIEWS_KEY, 0, limit - 1);
+        List<Long> houseIds = new ArrayList<>();
+        if (ids != null) {
+            ids.forEach(id -> houseIds.add(Long.valueOf(id)));
+        }
+        return houseIds;
+    }
+}
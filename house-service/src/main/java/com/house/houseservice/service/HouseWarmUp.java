@@ -0,0 +1,161 @@
+package com.house.houseservice.service;
+
+import com.house.common.reference.ReferenceDataRegistry;
+import com.house.houseservice.repository.HouseRepository;
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.appinfo.InstanceInfo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Preloads reference data, the spatial and suggestion indexes, the map cluster grid and the house cache (most recently updated
+ * and most viewed houses) before the instance takes traffic.
+ *
+ * Runs as an {@link ApplicationRunner}, so Spring only reports readiness once it returns.
+ * The instance registers with Eureka as STARTING ({@code eureka.instance.initial-status})
+ * and is switched to UP here, after warm-up finishes or {@code house.warm-up.timeout-seconds}
+ * runs out. The {@code houseWarmUp} health indicator is OUT_OF_SERVICE until then.
+ *
+ * Tasks still running at the timeout keep going in the background, uninterrupted; the
+ * pool shuts down once the last of them, including cache batches they schedule, completes.
+ * Index rebuilds hold their index's rebuild lock meanwhile, so the ApplicationReadyEvent
+ * fallback does not start a second scan of the same table.
+ */
+@Component
+public class HouseWarmUp implements ApplicationRunner, HealthIndicator {
+
+    @Autowired
+    private ReferenceDataRegistry referenceData;
+
+    @Autowired
+    private HouseSpatialIndex spatialIndex;
+
+    @Autowired
+    private HouseSuggestionIndex suggestionIndex;
+
+    @Autowired
+    private HouseClusterGrid clusterGrid;
+
+    @Autowired
+    private HouseRepository houseRepository;
+
+    @Autowired
+    private HouseService houseService;
+
+    @Autowired
+    private HouseViewCounter viewCounter;
+
+    @Autowired(required = false)
+    private ApplicationInfoManager applicationInfoManager;
+
+    @Value("${house.warm-up.enabled:true}")
+    private boolean enabled;
+
+    @Value("${house.warm-up.timeout-seconds:60}")
+    private long timeoutSeconds;
+
+    @Value("${house.warm-up.threads:4}")
+    private int threads;
+
+    @Value("${house.warm-up.recent-houses:1000}")
+    private int recentHouses;
+
+    @Value("${house.warm-up.most-viewed-houses:1000}")
+    private int mostViewedHouses;
+
+    // Houses per cache backfill, bounded by what getHousesByIds accepts
+    @Value("${house.batch.max-size:200}")
+    private int batchSize;
+
+    private volatile boolean finished;
+
+    private volatile Map<String, Object> result = Map.of();
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.currentTimeMillis();
+        AtomicLong housesCached = new AtomicLong();
+        boolean timedOut = false;
+
+        if (enabled) {
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                List<CompletableFuture<?>> tasks = new ArrayList<>();
+                tasks.add(CompletableFuture.runAsync(referenceData::refresh, executor));
+                tasks.add(CompletableFuture.runAsync(spatialIndex::rebuild, executor));
+                tasks.add(CompletableFuture.runAsync(suggestionIndex::rebuild, executor));
+                tasks.add(CompletableFuture.runAsync(clusterGrid::rebuild, executor));
+                tasks.add(CompletableFuture
+                        .supplyAsync(() -> houseRepository.findRecentlyUpdatedIds(PageRequest.of(0, recentHouses)), executor)
+                        .thenCompose(ids -> cacheInBatches(ids, executor, housesCached)));
+                tasks.add(CompletableFuture
+                        .supplyAsync(() -> viewCounter.findMostViewed(mostViewedHouses), executor)
+                        .thenCompose(ids -> cacheInBatches(ids, executor, housesCached)));
+
+                CompletableFuture<Void> all = CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0]));
+                all.whenComplete((ignored, failure) -> executor.shutdown());
+                all.get(timeoutSeconds, TimeUnit.SECONDS);
+            } catch (TimeoutException e) {
+                timedOut = true;
+                System.err.println("Warm-up did not finish within " + timeoutSeconds + " s, continuing startup");
+            } catch (ExecutionException e) {
+                System.err.println("Warm-up failed: " + e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        long elapsed = System.currentTimeMillis() - start;
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("enabled", enabled);
+        details.put("housesCached", housesCached.get());
+        details.put("spatialIndexSize", spatialIndex.size());
+        details.put("suggestionIndexSize", suggestionIndex.size());
+        details.put("clusterGridSize", clusterGrid.size());
+        details.put("elapsedMs", elapsed);
+        details.put("timedOut", timedOut);
+        result = details;
+        finished = true;
+        System.out.println("Warm-up finished in " + elapsed + " ms, " + housesCached.get() + " houses cached");
+
+        if (applicationInfoManager != null) {
+            applicationInfoManager.setInstanceStatus(InstanceInfo.InstanceStatus.UP);
+        }
+    }
+
+    @Override
+    public Health health() {
+        if (!finished) {
+            return Health.outOfService().withDetail("phase", "warming up").build();
+        }
+        return Health.up().withDetails(result).build();
+    }
+
+    private CompletableFuture<Void> cacheInBatches(List<Long> ids, ExecutorService executor, AtomicLong housesCached) {
+        List<CompletableFuture<?>> batches = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<Long> batch = ids.subList(from, Math.min(ids.size(), from + batchSize));
+            batches.add(CompletableFuture.runAsync(
+                    () -> housesCached.addAndGet(houseService.getHousesByIds(batch).size()), executor));
+        }
+        return CompletableFuture.allOf(batches.toArray(new CompletableFuture[0]));
+    }
+}
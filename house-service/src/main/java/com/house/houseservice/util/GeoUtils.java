@@ -0,0 +1,145 @@
+package com.house.houseservice.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class GeoUtils {
+
+    public static final double EARTH_RADIUS_KM = 6371.0;
+
+    // Length of one degree of latitude (and of longitude at the equator) in km
+    public static final double KM_PER_DEGREE = 111.32;
+
+    // Widest box passed to spatial queries, see splitBoundingBox
+    public static final double MAX_BOX_WIDTH_DEGREES = 90.0;
+
+    private GeoUtils() {
+    }
+
+    /**
+     * Great-circle distance between two coordinates using the haversine formula.
+     */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double latDistance = Math.toRadians(lat2 - lat1);
+        double lonDistance = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
+        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+        return EARTH_RADIUS_KM * c;
+    }
+
+    /**
+     * Half-height in degrees of the bounding box enclosing a circle of the given radius.
+     */
+    public static double latitudeDelta(double radiusKm) {
+        return radiusKm / KM_PER_DEGREE;
+    }
+
+    /**
+     * Half-width in degrees of the bounding box enclosing a circle of the given radius.
+     * Near the poles the box degenerates to the full longitude range.
+     */
+    public static double longitudeDelta(double latitude, double radiusKm) {
+        double cos = Math.cos(Math.toRadians(latitude));
+        if (cos < 1e-6) {
+            return 180.0;
+        }
+        return Math.min(180.0, radiusKm / (KM_PER_DEGREE * cos));
+    }
+
+    /**
+     * WKT point in longitude-latitude axis order, for MySQL SRID 4326 geometry functions
+     * called with 'axis-order=long-lat'.
+     */
+    public static String pointWkt(double latitude, double longitude) {
+        return "POINT(" + longitude + " " + latitude + ")";
+    }
+
+    /**
+     * WKT polygon in longitude-latitude axis order covering a circle of the given radius,
+     * clamped to valid coordinates.
+     */
+    public static String boundingBoxWkt(double latitude, double longitude, double radiusKm) {
+        double latDelta = latitudeDelta(radiusKm);
+        double lngDelta = longitudeDelta(latitude, radiusKm);
+        double minLat = Math.max(-90.0, latitude - latDelta);
+        double maxLat = Math.min(90.0, latitude + latDelta);
+        double minLng = Math.max(-180.0, longitude - lngDelta);
+        double maxLng = Math.min(180.0, longitude + lngDelta);
+        return boundingBoxWkt(minLat, minLng, maxLat, maxLng);
+    }
+
+    /**
+     * Splits a viewport into boxes that are safe to query in SRID 4326: latitudes are
+     * clamped to the valid range, longitudes past the antimeridian wrap around, and no
+     * box is wider than {@link #MAX_BOX_WIDTH_DEGREES}, since edges 180 degrees apart have
+     * no unique geodesic and the box degenerates. Each box is {minLat, minLng, maxLat, maxLng}.
+     */
+    public static List<double[]> splitBoundingBox(double minLat, double minLng, double maxLat, double maxLng) {
+        double south = Math.max(-90.0, minLat);
+        double north = Math.min(90.0, maxLat);
+        List<double[]> boxes = new ArrayList<>();
+        if (maxLng - minLng >= 360.0) {
+            addLongitudeRange(boxes, south, north, -180.0, 180.0);
+            return boxes;
+        }
+
+        double west = normalizeLongitude(minLng);
+        double east = west + (maxLng - minLng);
+        if (east > 180.0) {
+            addLongitudeRange(boxes, south, north, west, 180.0);
+            addLongitudeRange(boxes, south, north, -180.0, east - 360.0);
+        } else {
+            addLongitudeRange(boxes, south, north, west, east);
+        }
+        return boxes;
+    }
+
+    private static void addLongitudeRange(List<double[]> boxes, double south, double north, double west, double east) {
+        for (double from = west; from < east; from += MAX_BOX_WIDTH_DEGREES) {
+            boxes.add(new double[]{south, from, north, Math.min(east, from + MAX_BOX_WIDTH_DEGREES)});
+        }
+    }
+
+    // Maps any longitude into [-180, 180)
+    private static double normalizeLongitude(double longitude) {
+        if (longitude >= -180.0 && longitude < 180.0) {
+            return longitude;
+        }
+        return ((longitude + 180.0) % 360.0 + 360.0) % 360.0 - 180.0;
+    }
+
+    public static String boundingBoxWkt(double minLat, double minLng, double maxLat, double maxLng) {
+        return "POLYGON((" +
+                minLng + " " + minLat + ", " +
+                maxLng + " " + minLat + ", " +
+                maxLng + " " + maxLat + ", " +
+                minLng + " " + maxLat + ", " +
+                minLng + " " + minLat + "))";
+    }
+
+    /**
+     * Fractional Web Mercator (slippy map) tile column of a longitude at the given zoom.
+     */
+    public static double tileX(double longitude, int zoom) {
+        return (longitude + 180.0) / 360.0 * (1L << zoom);
+    }
+
+    /**
+     * Fractional Web Mercator (slippy map) tile row of a latitude at the given zoom.
+     */
+    public static double tileY(double latitude, int zoom) {
+        double latRad = Math.toRadians(latitude);
+        return (1.0 - Math.log(Math.tan(latRad) + 1.0 / Math.cos(latRad)) / Math.PI) / 2.0 * (1L << zoom);
+    }
+
+    public static double tileLongitude(int x, int zoom) {
+        return x / (double) (1L << zoom) * 360.0 - 180.0;
+    }
+
+    public static double tileLatitude(int y, int zoom) {
+        double n = Math.PI - 2.0 * Math.PI * y / (1L << zoom);
+        return Math.toDegrees(Math.atan(Math.sinh(n)));
+    }
+}
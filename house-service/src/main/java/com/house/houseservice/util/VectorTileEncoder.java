@@ -0,0 +1,182 @@
+package com.house.houseservice.util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Minimal Mapbox Vector Tile (v2) encoder for a single layer of point features.
+ *
+ * Writes the protobuf wire format directly, following
+ * https://github.com/mapbox/vector-tile-spec/tree/master/2.1
+ */
+public class VectorTileEncoder {
+
+    public static final int DEFAULT_EXTENT = 4096;
+
+    // Tile message
+    private static final int TILE_LAYERS = 3;
+
+    // Layer message
+    private static final int LAYER_NAME = 1;
+    private static final int LAYER_FEATURES = 2;
+    private static final int LAYER_KEYS = 3;
+    private static final int LAYER_VALUES = 4;
+    private static final int LAYER_EXTENT = 5;
+    private static final int LAYER_VERSION = 15;
+
+    // Feature message
+    private static final int FEATURE_ID = 1;
+    private static final int FEATURE_TAGS = 2;
+    private static final int FEATURE_TYPE = 3;
+    private static final int FEATURE_GEOMETRY = 4;
+    private static final int GEOMETRY_TYPE_POINT = 1;
+
+    // Value message
+    private static final int VALUE_STRING = 1;
+    private static final int VALUE_DOUBLE = 3;
+    private static final int VALUE_SINT = 6;
+    private static final int VALUE_BOOL = 7;
+
+    private static final int WIRE_VARINT = 0;
+    private static final int WIRE_FIXED64 = 1;
+    private static final int WIRE_LENGTH_DELIMITED = 2;
+
+    private static final int COMMAND_MOVE_TO = 1;
+
+    private final String layerName;
+
+    private final int extent;
+
+    private final Map<String, Integer> keys = new LinkedHashMap<>();
+
+    private final Map<Object, Integer> values = new LinkedHashMap<>();
+
+    private final ByteArrayOutputStream features = new ByteArrayOutputStream();
+
+    private int featureCount;
+
+    public VectorTileEncoder(String layerName) {
+        this(layerName, DEFAULT_EXTENT);
+    }
+
+    public VectorTileEncoder(String layerName, int extent) {
+        this.layerName = layerName;
+        this.extent = extent;
+    }
+
+    public int getExtent() {
+        return extent;
+    }
+
+    public int getFeatureCount() {
+        return featureCount;
+    }
+
+    /**
+     * Adds a point feature at tile-local coordinates (0..extent, origin top-left).
+     * Null attribute values are skipped.
+     */
+    public void addPoint(long id, int x, int y, Map<String, Object> attributes) {
+        ByteArrayOutputStream tags = new ByteArrayOutputStream();
+        for (Map.Entry<String, Object> attribute : attributes.entrySet()) {
+            if (attribute.getValue() == null) {
+                continue;
+            }
+            writeVarint(tags, keys.computeIfAbsent(attribute.getKey(), k -> keys.size()));
+            writeVarint(tags, values.computeIfAbsent(normalizeValue(attribute.getValue()), v -> values.size()));
+        }
+
+        ByteArrayOutputStream geometry = new ByteArrayOutputStream();
+        writeVarint(geometry, (COMMAND_MOVE_TO & 0x7) | (1 << 3));
+        writeVarint(geometry, zigZag(x));
+        writeVarint(geometry, zigZag(y));
+
+        ByteArrayOutputStream feature = new ByteArrayOutputStream();
+        writeTag(feature, FEATURE_ID, WIRE_VARINT);
+        writeVarint(feature, id);
+        writeBytesField(feature, FEATURE_TAGS, tags.toByteArray());
+        writeTag(feature, FEATURE_TYPE, WIRE_VARINT);
+        writeVarint(feature, GEOMETRY_TYPE_POINT);
+        writeBytesField(feature, FEATURE_GEOMETRY, geometry.toByteArray());
+
+        writeBytesField(features, LAYER_FEATURES, feature.toByteArray());
+        featureCount++;
+    }
+
+    public byte[] encode() {
+        ByteArrayOutputStream layer = new ByteArrayOutputStream();
+        writeTag(layer, LAYER_VERSION, WIRE_VARINT);
+        writeVarint(layer, 2);
+        writeBytesField(layer, LAYER_NAME, layerName.getBytes(StandardCharsets.UTF_8));
+        layer.writeBytes(features.toByteArray());
+        for (String key : keys.keySet()) {
+            writeBytesField(layer, LAYER_KEYS, key.getBytes(StandardCharsets.UTF_8));
+        }
+        for (Object value : values.keySet()) {
+            writeBytesField(layer, LAYER_VALUES, encodeValue(value));
+        }
+        writeTag(layer, LAYER_EXTENT, WIRE_VARINT);
+        writeVarint(layer, extent);
+
+        ByteArrayOutputStream tile = new ByteArrayOutputStream();
+        writeBytesField(tile, TILE_LAYERS, layer.toByteArray());
+        return tile.toByteArray();
+    }
+
+    private static Object normalizeValue(Object value) {
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof Float || value instanceof java.math.BigDecimal) {
+            return ((Number) value).doubleValue();
+        }
+        if (value instanceof Long || value instanceof Double || value instanceof Boolean) {
+            return value;
+        }
+        return value.toString();
+    }
+
+    private static byte[] encodeValue(Object value) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (value instanceof Long longValue) {
+            writeTag(out, VALUE_SINT, WIRE_VARINT);
+            writeVarint(out, zigZag(longValue));
+        } else if (value instanceof Double doubleValue) {
+            writeTag(out, VALUE_DOUBLE, WIRE_FIXED64);
+            long bits = Double.doubleToLongBits(doubleValue);
+            for (int i = 0; i < 8; i++) {
+                out.write((int) (bits >>> (8 * i)) & 0xff);
+            }
+        } else if (value instanceof Boolean boolValue) {
+            writeTag(out, VALUE_BOOL, WIRE_VARINT);
+            writeVarint(out, boolValue ? 1 : 0);
+        } else {
+            writeBytesField(out, VALUE_STRING, value.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+
+    private static long zigZag(long n) {
+        return (n << 1) ^ (n >> 63);
+    }
+
+    private static void writeTag(ByteArrayOutputStream out, int field, int wireType) {
+        writeVarint(out, ((long) field << 3) | wireType);
+    }
+
+    private static void writeBytesField(ByteArrayOutputStream out, int field, byte[] bytes) {
+        writeTag(out, field, WIRE_LENGTH_DELIMITED);
+        writeVarint(out, bytes.length);
+        out.writeBytes(bytes);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+}
@@ -0,0 +1,31 @@
+package com.house.houseservice.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the database clock query on H2, which shares LOCALTIMESTAMP with MySQL, to check
+ * that it maps to a LocalDateTime.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class HouseRepositoryClockTest {
+
+    @Autowired
+    private HouseRepository houseRepository;
+
+    @Test
+    void currentTimestampIsTheDatabaseLocalTime() {
+        LocalDateTime now = houseRepository.currentTimestamp();
+
+        assertThat(Duration.between(now, LocalDateTime.now()).abs()).isLessThan(Duration.ofMinutes(1));
+    }
+}
@@ -0,0 +1,34 @@
+package com.house.houseservice.repository;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HouseSearchRepositoryImplTest {
+
+    private static final String DISTANCE = "d";
+
+    @Test
+    void ascendingFromNullContinuesWithinNullsThenAllValues() {
+        assertThat(HouseSearchRepositoryImpl.keysetPredicate(DISTANCE, true, false, true))
+                .isEqualTo("((d IS NULL AND h.id > :afterId) OR d IS NOT NULL)");
+    }
+
+    @Test
+    void descendingFromNullStaysWithinNulls() {
+        assertThat(HouseSearchRepositoryImpl.keysetPredicate(DISTANCE, true, true, true))
+                .isEqualTo("(d IS NULL AND h.id < :afterId)");
+    }
+
+    @Test
+    void descendingFromValueEndsWithNulls() {
+        assertThat(HouseSearchRepositoryImpl.keysetPredicate(DISTANCE, true, true, false))
+                .isEqualTo("(d < :afterValue OR (d = :afterValue AND h.id < :afterId) OR d IS NULL)");
+    }
+
+    @Test
+    void nonNullableKeyKeepsTheIndexFriendlyPredicate() {
+        assertThat(HouseSearchRepositoryImpl.keysetPredicate("h.area_sqft", false, false, false))
+                .isEqualTo("(h.area_sqft > :afterValue OR (h.area_sqft = :afterValue AND h.id > :afterId))");
+    }
+}
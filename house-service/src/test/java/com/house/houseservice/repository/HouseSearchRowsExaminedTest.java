@@ -0,0 +1,170 @@
+package com.house.houseservice.repository;
+
+import com.house.common.dto.GeospatialSearchRequest;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.MountableFile;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures rows examined on MySQL, as the sum of the session's Handler_read_* counters
+ * around each statement, for:
+ * <ul>
+ *   <li>a location search with its filters pushed into SQL against the radius-only query
+ *       searchHousesByLocation ran before, which returned every house in the circle for
+ *       the client to filter;</li>
+ *   <li>a deep page of GET /api/houses positioned with the keyset predicate against the
+ *       same page read with OFFSET.</li>
+ * </ul>
+ * The schema is sql/init.sql. Counts are printed. Which index serves the filtered search is
+ * up to the optimizer, so that case only asserts fewer rows leave the database; the keyset
+ * case asserts the page is read without walking the skipped rows.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class HouseSearchRowsExaminedTest {
+
+    private static final int HOUSES = 20_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int DEEP_OFFSET = 10_000;
+
+    // Irvine, CA; houses are spread over roughly 20 x 20 km around it
+    private static final double CENTER_LAT = 33.6846;
+    private static final double CENTER_LNG = -117.8265;
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0")
+            .withDatabaseName("house_db")
+            .withCopyFileToContainer(MountableFile.forHostPath(Path.of("..", "sql", "init.sql").toAbsolutePath()),
+                    "/docker-entrypoint-initdb.d/init.sql");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+    }
+
+    @Autowired
+    private HouseRepository houseRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(42);
+        List<Object[]> rows = new ArrayList<>(HOUSES);
+        for (int i = 0; i < HOUSES; i++) {
+            rows.add(new Object[]{i + " Main St", "Irvine", "CA", "92618",
+                    CENTER_LAT + (random.nextDouble() - 0.5) * 0.2, CENTER_LNG + (random.nextDouble() - 0.5) * 0.2,
+                    1 + random.nextInt(3), 600 + random.nextInt(4000), 1 + random.nextInt(3),
+                    1 + random.nextInt(5), 1 + random.nextInt(4)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO houses (address, city, state, zip_code, latitude, longitude, " +
+                "house_type_id, area_sqft, house_status_id, bedrooms, bathrooms) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                rows);
+        jdbcTemplate.execute("ANALYZE TABLE houses");
+    }
+
+    @Test
+    void pushedDownFilters() {
+        GeospatialSearchRequest radiusOnly = request();
+        GeospatialSearchRequest filtered = request();
+        filtered.setHouseType("CONDO");
+        filtered.setHouseStatus("SOLD");
+        filtered.setMinArea(4000);
+
+        Measurement before = measure(() -> houseRepository.searchHouseIds(radiusOnly, null).size());
+        Measurement after = measure(() -> houseRepository.searchHouseIds(filtered, null).size());
+
+        System.out.printf("Location search, %,d houses: radius only %,d rows examined / %,d returned, " +
+                        "filters in SQL %,d rows examined / %,d returned%n",
+                HOUSES, before.rowsExamined(), before.rowsReturned(), after.rowsExamined(), after.rowsReturned());
+        assertThat(after.rowsReturned()).isLessThan(before.rowsReturned());
+    }
+
+    @Test
+    void keysetPageExaminesOnlyThePage() {
+        List<Object[]> boundary = entityManager.createNativeQuery(
+                        "SELECT h.area_sqft, h.id FROM houses h ORDER BY h.area_sqft, h.id LIMIT 1 OFFSET :offset")
+                .setParameter("offset", DEEP_OFFSET - 1)
+                .getResultList();
+        HousePageQuery keyset = new HousePageQuery();
+        keyset.setSortKey(HouseSortKey.AREA_SQFT);
+        keyset.setAfterValue(boundary.get(0)[0]);
+        keyset.setAfterId(((Number) boundary.get(0)[1]).longValue());
+        keyset.setLimit(PAGE_SIZE);
+
+        Measurement offset = measure(() -> entityManager.createNativeQuery(
+                        "SELECT h.id, h.area_sqft FROM houses h ORDER BY h.area_sqft, h.id LIMIT :limit OFFSET :offset")
+                .setParameter("limit", PAGE_SIZE)
+                .setParameter("offset", DEEP_OFFSET)
+                .getResultList()
+                .size());
+        Measurement keysetPage = measure(() -> houseRepository.findPageKeys(keyset).size());
+
+        System.out.printf("Page at row %,d of %,d houses by area: OFFSET %,d rows examined, keyset %,d rows examined%n",
+                DEEP_OFFSET, HOUSES, offset.rowsExamined(), keysetPage.rowsExamined());
+        assertThat(keysetPage.rowsReturned()).isEqualTo(PAGE_SIZE);
+        assertThat(keysetPage.rowsExamined() * 10).isLessThan(offset.rowsExamined());
+    }
+
+    private GeospatialSearchRequest request() {
+        GeospatialSearchRequest request = new GeospatialSearchRequest();
+        request.setLatitude(BigDecimal.valueOf(CENTER_LAT));
+        request.setLongitude(BigDecimal.valueOf(CENTER_LNG));
+        request.setRadiusKm(5.0);
+        return request;
+    }
+
+    // Handler_read_* deltas around the statement, less what reading the counters itself costs
+    private Measurement measure(Statement statement) {
+        long previous = handlerReads();
+        long start = handlerReads();
+        long overhead = start - previous;
+        int rows = statement.run();
+        long end = handlerReads();
+        return new Measurement(end - start - overhead, rows);
+    }
+
+    @SuppressWarnings("unchecked")
+    private long handlerReads() {
+        List<Object[]> counters = entityManager.createNativeQuery("SHOW SESSION STATUS LIKE 'Handler_read%'")
+                .getResultList();
+        return counters.stream().mapToLong(counter -> Long.parseLong(counter[1].toString())).sum();
+    }
+
+    private record Measurement(long rowsExamined, int rowsReturned) {
+    }
+
+    @FunctionalInterface
+    private interface Statement {
+        int run();
+    }
+}
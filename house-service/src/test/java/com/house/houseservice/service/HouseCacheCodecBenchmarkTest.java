@@ -0,0 +1,142 @@
+package com.house.houseservice.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.house.common.dto.HouseDTO;
+import com.house.common.dto.HouseDisasterDTO;
+import com.house.common.dto.HouseMaintenanceDTO;
+import com.house.common.dto.HouseSaleDTO;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the Smile cache codec with plain JSON (the same Jackson configuration) for a
+ * house detail with its sale, maintenance and disaster history: payload bytes, and
+ * encode/decode time per house. JDK serialization of the entity the cache used to hold
+ * is left out because House is not Serializable, so that cache failed on write. Figures
+ * are printed; the assertions only check the round trip and that Smile is smaller.
+ */
+class HouseCacheCodecBenchmarkTest {
+
+    private static final int WARM_UP = 50_000;
+    private static final int ITERATIONS = 200_000;
+
+    @Test
+    void smileAgainstJson() throws IOException {
+        HouseCacheCodec codec = new HouseCacheCodec();
+        JsonMapper jsonMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+        ObjectWriter jsonWriter = jsonMapper.writerFor(HouseDTO.class);
+        ObjectReader jsonReader = jsonMapper.readerFor(HouseDTO.class);
+
+        HouseDTO house = house();
+        HouseCacheCodec.Entry entry = new HouseCacheCodec.Entry(house, System.currentTimeMillis() + 60_000, 12);
+        byte[] smile = codec.encode(entry);
+        byte[] json = jsonWriter.writeValueAsBytes(house);
+
+        assertThat(codec.decode(smile).house().getSales()).hasSize(house.getSales().size());
+        assertThat(((HouseDTO) jsonReader.readValue(json)).getDescription()).isEqualTo(house.getDescription());
+
+        double smileEncode = nanosPerCall(() -> codec.encode(entry));
+        double smileDecode = nanosPerCall(() -> codec.decode(smile));
+        double jsonEncode = nanosPerCall(() -> unchecked(() -> jsonWriter.writeValueAsBytes(house)));
+        double jsonDecode = nanosPerCall(() -> unchecked(() -> jsonReader.readValue(json)));
+
+        System.out.printf("House with %d sales, %d maintenance records, %d disasters:%n"
+                        + "  Smile codec %,d bytes (incl. %d byte header), encode %,.0f ns, decode %,.0f ns%n"
+                        + "  JSON        %,d bytes, encode %,.0f ns, decode %,.0f ns%n",
+                house.getSales().size(), house.getMaintenanceRecords().size(), house.getDisasters().size(),
+                smile.length, HouseCacheCodec.VERSION_POSITION - 1 + Long.BYTES, smileEncode, smileDecode,
+                json.length, jsonEncode, jsonDecode);
+        assertThat(smile.length).isLessThan(json.length);
+    }
+
+    private static double nanosPerCall(Supplier<Object> call) {
+        Object sink = null;
+        for (int i = 0; i < WARM_UP; i++) {
+            sink = call.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink = call.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        assertThat(sink).isNotNull();
+        return (double) elapsed / ITERATIONS;
+    }
+
+    private static Object unchecked(IoCall call) {
+        try {
+            return call.run();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static HouseDTO house() {
+        HouseDTO house = new HouseDTO("123 Main St", "Irvine", "CA", "92618",
+                new BigDecimal("33.68460000"), new BigDecimal("-117.82650000"), "HOUSE", 1850, "FOR_SALE");
+        house.setId(1001L);
+        house.setLotAreaSqft(5200);
+        house.setBuildYear(1998);
+        house.setBathrooms(2);
+        house.setBedrooms(3);
+        house.setDescription("Bright three bedroom single family home on a quiet street, close to parks, "
+                + "schools and shopping. Updated kitchen with stone counters, hardwood floors throughout, "
+                + "two car garage and a large backyard with mature trees.");
+        house.setZillowId("z1001");
+        house.setCreatedAt(LocalDateTime.of(2024, 3, 1, 9, 30));
+        house.setUpdatedAt(LocalDateTime.of(2026, 10, 1, 17, 45));
+        house.setVersion(7L);
+
+        List<HouseSaleDTO> sales = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            HouseSaleDTO sale = new HouseSaleDTO(1001L, LocalDate.of(2000 + i * 5, 6, 15),
+                    new BigDecimal(400000 + i * 120000));
+            sale.setId(100L + i);
+            sale.setBuyerName("Buyer " + i);
+            sales.add(sale);
+        }
+        house.setSales(sales);
+
+        List<HouseMaintenanceDTO> maintenance = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            HouseMaintenanceDTO record = new HouseMaintenanceDTO(1001L, LocalDate.of(2015 + i * 3, 4, 1),
+                    "MEDIUM", new BigDecimal("4500.00"));
+            record.setId(200L + i);
+            record.setDescription("Roof and gutter repair");
+            record.setContractorName("Orange County Roofing");
+            maintenance.add(record);
+        }
+        house.setMaintenanceRecords(maintenance);
+
+        List<HouseDisasterDTO> disasters = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            HouseDisasterDTO disaster = new HouseDisasterDTO(1001L, "EARTHQUAKE", LocalDate.of(2010 + i * 8, 7, 4));
+            disaster.setId(300L + i);
+            disaster.setSeverity("LOW");
+            disasters.add(disaster);
+        }
+        house.setDisasters(disasters);
+        return house;
+    }
+
+    @FunctionalInterface
+    private interface IoCall {
+        Object run() throws IOException;
+    }
+}
@@ -0,0 +1,113 @@
+package com.house.houseservice.service;
+
+import com.house.common.dto.HouseDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs the conditional cache write against a real Redis: a loader holding an older
+ * house version must not replace the entry written for a newer one.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class HouseCacheRedisTest {
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private LettuceConnectionFactory connectionFactory;
+
+    private RedisTemplate<String, byte[]> binaryRedisTemplate;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        binaryRedisTemplate = new RedisTemplate<>();
+        binaryRedisTemplate.setConnectionFactory(connectionFactory);
+        binaryRedisTemplate.setKeySerializer(RedisSerializer.string());
+        binaryRedisTemplate.setValueSerializer(RedisSerializer.byteArray());
+        binaryRedisTemplate.afterPropertiesSet();
+        binaryRedisTemplate.delete(List.of("house:1", "house:2"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void olderVersionDoesNotOverwriteNewer() {
+        houseCache().put(house(1L, 5L), 0);
+        houseCache().put(house(1L, 4L), 0);
+
+        assertThat(houseCache().get(1L)).hasValueSatisfying(house -> assertThat(house.getVersion()).isEqualTo(5L));
+    }
+
+    @Test
+    void newerVersionReplacesOlder() {
+        houseCache().put(house(1L, 4L), 0);
+        houseCache().update(house(1L, 5L));
+
+        assertThat(houseCache().get(1L)).hasValueSatisfying(house -> assertThat(house.getVersion()).isEqualTo(5L));
+    }
+
+    @Test
+    void batchWriteSkipsHousesCachedAtNewerVersion() {
+        houseCache().put(house(1L, 5L), 0);
+        houseCache().putAll(List.of(house(1L, 4L), house(2L, 1L)), 0);
+
+        HouseCache reader = houseCache();
+        assertThat(reader.get(1L)).hasValueSatisfying(house -> assertThat(house.getVersion()).isEqualTo(5L));
+        assertThat(reader.get(2L)).hasValueSatisfying(house -> assertThat(house.getVersion()).isEqualTo(1L));
+    }
+
+    @Test
+    void localCacheKeepsNewerVersion() {
+        HouseCache cache = houseCache();
+        cache.put(house(1L, 5L), 0);
+        cache.put(house(1L, 4L), 0);
+
+        assertThat(cache.get(1L)).hasValueSatisfying(house -> assertThat(house.getVersion()).isEqualTo(5L));
+    }
+
+    // A fresh instance per call, so reads go to Redis instead of the writer's L1
+    private HouseCache houseCache() {
+        HouseCache cache = new HouseCache();
+        ReflectionTestUtils.setField(cache, "binaryRedisTemplate", binaryRedisTemplate);
+        ReflectionTestUtils.setField(cache, "stringRedisTemplate", mock(StringRedisTemplate.class));
+        ReflectionTestUtils.setField(cache, "listenerContainer", mock(RedisMessageListenerContainer.class));
+        ReflectionTestUtils.setField(cache, "responseCache", mock(HouseResponseCache.class));
+        ReflectionTestUtils.setField(cache, "ttlMinutes", 30L);
+        ReflectionTestUtils.setField(cache, "localMaximumSize", 100L);
+        ReflectionTestUtils.setField(cache, "localTtlSeconds", 60L);
+        ReflectionTestUtils.setField(cache, "earlyRefreshBeta", 1.0);
+        cache.init();
+        return cache;
+    }
+
+    private static HouseDTO house(Long id, Long version) {
+        HouseDTO house = new HouseDTO();
+        house.setId(id);
+        house.setCity("Irvine");
+        house.setState("CA");
+        house.setVersion(version);
+        return house;
+    }
+}
@@ -0,0 +1,142 @@
+package com.house.houseservice.service;
+
+import com.house.common.dto.HouseClusterDTO;
+import com.house.houseservice.repository.HouseLocation;
+import com.house.houseservice.repository.HouseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class HouseClusterGridTest {
+
+    private HouseRepository houseRepository;
+
+    private HouseClusterGrid grid;
+
+    @BeforeEach
+    void setUp() {
+        houseRepository = mock(HouseRepository.class);
+        when(houseRepository.findLocationsAfter(anyLong(), any(Pageable.class))).thenReturn(List.of());
+        grid = new HouseClusterGrid();
+        ReflectionTestUtils.setField(grid, "houseRepository", houseRepository);
+        ReflectionTestUtils.setField(grid, "maxZoom", 10);
+        ReflectionTestUtils.setField(grid, "enabled", true);
+    }
+
+    @Test
+    void zoomZeroWorldViewCountsEveryHouse() {
+        grid.put(1L, decimal(34.05), decimal(-118.25), 1200);
+        grid.put(2L, decimal(34.06), decimal(-118.24), 1800);
+        grid.put(3L, decimal(-33.87), decimal(151.21), 900);
+        grid.put(4L, decimal(51.51), decimal(-0.13), null);
+
+        List<HouseClusterDTO> clusters = grid.findClusters(-90.0, -180.0, 90.0, 180.0, 0);
+
+        assertThat(clusters.stream().mapToLong(HouseClusterDTO::getCount).sum()).isEqualTo(4);
+        // Zoom 0 clusters are 90 degree cells: Los Angeles, Sydney and London are all apart
+        assertThat(clusters).hasSize(3);
+        HouseClusterDTO losAngeles = clusters.stream()
+                .max(Comparator.comparingLong(HouseClusterDTO::getCount)).orElseThrow();
+        assertThat(losAngeles.getCount()).isEqualTo(2);
+        assertThat(losAngeles.getLatitude()).isCloseTo(34.055, offset(1e-9));
+        assertThat(losAngeles.getMinAreaSqft()).isEqualTo(1200);
+        assertThat(losAngeles.getMaxAreaSqft()).isEqualTo(1800);
+    }
+
+    @Test
+    void viewportAcrossTheAntimeridianFindsBothSides() {
+        grid.put(1L, decimal(-17.7), decimal(178.0), 1000);
+        grid.put(2L, decimal(-13.8), decimal(-171.8), 1000);
+        grid.put(3L, decimal(40.0), decimal(0.0), 1000);
+
+        List<HouseClusterDTO> clusters = grid.findClusters(-30.0, 170.0, 0.0, 195.0, 4);
+
+        assertThat(clusters.stream().mapToLong(HouseClusterDTO::getCount).sum()).isEqualTo(2);
+    }
+
+    @Test
+    void removalKeepsMinAndMaxArea() {
+        grid.put(1L, decimal(34.05), decimal(-118.25), 1200);
+        grid.put(2L, decimal(34.05), decimal(-118.25), 1800);
+        grid.put(3L, decimal(34.05), decimal(-118.25), 1500);
+        grid.remove(2L);
+        // Moving a house removes it from its old cell
+        grid.put(1L, decimal(40.71), decimal(-74.0), 1200);
+
+        List<HouseClusterDTO> clusters = grid.findClusters(33.0, -119.0, 35.0, -118.0, 10);
+
+        assertThat(clusters).hasSize(1);
+        assertThat(clusters.get(0).getCount()).isEqualTo(1);
+        assertThat(clusters.get(0).getMinAreaSqft()).isEqualTo(1500);
+        assertThat(clusters.get(0).getMaxAreaSqft()).isEqualTo(1500);
+    }
+
+    @Test
+    void changesDuringRebuildAreReplayedOntoTheNewGrid() throws Exception {
+        CountDownLatch scanning = new CountDownLatch(1);
+        CountDownLatch changed = new CountDownLatch(1);
+        // The scan sees house 1 as it was before the concurrent update and house 2 before its delete
+        when(houseRepository.findLocationsAfter(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            scanning.countDown();
+            assertThat(changed.await(5, TimeUnit.SECONDS)).isTrue();
+            return List.of(location(1L, 10.0, 10.0, 1000), location(2L, 20.0, 20.0, 1000));
+        });
+
+        Thread rebuild = new Thread(grid::rebuild);
+        rebuild.start();
+        assertThat(scanning.await(5, TimeUnit.SECONDS)).isTrue();
+        grid.put(1L, decimal(30.0), decimal(30.0), 2000);
+        grid.remove(2L);
+        changed.countDown();
+        rebuild.join(5000);
+
+        assertThat(grid.isReady()).isTrue();
+        assertThat(grid.size()).isEqualTo(1);
+        List<HouseClusterDTO> clusters = grid.findClusters(-90.0, -180.0, 90.0, 180.0, 10);
+        assertThat(clusters).hasSize(1);
+        assertThat(clusters.get(0).getLatitude()).isEqualTo(30.0);
+        assertThat(clusters.get(0).getMaxAreaSqft()).isEqualTo(2000);
+    }
+
+    private static BigDecimal decimal(double value) {
+        return BigDecimal.valueOf(value);
+    }
+
+    private static HouseLocation location(Long id, double latitude, double longitude, Integer areaSqft) {
+        return new HouseLocation() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public BigDecimal getLatitude() {
+                return decimal(latitude);
+            }
+
+            @Override
+            public BigDecimal getLongitude() {
+                return decimal(longitude);
+            }
+
+            @Override
+            public Integer getAreaSqft() {
+                return areaSqft;
+            }
+        };
+    }
+}
@@ -0,0 +1,42 @@
+package com.house.houseservice.service;
+
+import com.house.houseservice.repository.HouseSortKey;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HouseCursorTest {
+
+    @Test
+    void nullSortValueRoundTrips() {
+        String token = new HouseCursor(HouseSortKey.DISTANCE, false, null, 42L).encode();
+
+        HouseCursor cursor = HouseCursor.decode(token);
+
+        assertThat(cursor.getSortKey()).isEqualTo(HouseSortKey.DISTANCE);
+        assertThat(cursor.getSortValue()).isNull();
+        assertThat(cursor.getId()).isEqualTo(42L);
+    }
+
+    @Test
+    void valuesRoundTrip() {
+        LocalDateTime updatedAt = LocalDateTime.of(2024, 5, 1, 12, 30, 15);
+
+        assertThat(HouseCursor.decode(new HouseCursor(HouseSortKey.UPDATED_AT, true, updatedAt, 7L).encode())
+                .getSortValue()).isEqualTo(updatedAt);
+        assertThat(HouseCursor.decode(new HouseCursor(HouseSortKey.BUILD_YEAR, false, 1998L, 7L).encode())
+                .getSortValue()).isEqualTo(1998L);
+        assertThat(HouseCursor.decode(new HouseCursor(HouseSortKey.DISTANCE, false, 1234.5, 7L).encode())
+                .getSortValue()).isEqualTo(1234.5);
+    }
+
+    @Test
+    void invalidCursorKeepsTheCause() {
+        assertThatThrownBy(() -> HouseCursor.decode("bm90LWEtY3Vyc29y"))
+                .hasMessage("Invalid cursor")
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,85 @@
+package com.house.houseservice.service;
+
+import com.house.common.dto.HouseClusterDTO;
+import com.house.common.dto.HouseMapViewDTO;
+import com.house.houseservice.repository.HouseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HouseMapServiceTest {
+
+    private HouseRepository houseRepository;
+
+    private HouseClusterGrid clusterGrid;
+
+    private HouseMapService mapService;
+
+    @BeforeEach
+    void setUp() {
+        houseRepository = mock(HouseRepository.class);
+        clusterGrid = new HouseClusterGrid();
+        ReflectionTestUtils.setField(clusterGrid, "maxZoom", 10);
+        ReflectionTestUtils.setField(clusterGrid, "enabled", true);
+        ReflectionTestUtils.setField(clusterGrid, "loaded", true);
+
+        mapService = new HouseMapService();
+        ReflectionTestUtils.setField(mapService, "houseRepository", houseRepository);
+        ReflectionTestUtils.setField(mapService, "clusterGrid", clusterGrid);
+        ReflectionTestUtils.setField(mapService, "markerThreshold", 3);
+    }
+
+    @Test
+    void zoomZeroIsServedFromTheClusterGrid() {
+        for (long id = 1; id <= 5; id++) {
+            clusterGrid.put(id, BigDecimal.valueOf(30.0 + id), BigDecimal.valueOf(-100.0 + id), 1000);
+        }
+
+        HouseMapViewDTO view = mapService.getMapView(-90.0, -180.0, 90.0, 180.0, 0);
+
+        assertThat(view.getTotal()).isEqualTo(5);
+        assertThat(view.getClusters()).extracting(HouseClusterDTO::getCount).containsExactly(5L);
+        assertThat(view.getMarkers()).isEmpty();
+        verify(houseRepository, never()).countWithinBoundingBox(anyString());
+        verify(houseRepository, never()).findClustersWithinBoundingBox(anyString(), anyDouble());
+    }
+
+    @Test
+    void zoomZeroWithFewHousesQueriesMarkersPerBox() {
+        clusterGrid.put(1L, BigDecimal.valueOf(34.0), BigDecimal.valueOf(-118.0), 1000);
+        when(houseRepository.findMarkersWithinBoundingBox(anyString(), anyInt())).thenReturn(List.of());
+
+        HouseMapViewDTO view = mapService.getMapView(-90.0, -180.0, 90.0, 180.0, 0);
+
+        assertThat(view.getTotal()).isEqualTo(1);
+        ArgumentCaptor<String> boxes = ArgumentCaptor.forClass(String.class);
+        verify(houseRepository, times(4)).findMarkersWithinBoundingBox(boxes.capture(), anyInt());
+        // No polygon spans 180 degrees of longitude, which SRID 4326 cannot represent
+        assertThat(boxes.getAllValues()).allMatch(wkt -> !wkt.contains("-180 -90, 180 -90"));
+    }
+
+    @Test
+    void deepZoomsQueryTheDatabase() {
+        when(houseRepository.countWithinBoundingBox(anyString())).thenReturn(1L);
+        when(houseRepository.findMarkersWithinBoundingBox(anyString(), anyInt())).thenReturn(List.of());
+
+        HouseMapViewDTO view = mapService.getMapView(33.6, -117.9, 33.75, -117.7, 12);
+
+        assertThat(view.getTotal()).isEqualTo(1);
+        verify(houseRepository, times(1)).countWithinBoundingBox(anyString());
+    }
+}
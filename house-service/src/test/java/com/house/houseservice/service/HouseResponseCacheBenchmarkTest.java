@@ -0,0 +1,100 @@
+package com.house.houseservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.house.common.dto.HouseDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares serving {@code GET /api/houses/{id}} from the response cache with serializing
+ * the cached HouseDTO on every request, which is what the endpoint did before: time and
+ * bytes allocated per request, for a plain JSON body and for a gzipped one. Allocation
+ * comes from the HotSpot per-thread counter. Figures are printed; the assertions only
+ * check that a cache hit is faster and allocates less.
+ */
+class HouseResponseCacheBenchmarkTest {
+
+    private static final int WARM_UP = 50_000;
+    private static final int ITERATIONS = 200_000;
+
+    @Test
+    void cachedBytesAgainstSerializing() {
+        ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+        HouseResponseCache responseCache = new HouseResponseCache();
+        ReflectionTestUtils.setField(responseCache, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(responseCache, "maxBytes", 1_048_576L);
+        ReflectionTestUtils.setField(responseCache, "ttlSeconds", 600L);
+        ReflectionTestUtils.setField(responseCache, "gzipMinBytes", 1024);
+        responseCache.init();
+
+        HouseDTO house = HouseCacheCodecBenchmarkTest.house();
+        HouseResponseCache.Body body = responseCache.put(house, responseCache.generation(house.getId()));
+        Long id = house.getId();
+
+        Measurement hitJson = measure(() -> responseCache.get(id).json());
+        Measurement hitGzip = measure(() -> responseCache.get(id).gzip());
+        Measurement serializeJson = measure(() -> serialize(objectMapper, house));
+        Measurement serializeGzip = measure(() -> gzip(serialize(objectMapper, house)));
+
+        System.out.printf("House body %,d bytes JSON, %,d bytes gzipped, per request:%n"
+                        + "  cache hit, JSON     %,10.0f ns  %,8d bytes allocated%n"
+                        + "  cache hit, gzip     %,10.0f ns  %,8d bytes allocated%n"
+                        + "  serialize, JSON     %,10.0f ns  %,8d bytes allocated%n"
+                        + "  serialize and gzip  %,10.0f ns  %,8d bytes allocated%n",
+                body.json().length, body.gzip().length,
+                hitJson.nanos(), hitJson.bytes(), hitGzip.nanos(), hitGzip.bytes(),
+                serializeJson.nanos(), serializeJson.bytes(), serializeGzip.nanos(), serializeGzip.bytes());
+        assertThat(hitJson.nanos()).isLessThan(serializeJson.nanos());
+        assertThat(hitJson.bytes()).isLessThan(serializeJson.bytes());
+        assertThat(hitGzip.nanos()).isLessThan(serializeGzip.nanos());
+    }
+
+    private static Measurement measure(Supplier<byte[]> call) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long sink = 0;
+        for (int i = 0; i < WARM_UP; i++) {
+            sink += call.get().length;
+        }
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += call.get().length;
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        assertThat(sink).isPositive();
+        return new Measurement((double) elapsed / ITERATIONS, allocated / ITERATIONS);
+    }
+
+    private static byte[] serialize(ObjectMapper objectMapper, HouseDTO house) {
+        try {
+            return objectMapper.writeValueAsBytes(house);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private record Measurement(double nanos, long bytes) {
+    }
+}
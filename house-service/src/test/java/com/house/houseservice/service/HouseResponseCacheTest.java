@@ -0,0 +1,73 @@
+package com.house.houseservice.service;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.house.common.dto.HouseDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HouseResponseCacheTest {
+
+    private HouseResponseCache responseCache;
+
+    @BeforeEach
+    void setUp() {
+        responseCache = new HouseResponseCache();
+        ReflectionTestUtils.setField(responseCache, "objectMapper", JsonMapper.builder().findAndAddModules().build());
+        ReflectionTestUtils.setField(responseCache, "maxBytes", 1_048_576L);
+        ReflectionTestUtils.setField(responseCache, "ttlSeconds", 60L);
+        ReflectionTestUtils.setField(responseCache, "gzipMinBytes", 1024);
+        responseCache.init();
+    }
+
+    @Test
+    void putCachesTheBodyAndGzipsLargeOnes() {
+        HouseResponseCache.Body body = responseCache.put(house(7L), responseCache.generation(1001L));
+
+        assertThat(responseCache.get(1001L)).isSameAs(body);
+        assertThat(body.version()).isEqualTo(7L);
+        assertThat(body.gzip()).isNotNull();
+    }
+
+    @Test
+    void loadThatStartedBeforeAnInvalidationIsNotCached() {
+        long generation = responseCache.generation(1001L);
+        // A write commits and invalidates while the read is still loading the old version
+        responseCache.invalidate(1001L);
+
+        HouseResponseCache.Body body = responseCache.put(house(7L), generation);
+
+        assertThat(body.version()).isEqualTo(7L);
+        assertThat(responseCache.get(1001L)).isNull();
+        assertThat(responseCache.put(house(8L), responseCache.generation(1001L))).isSameAs(responseCache.get(1001L));
+    }
+
+    @Test
+    void olderVersionDoesNotReplaceNewer() {
+        long generation = responseCache.generation(1001L);
+        responseCache.put(house(8L), generation);
+        responseCache.put(house(7L), generation);
+
+        assertThat(responseCache.get(1001L).version()).isEqualTo(8L);
+    }
+
+    @Test
+    void invalidationOnlyAffectsLoadsOfTheSameStripe() {
+        long generation = responseCache.generation(2L);
+        responseCache.invalidate(1001L);
+
+        HouseDTO other = house(3L);
+        other.setId(2L);
+        responseCache.put(other, generation);
+
+        assertThat(responseCache.get(2L)).isNotNull();
+    }
+
+    private static HouseDTO house(long version) {
+        HouseDTO house = HouseCacheCodecBenchmarkTest.house();
+        house.setVersion(version);
+        return house;
+    }
+}
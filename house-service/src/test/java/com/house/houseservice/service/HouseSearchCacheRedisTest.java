@@ -0,0 +1,108 @@
+package com.house.houseservice.service;
+
+import com.house.common.dto.GeospatialSearchRequest;
+import com.house.houseservice.repository.HouseSearchRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the search cache against a real Redis, including the pending-marker script:
+ * a write evicted while a search is loading must keep that search's result out of the cache.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class HouseSearchCacheRedisTest {
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private static final List<HouseSearchRepository.SearchHit> STALE = List.of(new HouseSearchRepository.SearchHit(1L, 0.5));
+
+    private static final List<HouseSearchRepository.SearchHit> FRESH = List.of(new HouseSearchRepository.SearchHit(2L, 0.4));
+
+    private LettuceConnectionFactory connectionFactory;
+
+    private RedisTemplate<String, byte[]> binaryRedisTemplate;
+
+    private HouseSearchCache cache;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        binaryRedisTemplate = new RedisTemplate<>();
+        binaryRedisTemplate.setConnectionFactory(connectionFactory);
+        binaryRedisTemplate.setKeySerializer(RedisSerializer.string());
+        binaryRedisTemplate.setValueSerializer(RedisSerializer.byteArray());
+        binaryRedisTemplate.afterPropertiesSet();
+        binaryRedisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushDb();
+            return null;
+        });
+
+        cache = new HouseSearchCache();
+        ReflectionTestUtils.setField(cache, "binaryRedisTemplate", binaryRedisTemplate);
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "ttlMinutes", 10L);
+        ReflectionTestUtils.setField(cache, "maxRadiusKm", 50.0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void repeatedSearchIsServedFromTheCache() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getOrLoad(request(), snapped -> { loads.incrementAndGet(); return STALE; });
+        List<HouseSearchRepository.SearchHit> hits = cache.getOrLoad(request(), snapped -> { loads.incrementAndGet(); return FRESH; });
+
+        assertThat(hits).isEqualTo(STALE);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void writeInsideTheCircleEvictsTheSearch() {
+        cache.getOrLoad(request(), snapped -> STALE);
+
+        cache.evictContaining(new BigDecimal("37.7800"), new BigDecimal("-122.4100"));
+
+        assertThat(cache.getOrLoad(request(), snapped -> FRESH)).isEqualTo(FRESH);
+    }
+
+    @Test
+    void evictionDuringTheLoadDropsTheLoadedResult() {
+        cache.getOrLoad(request(), snapped -> {
+            cache.evictContaining(new BigDecimal("37.7800"), new BigDecimal("-122.4100"));
+            return STALE;
+        });
+
+        assertThat(cache.getOrLoad(request(), snapped -> FRESH)).isEqualTo(FRESH);
+    }
+
+    private static GeospatialSearchRequest request() {
+        GeospatialSearchRequest request = new GeospatialSearchRequest();
+        request.setLatitude(new BigDecimal("37.7749"));
+        request.setLongitude(new BigDecimal("-122.4194"));
+        request.setRadiusKm(2.0);
+        return request;
+    }
+}
@@ -0,0 +1,158 @@
+package com.house.houseservice.service;
+
+import com.house.common.dto.GeospatialSearchRequest;
+import com.house.houseservice.repository.HouseSearchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.connection.RedisSetCommands;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks the order of cache registration, loading and eviction against an in-memory
+ * stand-in for Redis; {@link HouseSearchCacheRedisTest} runs the same cases on a real server.
+ */
+class HouseSearchCacheTest {
+
+    private static final List<HouseSearchRepository.SearchHit> STALE = List.of(new HouseSearchRepository.SearchHit(1L, 0.5));
+
+    private static final List<HouseSearchRepository.SearchHit> FRESH = List.of(new HouseSearchRepository.SearchHit(2L, 0.4));
+
+    private final Map<String, byte[]> values = new HashMap<>();
+
+    private final Map<String, Set<String>> sets = new HashMap<>();
+
+    private HouseSearchCache cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        RedisTemplate<String, byte[]> template = mock(RedisTemplate.class);
+        ValueOperations<String, byte[]> valueOperations = mock(ValueOperations.class);
+        SetOperations<String, byte[]> setOperations = mock(SetOperations.class);
+        when(template.opsForValue()).thenReturn(valueOperations);
+        when(template.opsForSet()).thenReturn(setOperations);
+        when(valueOperations.get(anyString())).thenAnswer(call -> values.get(call.<String>getArgument(0)));
+        when(setOperations.members(anyString())).thenAnswer(call -> sets.getOrDefault(call.<String>getArgument(0), Set.of())
+                .stream().map(member -> member.getBytes(StandardCharsets.UTF_8)).collect(Collectors.toSet()));
+        when(template.delete(anyCollection())).thenAnswer(call -> {
+            call.<Collection<String>>getArgument(0).forEach(values::remove);
+            return 0L;
+        });
+
+        RedisConnection connection = mock(RedisConnection.class);
+        RedisStringCommands stringCommands = mock(RedisStringCommands.class);
+        RedisSetCommands setCommands = mock(RedisSetCommands.class);
+        when(connection.stringCommands()).thenReturn(stringCommands);
+        when(connection.setCommands()).thenReturn(setCommands);
+        when(connection.keyCommands()).thenReturn(mock(RedisKeyCommands.class));
+        when(stringCommands.set(any(), any(), any(), any())).thenAnswer(call -> {
+            values.put(text(call.getArgument(0)), call.getArgument(1));
+            return true;
+        });
+        when(setCommands.sAdd(any(), any(byte[].class))).thenAnswer(call -> {
+            sets.computeIfAbsent(text(call.getArgument(0)), key -> new HashSet<>()).add(text(call.getArgument(1)));
+            return 1L;
+        });
+        when(template.executePipelined(any(RedisCallback.class))).thenAnswer(call -> {
+            call.<RedisCallback<?>>getArgument(0).doInRedis(connection);
+            return List.of();
+        });
+
+        // Same effect as the store script: replace the value only while it holds the marker
+        doAnswer(call -> {
+            String key = call.<List<String>>getArgument(1).get(0);
+            if (!Arrays.equals(values.get(key), call.getArgument(2))) {
+                return 0L;
+            }
+            values.put(key, call.getArgument(3));
+            return 1L;
+        }).when(template).execute(any(RedisScript.class), anyList(), any(), any(), any());
+
+        cache = new HouseSearchCache();
+        ReflectionTestUtils.setField(cache, "binaryRedisTemplate", template);
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "ttlMinutes", 10L);
+        ReflectionTestUtils.setField(cache, "maxRadiusKm", 50.0);
+    }
+
+    @Test
+    void repeatedSearchIsServedFromTheCache() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getOrLoad(request(), snapped -> { loads.incrementAndGet(); return STALE; });
+        List<HouseSearchRepository.SearchHit> hits = cache.getOrLoad(request(), snapped -> { loads.incrementAndGet(); return FRESH; });
+
+        assertThat(hits).isEqualTo(STALE);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void writeInsideTheCircleEvictsTheSearch() {
+        cache.getOrLoad(request(), snapped -> STALE);
+
+        cache.evictContaining(new BigDecimal("37.7800"), new BigDecimal("-122.4100"));
+
+        assertThat(cache.getOrLoad(request(), snapped -> FRESH)).isEqualTo(FRESH);
+    }
+
+    @Test
+    void writeOutsideTheCircleKeepsTheSearch() {
+        cache.getOrLoad(request(), snapped -> STALE);
+
+        cache.evictContaining(new BigDecimal("37.7900"), new BigDecimal("-122.3000"));
+
+        assertThat(cache.getOrLoad(request(), snapped -> FRESH)).isEqualTo(STALE);
+    }
+
+    @Test
+    void evictionDuringTheLoadDropsTheLoadedResult() {
+        List<HouseSearchRepository.SearchHit> loaded = cache.getOrLoad(request(), snapped -> {
+            cache.evictContaining(new BigDecimal("37.7800"), new BigDecimal("-122.4100"));
+            return STALE;
+        });
+
+        assertThat(loaded).isEqualTo(STALE);
+        assertThat(cache.getOrLoad(request(), snapped -> FRESH)).isEqualTo(FRESH);
+    }
+
+    private static GeospatialSearchRequest request() {
+        GeospatialSearchRequest request = new GeospatialSearchRequest();
+        request.setLatitude(new BigDecimal("37.7749"));
+        request.setLongitude(new BigDecimal("-122.4194"));
+        request.setRadiusKm(2.0);
+        return request;
+    }
+
+    private static String text(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,190 @@
+package com.house.houseservice.service;
+
+import com.house.common.dto.GeospatialSearchRequest;
+import com.house.common.entity.House;
+import com.house.common.entity.HouseSale;
+import com.house.common.entity.HouseStatus;
+import com.house.common.entity.HouseType;
+import com.house.houseservice.repository.HouseDocument;
+import com.house.houseservice.repository.HouseRepository;
+import com.house.houseservice.repository.HouseSearchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.client.ClientConfiguration;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchClients;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchTemplate;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.testcontainers.elasticsearch.ElasticsearchContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs searches and rebuilds against a real Elasticsearch: geo_distance combined with
+ * term and range filters, keyword ranking, and the alias switch of a rebuild.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class HouseSearchIndexElasticsearchTest {
+
+    @Container
+    private static final ElasticsearchContainer ELASTICSEARCH =
+            new ElasticsearchContainer("docker.elastic.co/elasticsearch/elasticsearch:8.11.1")
+                    .withEnv("xpack.security.enabled", "false")
+                    .withEnv("action.destructive_requires_name", "false")
+                    .withEnv("ES_JAVA_OPTS", "-Xms512m -Xmx512m");
+
+    // Irvine, CA
+    private static final BigDecimal CENTER_LAT = new BigDecimal("33.6846");
+    private static final BigDecimal CENTER_LNG = new BigDecimal("-117.8265");
+
+    private final Map<Long, House> houses = new TreeMap<>();
+
+    private ElasticsearchTemplate elasticsearchTemplate;
+
+    private HouseSearchIndex searchIndex;
+
+    private Runnable duringScan = () -> { };
+
+    @BeforeEach
+    void setUp() {
+        elasticsearchTemplate = new ElasticsearchTemplate(ElasticsearchClients.createImperative(
+                ClientConfiguration.create(ELASTICSEARCH.getHttpHostAddress())));
+        elasticsearchTemplate.indexOps(IndexCoordinates.of("houses*")).delete();
+
+        HouseRepository houseRepository = mock(HouseRepository.class);
+        when(houseRepository.findUpdatedSince(any(), anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(1);
+            Pageable pageable = invocation.getArgument(2);
+            List<House> batch = houses.values().stream()
+                    .filter(house -> house.getId() > afterId)
+                    .limit(pageable.getPageSize())
+                    .collect(Collectors.toList());
+            duringScan.run();
+            return batch;
+        });
+        when(houseRepository.findAllById(any())).thenAnswer(invocation -> StreamSupport
+                .stream(((Iterable<Long>) invocation.getArgument(0)).spliterator(), false)
+                .map(houses::get)
+                .filter(house -> house != null)
+                .collect(Collectors.toList()));
+
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        searchIndex = new HouseSearchIndex();
+        ReflectionTestUtils.setField(searchIndex, "elasticsearchOperations", elasticsearchTemplate);
+        ReflectionTestUtils.setField(searchIndex, "houseRepository", houseRepository);
+        ReflectionTestUtils.setField(searchIndex, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(searchIndex, "enabled", true);
+        ReflectionTestUtils.setField(searchIndex, "maxResults", 100);
+        searchIndex.init();
+
+        addHouse(1L, "0.005", "0.005", 1500, 900_000, "Quiet street with a pool and a hill view");
+        addHouse(2L, "0.010", "-0.010", 3000, 1_200_000, "Ocean view from every room, ocean breeze");
+        addHouse(3L, "0.002", "0.002", 800, 700_000, "Small condo with an ocean view");
+        addHouse(4L, "0.020", "0.010", 2000, 2_500_000, "Estate with ocean view");
+        // Los Angeles, outside the 10 km radius
+        addHouse(5L, "0.37", "-0.42", 2500, 1_000_000, "Downtown loft with ocean view");
+    }
+
+    @Test
+    void geoDistanceAndRangeFiltersWithKeywordRanking() {
+        searchIndex.rebuild();
+
+        GeospatialSearchRequest request = new GeospatialSearchRequest(CENTER_LAT, CENTER_LNG, 10.0);
+        request.setMinArea(1000);
+        request.setMaxPrice(1_500_000);
+        request.setHouseType("SINGLE_FAMILY");
+        request.setKeywords("ocean view");
+
+        // 3 is too small, 4 too expensive, 5 too far; 2 matches both words twice
+        assertThat(ids(searchIndex.search(request))).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void withoutKeywordsResultsAreNearestFirst() {
+        searchIndex.rebuild();
+
+        GeospatialSearchRequest request = new GeospatialSearchRequest(CENTER_LAT, CENTER_LNG, 10.0);
+        request.setMinArea(1000);
+
+        List<HouseSearchRepository.SearchHit> hits = searchIndex.search(request);
+        assertThat(ids(hits)).containsExactly(1L, 2L, 4L);
+        assertThat(hits).isSortedAccordingTo((a, b) -> Double.compare(a.distanceKm(), b.distanceKm()));
+    }
+
+    @Test
+    void rebuildSwitchesAliasAndKeepsChangesMadeDuringTheScan() {
+        searchIndex.rebuild();
+        Set<String> firstIndexes = aliasedIndexes();
+
+        duringScan = () -> {
+            duringScan = () -> { };
+            // Committed while the rebuild scans, written through the alias to the old index
+            addHouse(6L, "0.001", "0.001", 1800, 950_000, "New listing");
+            searchIndex.save(searchIndex.toDocument(houses.get(6L)));
+            houses.remove(1L);
+            searchIndex.delete(1L);
+        };
+        searchIndex.rebuild();
+
+        Set<String> secondIndexes = aliasedIndexes();
+        assertThat(secondIndexes).hasSize(1).doesNotContainAnyElementsOf(firstIndexes);
+        assertThat(elasticsearchTemplate.indexOps(IndexCoordinates.of(firstIndexes.iterator().next())).exists())
+                .isFalse();
+
+        elasticsearchTemplate.indexOps(HouseDocument.class).refresh();
+        GeospatialSearchRequest request = new GeospatialSearchRequest(CENTER_LAT, CENTER_LNG, 10.0);
+        assertThat(ids(searchIndex.search(request))).contains(6L).doesNotContain(1L);
+    }
+
+    @Test
+    void rebuildReplacesConcreteIndexFromBeforeTheAlias() {
+        IndexOperations legacy = elasticsearchTemplate.indexOps(IndexCoordinates.of("houses"));
+        legacy.create();
+
+        searchIndex.rebuild();
+
+        assertThat(aliasedIndexes()).hasSize(1).allSatisfy(index -> assertThat(index).startsWith("houses-"));
+    }
+
+    private Set<String> aliasedIndexes() {
+        return elasticsearchTemplate.indexOps(HouseDocument.class).getAliasesForIndex("houses").keySet();
+    }
+
+    private void addHouse(Long id, String latOffset, String lngOffset, int areaSqft, int price, String description) {
+        House house = new House(id + " Main St", "Irvine", "CA", "92618",
+                CENTER_LAT.add(new BigDecimal(latOffset)), CENTER_LNG.add(new BigDecimal(lngOffset)),
+                new HouseType("SINGLE_FAMILY", null), areaSqft, new HouseStatus("FOR_SALE", null));
+        house.setId(id);
+        house.setDescription(description);
+        List<HouseSale> sales = new ArrayList<>();
+        sales.add(new HouseSale(house, LocalDate.of(2023, 5, 1), BigDecimal.valueOf(price)));
+        house.setSales(sales);
+        houses.put(id, house);
+    }
+
+    private static List<Long> ids(List<HouseSearchRepository.SearchHit> hits) {
+        return hits.stream().map(HouseSearchRepository.SearchHit::id).collect(Collectors.toList());
+    }
+}
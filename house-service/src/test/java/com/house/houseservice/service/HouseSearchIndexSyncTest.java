@@ -0,0 +1,59 @@
+package com.house.houseservice.service;
+
+import com.house.houseservice.repository.HouseDocument;
+import com.house.houseservice.repository.HouseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HouseSearchIndexSyncTest {
+
+    // Three hours behind this JVM, as with a database running in another time zone
+    private static final LocalDateTime DATABASE_NOW = LocalDateTime.now().minusHours(3);
+
+    private HouseRepository houseRepository;
+
+    private HouseSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        ElasticsearchOperations elasticsearchOperations = mock(ElasticsearchOperations.class, RETURNS_DEEP_STUBS);
+        when(elasticsearchOperations.indexOps(HouseDocument.class).exists()).thenReturn(true);
+
+        houseRepository = mock(HouseRepository.class);
+        when(houseRepository.currentTimestamp()).thenReturn(DATABASE_NOW, DATABASE_NOW.plusMinutes(1));
+
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        searchIndex = new HouseSearchIndex();
+        ReflectionTestUtils.setField(searchIndex, "elasticsearchOperations", elasticsearchOperations);
+        ReflectionTestUtils.setField(searchIndex, "houseRepository", houseRepository);
+        ReflectionTestUtils.setField(searchIndex, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(searchIndex, "enabled", true);
+        searchIndex.init();
+    }
+
+    @Test
+    void watermarkComesFromTheDatabaseClock() {
+        searchIndex.syncChanges();
+        searchIndex.syncChanges();
+
+        verify(houseRepository).findUpdatedSince(isNull(), eq(0L), any(Pageable.class));
+        verify(houseRepository).findUpdatedSince(eq(DATABASE_NOW.minusMinutes(1)), eq(0L), any(Pageable.class));
+    }
+}
@@ -0,0 +1,148 @@
+package com.house.houseservice.service;
+
+import com.house.common.dto.HouseDTO;
+import com.house.common.entity.House;
+import com.house.common.entity.HouseStatus;
+import com.house.common.entity.HouseType;
+import com.house.houseservice.repository.HouseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Cache misses on one house from many threads at once must reach the database once.
+ */
+class HouseServiceConcurrentMissTest {
+
+    private static final int THREADS = 1000;
+
+    private static final long HOUSE_ID = 7L;
+
+    private final AtomicInteger databaseLoads = new AtomicInteger();
+
+    private final AtomicReference<HouseDTO> cached = new AtomicReference<>();
+
+    private HouseRepository houseRepository;
+
+    private HouseService houseService;
+
+    @BeforeEach
+    void setUp() {
+        HouseCache houseCache = mock(HouseCache.class);
+        when(houseCache.get(HOUSE_ID)).thenAnswer(invocation -> Optional.ofNullable(cached.get()));
+        doAnswer(invocation -> {
+            cached.set(invocation.getArgument(0));
+            return null;
+        }).when(houseCache).put(any(HouseDTO.class), anyLong());
+
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        houseRepository = mock(HouseRepository.class);
+
+        houseService = new HouseService();
+        ReflectionTestUtils.setField(houseService, "houseCache", houseCache);
+        ReflectionTestUtils.setField(houseService, "houseRepository", houseRepository);
+        ReflectionTestUtils.setField(houseService, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(houseService, "loadWaitMillis", 10_000L);
+        houseService.init();
+    }
+
+    @Test
+    void concurrentMissesShareOneDatabaseLoad() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch allWaiting = new CountDownLatch(THREADS);
+        when(houseRepository.findById(HOUSE_ID)).thenAnswer(invocation -> {
+            databaseLoads.incrementAndGet();
+            // Hold the load open until every thread has missed the cache
+            allWaiting.await(10, TimeUnit.SECONDS);
+            Thread.sleep(50);
+            return Optional.of(house());
+        });
+
+        List<HouseDTO> results = runConcurrently(start, allWaiting);
+
+        assertThat(databaseLoads).hasValue(1);
+        assertThat(results).hasSize(THREADS).allSatisfy(house -> assertThat(house.getId()).isEqualTo(HOUSE_ID));
+    }
+
+    @Test
+    void stuckLoadDoesNotHoldOtherCallers() {
+        ReflectionTestUtils.setField(houseService, "loadWaitMillis", 50L);
+        CountDownLatch release = new CountDownLatch(1);
+        when(houseRepository.findById(HOUSE_ID)).thenAnswer(invocation -> {
+            if (databaseLoads.incrementAndGet() == 1) {
+                release.await(10, TimeUnit.SECONDS);
+            }
+            return Optional.of(house());
+        });
+
+        Thread stuck = new Thread(() -> houseService.getHouseById(HOUSE_ID));
+        stuck.start();
+        while (databaseLoads.get() == 0) {
+            Thread.onSpinWait();
+        }
+
+        long started = System.nanoTime();
+        Optional<HouseDTO> house = houseService.getHouseById(HOUSE_ID);
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        release.countDown();
+
+        assertThat(house).isPresent();
+        assertThat(databaseLoads).hasValue(2);
+        assertThat(waitedMillis).isLessThan(5000);
+    }
+
+    private List<HouseDTO> runConcurrently(CountDownLatch start, CountDownLatch allWaiting) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Optional<HouseDTO>>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    allWaiting.countDown();
+                    return houseService.getHouseById(HOUSE_ID);
+                }));
+            }
+            start.countDown();
+
+            List<HouseDTO> results = new ArrayList<>();
+            for (Future<Optional<HouseDTO>> future : futures) {
+                future.get(30, TimeUnit.SECONDS).ifPresent(results::add);
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static House house() {
+        House house = new House("1 Main St", "Irvine", "CA", "92618",
+                new BigDecimal("33.6846"), new BigDecimal("-117.8265"),
+                new HouseType("SINGLE_FAMILY", null), 1500, new HouseStatus("FOR_SALE", null));
+        house.setId(HOUSE_ID);
+        house.setVersion(3L);
+        return house;
+    }
+}
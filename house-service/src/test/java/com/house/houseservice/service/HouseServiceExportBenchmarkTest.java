@@ -0,0 +1,237 @@
+package com.house.houseservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.house.common.dto.HouseDTO;
+import com.house.common.entity.HouseStatus;
+import com.house.common.entity.HouseType;
+import com.house.common.reference.ReferenceDataRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the NDJSON export with the listing it replaces for bulk reads: getAllHouses,
+ * which loads every house through findAll and maps the whole list before the response is
+ * written. Both run over the same houses on an in-memory H2 database. Each path runs once
+ * for time and once for memory, where the heap is sampled after forced collections: after
+ * the list is built for findAll, and every 256 KB of output for the stream. Figures are
+ * printed; the assertions only check that both write every house and that the stream holds
+ * far less memory.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false"
+})
+@Import({HouseService.class, JacksonAutoConfiguration.class, HouseServiceExportBenchmarkTest.H2FetchSizeConfig.class})
+class HouseServiceExportBenchmarkTest {
+
+    private static final int HOUSES = 20_000;
+    private static final int SAMPLE_EVERY_BYTES = 256 * 1024;
+
+    @Autowired
+    private HouseService houseService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private ReferenceDataRegistry referenceData;
+
+    @MockBean
+    private HouseCache houseCache;
+
+    @MockBean
+    private HouseSpatialIndex spatialIndex;
+
+    @MockBean
+    private HouseClusterGrid clusterGrid;
+
+    @MockBean
+    private HouseSuggestionIndex suggestionIndex;
+
+    @MockBean
+    private HouseTileService houseTileService;
+
+    @MockBean
+    private HouseSearchCache houseSearchCache;
+
+    @MockBean
+    private HouseSearchIndex houseSearchIndex;
+
+    @MockBean
+    private HouseViewCounter viewCounter;
+
+    // H2 rejects the Integer.MIN_VALUE fetch size that makes Connector/J stream rows; H2
+    // returns results in chunks anyway, so the negative value is dropped here
+    @TestConfiguration
+    static class H2FetchSizeConfig {
+
+        @Bean
+        static BeanPostProcessor ignoreNegativeFetchSize() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? wrap(DataSource.class, dataSource) : bean;
+                }
+            };
+        }
+
+        private static <T> T wrap(Class<T> type, T target) {
+            InvocationHandler handler = (proxy, method, args) -> {
+                if (method.getName().equals("setFetchSize") && (int) args[0] < 0) {
+                    return null;
+                }
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                if (result instanceof PreparedStatement statement) {
+                    return wrap(PreparedStatement.class, statement);
+                }
+                if (result instanceof Connection connection) {
+                    return wrap(Connection.class, connection);
+                }
+                return result;
+            };
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        HouseType houseType = persist(new HouseType("HOUSE", null));
+        HouseStatus houseStatus = persist(new HouseStatus("FOR_SALE", null));
+        entityManager.flush();
+        // One set-based insert per table; persisting 40,000 entities would dominate the run
+        entityManager.createNativeQuery("INSERT INTO houses (address, city, state, zip_code, latitude, longitude, " +
+                        "house_type_id, area_sqft, house_status_id, bathrooms, bedrooms, description, version) " +
+                        "SELECT X || ' Main St', 'Irvine', 'CA', '92618', 33.6846, -117.8265, :type, " +
+                        "1500 + MOD(X, 2000), :status, 2, 3, " +
+                        "'Three bedroom single family home close to parks and schools, house ' || X, 0 " +
+                        "FROM SYSTEM_RANGE(1, :houses)")
+                .setParameter("type", houseType.getId())
+                .setParameter("status", houseStatus.getId())
+                .setParameter("houses", HOUSES)
+                .executeUpdate();
+        entityManager.createNativeQuery("INSERT INTO house_sales (house_id, sale_date, sale_price) " +
+                        "SELECT id, DATE '2020-01-01', 900000 FROM houses")
+                .executeUpdate();
+        entityManager.clear();
+    }
+
+    @Test
+    void streamedExportAgainstFindAll() throws IOException {
+        // Warm up both paths on the full table so the JIT does not decide the comparison
+        writeFindAll(new CountingOutputStream(false));
+        houseService.exportHouses(null, null, null, null, new CountingOutputStream(false));
+        entityManager.clear();
+
+        CountingOutputStream findAllOut = new CountingOutputStream(false);
+        long start = System.nanoTime();
+        int findAllRows = writeFindAll(findAllOut);
+        long findAllNanos = System.nanoTime() - start;
+        entityManager.clear();
+
+        CountingOutputStream streamOut = new CountingOutputStream(false);
+        start = System.nanoTime();
+        long streamRows = houseService.exportHouses(null, null, null, null, streamOut);
+        long streamNanos = System.nanoTime() - start;
+        entityManager.clear();
+
+        long baseline = usedHeapAfterGc();
+        List<HouseDTO> houses = houseService.getAllHouses();
+        long findAllRetained = usedHeapAfterGc() - baseline;
+        objectMapper.writeValue(new CountingOutputStream(false), houses);
+        houses = null;
+        entityManager.clear();
+
+        CountingOutputStream sampling = new CountingOutputStream(true);
+        sampling.baseline = usedHeapAfterGc();
+        houseService.exportHouses(null, null, null, null, sampling);
+        entityManager.clear();
+
+        System.out.printf("%,d houses: findAll %,d ms (%,.0f rows/s), %,d KB retained; "
+                        + "streamed export %,d ms (%,.0f rows/s), peak %,d KB retained%n",
+                HOUSES, findAllNanos / 1_000_000, findAllRows * 1e9 / findAllNanos, findAllRetained / 1024,
+                streamNanos / 1_000_000, streamRows * 1e9 / streamNanos, sampling.peakRetained / 1024);
+        assertThat(findAllRows).isEqualTo(HOUSES);
+        assertThat(streamRows).isEqualTo(HOUSES);
+        assertThat(streamOut.bytes).isPositive();
+        assertThat(sampling.peakRetained * 4).isLessThan(findAllRetained);
+    }
+
+    private int writeFindAll(OutputStream out) throws IOException {
+        List<HouseDTO> houses = houseService.getAllHouses();
+        objectMapper.writeValue(out, houses);
+        return houses.size();
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    // Discards the output, optionally sampling the retained heap as it goes
+    private static final class CountingOutputStream extends OutputStream {
+
+        private final boolean sampling;
+
+        private long bytes;
+
+        private long nextSample = SAMPLE_EVERY_BYTES;
+
+        private long baseline;
+
+        private long peakRetained;
+
+        CountingOutputStream(boolean sampling) {
+            this.sampling = sampling;
+        }
+
+        @Override
+        public void write(int b) {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+            if (sampling && bytes >= nextSample) {
+                nextSample += SAMPLE_EVERY_BYTES;
+                peakRetained = Math.max(peakRetained, usedHeapAfterGc() - baseline);
+            }
+        }
+    }
+}
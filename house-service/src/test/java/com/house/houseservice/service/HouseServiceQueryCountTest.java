@@ -0,0 +1,168 @@
+package com.house.houseservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.house.common.dto.HouseDTO;
+import com.house.common.entity.DisasterType;
+import com.house.common.entity.House;
+import com.house.common.entity.HouseDisaster;
+import com.house.common.entity.HouseMaintenance;
+import com.house.common.entity.HouseSale;
+import com.house.common.entity.HouseStatus;
+import com.house.common.entity.HouseType;
+import com.house.common.entity.MaintenanceScale;
+import com.house.common.reference.ReferenceDataRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the SQL statements behind house listings on an in-memory H2 database, so the
+ * number stays fixed as the number of houses (and their sales, maintenance records and
+ * disasters) grows instead of one query per house and association.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+@Import(HouseService.class)
+class HouseServiceQueryCountTest {
+
+    // One statement each for houses (with type and status), sales, maintenance records,
+    // maintenance scales, disasters and disaster types
+    private static final long MAX_STATEMENTS = 6;
+
+    @Autowired
+    private HouseService houseService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private ReferenceDataRegistry referenceData;
+
+    @MockBean
+    private HouseCache houseCache;
+
+    @MockBean
+    private HouseSpatialIndex spatialIndex;
+
+    @MockBean
+    private HouseClusterGrid clusterGrid;
+
+    @MockBean
+    private HouseSuggestionIndex suggestionIndex;
+
+    @MockBean
+    private HouseTileService houseTileService;
+
+    @MockBean
+    private HouseSearchCache houseSearchCache;
+
+    @MockBean
+    private HouseSearchIndex houseSearchIndex;
+
+    @MockBean
+    private HouseViewCounter viewCounter;
+
+    @MockBean
+    private ObjectMapper objectMapper;
+
+    private Statistics statistics;
+
+    private HouseType houseType;
+
+    private HouseStatus houseStatus;
+
+    private MaintenanceScale maintenanceScale;
+
+    private DisasterType disasterType;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        houseType = persist(new HouseType("SINGLE_FAMILY", null));
+        houseStatus = persist(new HouseStatus("FOR_SALE", null));
+        maintenanceScale = persist(new MaintenanceScale("MINOR", null));
+        disasterType = persist(new DisasterType("FLOOD", null));
+    }
+
+    @Test
+    void listingLoadsInFixedNumberOfStatements() {
+        createHouses(10, "Irvine");
+        long fewHouses = countStatements(() -> houseService.getHousesByCityAndState("Irvine", "CA"), 10);
+
+        createHouses(50, "Tustin");
+        long manyHouses = countStatements(() -> houseService.getHousesByCityAndState("Tustin", "CA"), 50);
+
+        assertThat(fewHouses).isLessThanOrEqualTo(MAX_STATEMENTS);
+        assertThat(manyHouses).isEqualTo(fewHouses);
+    }
+
+    @Test
+    void fullListingLoadsInFixedNumberOfStatements() {
+        createHouses(40, "Irvine");
+
+        long statements = countStatements(() -> houseService.getAllHouses(), 40);
+
+        assertThat(statements).isLessThanOrEqualTo(MAX_STATEMENTS);
+    }
+
+    private long countStatements(ListingCall call, int expectedHouses) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        List<HouseDTO> houses = call.load();
+
+        assertThat(houses).hasSize(expectedHouses);
+        assertThat(houses).allSatisfy(house -> {
+            assertThat(house.getHouseType()).isEqualTo("SINGLE_FAMILY");
+            assertThat(house.getSales()).hasSize(2);
+            assertThat(house.getMaintenanceRecords()).hasSize(2);
+            assertThat(house.getDisasters()).hasSize(2);
+        });
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void createHouses(int count, String city) {
+        for (int i = 0; i < count; i++) {
+            House house = new House(i + " Main St", city, "CA", "92618",
+                    new BigDecimal("33.6846"), new BigDecimal("-117.8265"), houseType, 1500 + i, houseStatus);
+            persist(house);
+            for (int n = 0; n < 2; n++) {
+                persist(new HouseSale(house, LocalDate.of(2020 + n, 1, 1), new BigDecimal("900000")));
+                persist(new HouseMaintenance(house, LocalDate.of(2021 + n, 6, 1), maintenanceScale,
+                        new BigDecimal("2500")));
+                persist(new HouseDisaster(house, disasterType, LocalDate.of(2019 + n, 3, 1)));
+            }
+        }
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+
+    @FunctionalInterface
+    private interface ListingCall {
+        List<HouseDTO> load();
+    }
+}
@@ -0,0 +1,110 @@
+package com.house.houseservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.house.common.dto.HouseDTO;
+import com.house.common.entity.House;
+import com.house.common.entity.HouseStatus;
+import com.house.common.entity.HouseType;
+import com.house.common.reference.ReferenceDataRegistry;
+import com.house.houseservice.repository.HouseRepository;
+import com.house.houseservice.repository.HouseVersion;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The DTO returned (and cached) by an update must carry the version and modification
+ * time the update wrote, since both feed the house ETag and Last-Modified.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false"
+})
+@Import(HouseService.class)
+class HouseServiceUpdateTest {
+
+    @Autowired
+    private HouseService houseService;
+
+    @Autowired
+    private HouseRepository houseRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockBean
+    private ReferenceDataRegistry referenceData;
+
+    @MockBean
+    private HouseCache houseCache;
+
+    @MockBean
+    private HouseSpatialIndex spatialIndex;
+
+    @MockBean
+    private HouseClusterGrid clusterGrid;
+
+    @MockBean
+    private HouseSuggestionIndex suggestionIndex;
+
+    @MockBean
+    private HouseTileService houseTileService;
+
+    @MockBean
+    private HouseSearchCache houseSearchCache;
+
+    @MockBean
+    private HouseSearchIndex houseSearchIndex;
+
+    @MockBean
+    private HouseViewCounter viewCounter;
+
+    @MockBean
+    private ObjectMapper objectMapper;
+
+    @Test
+    void updateReturnsTheWrittenVersionAndModificationTime() {
+        HouseType houseType = new HouseType("CONDO", null);
+        HouseStatus houseStatus = new HouseStatus("FOR_SALE", null);
+        entityManager.persist(houseType);
+        entityManager.persist(houseStatus);
+        House house = new House("1 Main St", "Irvine", "CA", "92618",
+                new BigDecimal("33.6846"), new BigDecimal("-117.8265"), houseType, 1200, houseStatus);
+        entityManager.persist(house);
+        entityManager.flush();
+        entityManager.clear();
+        LocalDateTime createdUpdatedAt = houseRepository.findVersionById(house.getId()).orElseThrow().updatedAt();
+
+        HouseDTO first = houseService.updateHouse(house.getId(), changes(1300));
+        HouseDTO second = houseService.updateHouse(house.getId(), changes(1400));
+        entityManager.clear();
+
+        HouseVersion stored = houseRepository.findVersionById(house.getId()).orElseThrow();
+        assertThat(first.getVersion()).isEqualTo(1L);
+        // Two updates in the same second still get different versions
+        assertThat(second.getVersion()).isEqualTo(2L).isEqualTo(stored.version());
+        assertThat(second.getUpdatedAt()).isEqualTo(stored.updatedAt()).isAfterOrEqualTo(createdUpdatedAt);
+        assertThat(second.getUpdatedAt().getNano()).isZero();
+    }
+
+    private static HouseDTO changes(int areaSqft) {
+        HouseDTO dto = new HouseDTO();
+        dto.setAddress("1 Main St");
+        dto.setCity("Irvine");
+        dto.setState("CA");
+        dto.setZipCode("92618");
+        dto.setLatitude(new BigDecimal("33.6846"));
+        dto.setLongitude(new BigDecimal("-117.8265"));
+        dto.setAreaSqft(areaSqft);
+        return dto;
+    }
+}
@@ -0,0 +1,92 @@
+package com.house.houseservice.service;
+
+import com.house.houseservice.util.GeoUtils;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares radius queries on the grid index with a full haversine scan over every
+ * house, which is what {@code findByLocationWithinRadius} made MySQL do per search.
+ * Timings are printed; the assertions only check that both return the same houses
+ * and that the index wins by a wide margin.
+ */
+class HouseSpatialIndexBenchmarkTest {
+
+    // Southern California, roughly 2 x 2 degrees
+    private static final double MIN_LAT = 33.0;
+    private static final double MIN_LNG = -118.5;
+    private static final double SPAN_DEGREES = 2.0;
+
+    private static final double RADIUS_KM = 5.0;
+    private static final int QUERIES = 50;
+
+    @ParameterizedTest(name = "{0} houses")
+    @ValueSource(ints = {100_000, 1_000_000})
+    void indexBeatsFullScan(int houseCount) {
+        Random random = new Random(42);
+        double[] latitudes = new double[houseCount];
+        double[] longitudes = new double[houseCount];
+        HouseSpatialIndex index = new HouseSpatialIndex();
+        ReflectionTestUtils.setField(index, "enabled", true);
+        for (int i = 0; i < houseCount; i++) {
+            latitudes[i] = MIN_LAT + random.nextDouble() * SPAN_DEGREES;
+            longitudes[i] = MIN_LNG + random.nextDouble() * SPAN_DEGREES;
+            index.put((long) i, BigDecimal.valueOf(latitudes[i]), BigDecimal.valueOf(longitudes[i]));
+        }
+
+        List<double[]> centers = new ArrayList<>();
+        for (int q = 0; q < QUERIES; q++) {
+            centers.add(new double[]{MIN_LAT + random.nextDouble() * SPAN_DEGREES,
+                    MIN_LNG + random.nextDouble() * SPAN_DEGREES});
+        }
+
+        // Warm up both paths so the JIT does not decide the comparison
+        for (double[] center : centers.subList(0, 5)) {
+            index.searchWithinRadius(center[0], center[1], RADIUS_KM);
+            fullScan(latitudes, longitudes, center[0], center[1]);
+        }
+
+        long indexNanos = 0;
+        long scanNanos = 0;
+        for (double[] center : centers) {
+            long start = System.nanoTime();
+            Set<Long> indexed = index.searchWithinRadius(center[0], center[1], RADIUS_KM).stream()
+                    .map(HouseSpatialIndex.Match::houseId)
+                    .collect(Collectors.toSet());
+            indexNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            Set<Long> scanned = fullScan(latitudes, longitudes, center[0], center[1]);
+            scanNanos += System.nanoTime() - start;
+
+            assertThat(indexed).isEqualTo(scanned);
+        }
+
+        double indexMillis = indexNanos / 1e6 / QUERIES;
+        double scanMillis = scanNanos / 1e6 / QUERIES;
+        System.out.printf("%,d houses, %.0f km radius: index %.3f ms/query, full scan %.3f ms/query (%.0fx)%n",
+                houseCount, RADIUS_KM, indexMillis, scanMillis, scanMillis / indexMillis);
+        assertThat(indexNanos * 5).isLessThan(scanNanos);
+    }
+
+    private static Set<Long> fullScan(double[] latitudes, double[] longitudes, double latitude, double longitude) {
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < latitudes.length; i++) {
+            if (GeoUtils.distanceKm(latitude, longitude, latitudes[i], longitudes[i]) <= RADIUS_KM) {
+                ids.add((long) i);
+            }
+        }
+        return ids;
+    }
+}
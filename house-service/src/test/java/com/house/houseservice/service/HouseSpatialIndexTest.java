@@ -0,0 +1,106 @@
+package com.house.houseservice.service;
+
+import com.house.houseservice.repository.HouseLocation;
+import com.house.houseservice.repository.HouseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class HouseSpatialIndexTest {
+
+    private HouseRepository houseRepository;
+
+    private HouseSpatialIndex index;
+
+    @BeforeEach
+    void setUp() {
+        houseRepository = mock(HouseRepository.class);
+        index = new HouseSpatialIndex();
+        ReflectionTestUtils.setField(index, "houseRepository", houseRepository);
+        ReflectionTestUtils.setField(index, "enabled", true);
+    }
+
+    @Test
+    void changesDuringRebuildAreReplayedOntoTheNewGrid() throws Exception {
+        CountDownLatch scanning = new CountDownLatch(1);
+        CountDownLatch changed = new CountDownLatch(1);
+        // The scan sees house 1 at its old location, house 2 before its delete and misses new house 3
+        when(houseRepository.findLocationsAfter(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            scanning.countDown();
+            assertThat(changed.await(5, TimeUnit.SECONDS)).isTrue();
+            return List.of(location(1L, 10.0, 10.0), location(2L, 20.0, 20.0));
+        });
+
+        Thread rebuild = new Thread(index::rebuild);
+        rebuild.start();
+        assertThat(scanning.await(5, TimeUnit.SECONDS)).isTrue();
+        index.put(1L, decimal(30.0), decimal(30.0));
+        index.remove(2L);
+        index.put(3L, decimal(40.0), decimal(40.0));
+        changed.countDown();
+        rebuild.join(5000);
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.searchWithinRadius(30.0, 30.0, 1.0)).extracting(HouseSpatialIndex.Match::houseId)
+                .containsExactly(1L);
+        assertThat(index.searchWithinRadius(10.0, 10.0, 1.0)).isEmpty();
+        assertThat(index.searchWithinRadius(20.0, 20.0, 1.0)).isEmpty();
+        assertThat(index.searchWithinRadius(40.0, 40.0, 1.0)).extracting(HouseSpatialIndex.Match::houseId)
+                .containsExactly(3L);
+    }
+
+    @Test
+    void failedRebuildKeepsTheCurrentGrid() {
+        index.put(1L, decimal(30.0), decimal(30.0));
+        when(houseRepository.findLocationsAfter(anyLong(), any(Pageable.class)))
+                .thenThrow(new IllegalStateException("database down"));
+
+        assertThatThrownBy(index::rebuild).isInstanceOf(IllegalStateException.class);
+        index.put(2L, decimal(40.0), decimal(40.0));
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.isReady()).isFalse();
+    }
+
+    private static BigDecimal decimal(double value) {
+        return BigDecimal.valueOf(value);
+    }
+
+    private static HouseLocation location(Long id, double latitude, double longitude) {
+        return new HouseLocation() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public BigDecimal getLatitude() {
+                return decimal(latitude);
+            }
+
+            @Override
+            public BigDecimal getLongitude() {
+                return decimal(longitude);
+            }
+
+            @Override
+            public Integer getAreaSqft() {
+                return null;
+            }
+        };
+    }
+}
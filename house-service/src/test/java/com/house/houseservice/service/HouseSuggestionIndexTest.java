@@ -0,0 +1,172 @@
+package com.house.houseservice.service;
+
+import com.house.common.dto.SuggestionDTO;
+import com.house.common.entity.House;
+import com.house.houseservice.repository.HouseRepository;
+import com.house.houseservice.repository.HouseSuggestionSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class HouseSuggestionIndexTest {
+
+    private static final String[] STREETS = {"Main St", "Harvard Ave", "Oak Ln", "Culver Dr", "Jamboree Rd",
+            "Alton Pkwy", "Barranca Pkwy", "Yale Loop", "Walnut Ave", "Bonita Canyon Dr"};
+
+    @Test
+    void shortPrefixRanksEveryMatchNotTheFirstKeys() {
+        HouseSuggestionIndex index = index();
+        long id = 1;
+        // Thousands of single-house cities sort before the one big city
+        for (int i = 0; i < 3000; i++) {
+            index.put(house(id++, "1 Main St", String.format("Aa%04d", i), "92618", 33.0, -117.0));
+        }
+        for (int i = 0; i < 40; i++) {
+            index.put(house(id++, i + " Azusa Ave", "Azusa", "91702", 34.1, -117.9));
+        }
+
+        List<SuggestionDTO> suggestions = index.suggest("a", 5);
+
+        assertThat(suggestions.get(0).getText()).isEqualTo("Azusa, CA");
+        assertThat(suggestions.get(0).getCount()).isEqualTo(40);
+    }
+
+    @Test
+    void rankingsFollowIncrementalChanges() {
+        HouseSuggestionIndex live = index();
+        Random random = new Random(7);
+        Map<Long, House> current = new HashMap<>();
+        List<String> prefixes = Arrays.asList("a", "b", "c", "h", "i", "ir", "j", "m", "ma", "o", "t", "w", "y",
+                "1", "9", "92", "926");
+
+        for (int step = 0; step < 20_000; step++) {
+            long id = 1 + random.nextInt(5000);
+            if (random.nextInt(4) == 0) {
+                current.remove(id);
+                live.remove(id);
+            } else {
+                House house = randomHouse(id, random);
+                current.put(id, house);
+                live.put(house);
+            }
+            if (step % 500 == 0) {
+                // Populate the rankings so later changes have to maintain them
+                prefixes.forEach(prefix -> live.suggest(prefix, 10));
+            }
+        }
+
+        HouseSuggestionIndex fresh = index();
+        current.values().forEach(fresh::put);
+        for (String prefix : prefixes) {
+            assertThat(texts(live.suggest(prefix, 10))).as(prefix).isEqualTo(texts(fresh.suggest(prefix, 10)));
+        }
+    }
+
+    @Test
+    void rebuildKeepsChangesMadeDuringTheScan() {
+        HouseSuggestionIndex index = index();
+        HouseRepository houseRepository = mock(HouseRepository.class);
+        ReflectionTestUtils.setField(index, "houseRepository", houseRepository);
+        HouseSuggestionSource scanned = source(1L, "10 Culver Dr", "Irvine", "92618");
+        when(houseRepository.findSuggestionSourcesAfter(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            // Committed while the scan runs: one new house, and the scanned one deleted
+            index.put(house(2L, "20 Harvard Ave", "Tustin", "92780", 33.7, -117.8));
+            index.remove(1L);
+            return List.of(scanned);
+        });
+
+        index.rebuild();
+
+        assertThat(texts(index.suggest("tus", 10))).contains("Tustin, CA");
+        assertThat(texts(index.suggest("culver", 10))).isEmpty();
+    }
+
+    @Test
+    void lookupsStayInSingleDigitMilliseconds() {
+        HouseSuggestionIndex index = index();
+        Random random = new Random(42);
+        for (long id = 1; id <= 200_000; id++) {
+            index.put(randomHouse(id, random));
+        }
+        List<String> queries = new ArrayList<>();
+        for (String word : new String[]{"a", "b", "i", "9", "92", "926", "ma", "mai", "main", "main s",
+                "harv", "harvard ave", "1", "12", "123", "irvine", "92618", "j", "ja", "yale l"}) {
+            queries.add(word);
+        }
+
+        // Warm up the JIT and the per-prefix rankings
+        for (int round = 0; round < 20; round++) {
+            queries.forEach(query -> index.suggest(query, 10));
+        }
+
+        long[] nanos = new long[queries.size() * 50];
+        int n = 0;
+        for (int round = 0; round < 50; round++) {
+            for (String query : queries) {
+                long start = System.nanoTime();
+                index.suggest(query, 10);
+                nanos[n++] = System.nanoTime() - start;
+            }
+        }
+        Arrays.sort(nanos);
+        double p50 = nanos[nanos.length / 2] / 1e6;
+        double p99 = nanos[(int) (nanos.length * 0.99)] / 1e6;
+        double max = nanos[nanos.length - 1] / 1e6;
+        System.out.printf("Suggestions over 200,000 houses: p50 %.3f ms, p99 %.3f ms, max %.3f ms%n", p50, p99, max);
+        assertThat(p99).isLessThan(10.0);
+    }
+
+    private static HouseSuggestionIndex index() {
+        HouseSuggestionIndex index = new HouseSuggestionIndex();
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "maxResults", 50);
+        ReflectionTestUtils.setField(index, "loaded", true);
+        return index;
+    }
+
+    private static House randomHouse(long id, Random random) {
+        String[] cities = {"Irvine", "Tustin", "Anaheim", "Costa Mesa", "Orange", "Brea", "Yorba Linda"};
+        String address = (1 + random.nextInt(20_000)) + " " + STREETS[random.nextInt(STREETS.length)];
+        // Enough distinct zip codes that "9" is answered from a kept ranking
+        String zip = String.format("9%04d", random.nextInt(10_000));
+        return house(id, address, cities[random.nextInt(cities.length)], zip,
+                33.5 + random.nextDouble(), -118 + random.nextDouble());
+    }
+
+    private static House house(long id, String address, String city, String zip, double lat, double lng) {
+        House house = new House(address, city, "CA", zip, BigDecimal.valueOf(lat), BigDecimal.valueOf(lng),
+                null, 1500, null);
+        house.setId(id);
+        return house;
+    }
+
+    private static HouseSuggestionSource source(Long id, String address, String city, String zip) {
+        HouseSuggestionSource source = mock(HouseSuggestionSource.class);
+        when(source.getId()).thenReturn(id);
+        when(source.getAddress()).thenReturn(address);
+        when(source.getCity()).thenReturn(city);
+        when(source.getState()).thenReturn("CA");
+        when(source.getZipCode()).thenReturn(zip);
+        when(source.getLatitude()).thenReturn(new BigDecimal("33.68"));
+        when(source.getLongitude()).thenReturn(new BigDecimal("-117.82"));
+        return source;
+    }
+
+    private static List<String> texts(List<SuggestionDTO> suggestions) {
+        return suggestions.stream().map(SuggestionDTO::getText).toList();
+    }
+}
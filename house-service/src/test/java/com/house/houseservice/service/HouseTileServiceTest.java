@@ -0,0 +1,85 @@
+package com.house.houseservice.service;
+
+import com.house.houseservice.repository.HouseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HouseTileServiceTest {
+
+    private HouseRepository houseRepository;
+
+    private HouseClusterGrid clusterGrid;
+
+    private HouseTileService tileService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        houseRepository = mock(HouseRepository.class);
+        when(houseRepository.findMarkersWithinBoundingBox(anyString(), anyInt())).thenReturn(List.of());
+
+        clusterGrid = new HouseClusterGrid();
+        ReflectionTestUtils.setField(clusterGrid, "maxZoom", 10);
+        ReflectionTestUtils.setField(clusterGrid, "enabled", true);
+        ReflectionTestUtils.setField(clusterGrid, "loaded", true);
+
+        RedisTemplate<String, byte[]> redisTemplate = mock(RedisTemplate.class);
+        when(redisTemplate.opsForValue()).thenReturn(mock(ValueOperations.class));
+
+        tileService = new HouseTileService();
+        ReflectionTestUtils.setField(tileService, "houseRepository", houseRepository);
+        ReflectionTestUtils.setField(tileService, "clusterGrid", clusterGrid);
+        ReflectionTestUtils.setField(tileService, "binaryRedisTemplate", redisTemplate);
+        ReflectionTestUtils.setField(tileService, "maxFeatures", 10);
+        ReflectionTestUtils.setField(tileService, "cacheTtlMinutes", 60L);
+    }
+
+    @Test
+    void crowdedZoomZeroTileIsBuiltFromClusters() {
+        for (long id = 1; id <= 50; id++) {
+            clusterGrid.put(id, BigDecimal.valueOf(30.0 + id * 0.1), BigDecimal.valueOf(-100.0 + id), 1000);
+        }
+
+        byte[] tile = tileService.getTile(0, 0, 0);
+
+        assertThat(new String(tile, StandardCharsets.ISO_8859_1)).contains("house-clusters");
+        verify(houseRepository, never()).findMarkersWithinBoundingBox(anyString(), anyInt());
+    }
+
+    @Test
+    void sparseZoomZeroTileQueriesMarkersInNarrowBoxes() {
+        clusterGrid.put(1L, BigDecimal.valueOf(34.0), BigDecimal.valueOf(-118.0), 1000);
+
+        tileService.getTile(0, 0, 0);
+
+        ArgumentCaptor<String> boxes = ArgumentCaptor.forClass(String.class);
+        verify(houseRepository, times(4)).findMarkersWithinBoundingBox(boxes.capture(), anyInt());
+        assertThat(boxes.getAllValues()).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void zoomOneTileIsSplitInTwo() {
+        ReflectionTestUtils.setField(clusterGrid, "loaded", false);
+
+        tileService.getTile(1, 1, 0);
+
+        verify(houseRepository, times(2)).findMarkersWithinBoundingBox(anyString(), anyInt());
+    }
+}
@@ -0,0 +1,90 @@
+package com.house.houseservice.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class HouseViewCounterTest {
+
+    private final Map<String, Double> flushed = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean redisDown = new AtomicBoolean();
+
+    private HouseViewCounter viewCounter;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        StringRedisConnection connection = mock(StringRedisConnection.class);
+        doAnswer(invocation -> flushed.merge(invocation.getArgument(2), invocation.getArgument(1), Double::sum))
+                .when(connection).zIncrBy(eq("house-views"), anyDouble(), anyString());
+
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            if (redisDown.get()) {
+                throw new IllegalStateException("Redis unavailable");
+            }
+            ((RedisCallback<Object>) invocation.getArgument(0)).doInRedis(connection);
+            return List.of();
+        });
+
+        viewCounter = new HouseViewCounter();
+        ReflectionTestUtils.setField(viewCounter, "stringRedisTemplate", redisTemplate);
+    }
+
+    @Test
+    void flushingWhileRecordingLosesNoViews() throws Exception {
+        int threads = 8;
+        int viewsPerThread = 50_000;
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            Thread recorder = new Thread(() -> {
+                for (int i = 0; i < viewsPerThread; i++) {
+                    viewCounter.record((long) (i % 3));
+                }
+                done.countDown();
+            });
+            recorder.start();
+        }
+        while (done.getCount() > 0) {
+            viewCounter.flush();
+        }
+        viewCounter.flush();
+
+        double total = flushed.values().stream().mapToDouble(Double::doubleValue).sum();
+        assertThat(total).isEqualTo((double) threads * viewsPerThread);
+    }
+
+    @Test
+    void failedFlushKeepsViewsForNextFlush() {
+        viewCounter.record(1L);
+        viewCounter.record(1L);
+        redisDown.set(true);
+
+        assertThatThrownBy(viewCounter::flush).isInstanceOf(IllegalStateException.class);
+
+        redisDown.set(false);
+        viewCounter.record(1L);
+        viewCounter.flush();
+        assertThat(flushed).containsEntry("1", 3.0);
+    }
+}
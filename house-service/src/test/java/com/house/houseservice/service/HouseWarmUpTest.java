@@ -0,0 +1,90 @@
+package com.house.houseservice.service;
+
+import com.house.common.dto.HouseDTO;
+import com.house.common.reference.ReferenceDataRegistry;
+import com.house.houseservice.repository.HouseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class HouseWarmUpTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final CountDownLatch batchesCached = new CountDownLatch(2);
+
+    private final AtomicBoolean interrupted = new AtomicBoolean();
+
+    private HouseWarmUp warmUp;
+
+    @BeforeEach
+    void setUp() {
+        HouseSpatialIndex spatialIndex = mock(HouseSpatialIndex.class);
+        doAnswer(invocation -> awaitRelease()).when(spatialIndex).rebuild();
+
+        HouseRepository houseRepository = mock(HouseRepository.class);
+        when(houseRepository.findRecentlyUpdatedIds(any(Pageable.class))).thenAnswer(invocation -> {
+            awaitRelease();
+            return List.of(1L, 2L, 3L);
+        });
+
+        HouseService houseService = mock(HouseService.class);
+        when(houseService.getHousesByIds(anyList())).thenAnswer(invocation -> {
+            batchesCached.countDown();
+            return invocation.<List<Long>>getArgument(0).stream().map(id -> new HouseDTO()).toList();
+        });
+
+        warmUp = new HouseWarmUp();
+        ReflectionTestUtils.setField(warmUp, "referenceData", mock(ReferenceDataRegistry.class));
+        ReflectionTestUtils.setField(warmUp, "spatialIndex", spatialIndex);
+        ReflectionTestUtils.setField(warmUp, "suggestionIndex", mock(HouseSuggestionIndex.class));
+        ReflectionTestUtils.setField(warmUp, "clusterGrid", mock(HouseClusterGrid.class));
+        ReflectionTestUtils.setField(warmUp, "houseRepository", houseRepository);
+        ReflectionTestUtils.setField(warmUp, "houseService", houseService);
+        ReflectionTestUtils.setField(warmUp, "viewCounter", mock(HouseViewCounter.class));
+        ReflectionTestUtils.setField(warmUp, "enabled", true);
+        ReflectionTestUtils.setField(warmUp, "timeoutSeconds", 0L);
+        ReflectionTestUtils.setField(warmUp, "threads", 4);
+        ReflectionTestUtils.setField(warmUp, "recentHouses", 3);
+        ReflectionTestUtils.setField(warmUp, "mostViewedHouses", 3);
+        ReflectionTestUtils.setField(warmUp, "batchSize", 2);
+    }
+
+    @Test
+    void tasksRunningAtTheTimeoutFinishInTheBackground() throws Exception {
+        warmUp.run(null);
+
+        Health health = warmUp.health();
+        assertThat(health.getDetails()).containsEntry("timedOut", true);
+
+        release.countDown();
+
+        // The recent-houses lookup was still running at the timeout; its cache batches must still be scheduled
+        assertThat(batchesCached.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(interrupted).isFalse();
+    }
+
+    private Void awaitRelease() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            interrupted.set(true);
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,46 @@
+package com.house.houseservice.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeoUtilsTest {
+
+    @Test
+    void splitsWholeWorldIntoBoxesNarrowerThanHalfTheGlobe() {
+        List<double[]> boxes = GeoUtils.splitBoundingBox(-95.0, -180.0, 95.0, 180.0);
+
+        assertThat(boxes).containsExactly(
+                new double[]{-90.0, -180.0, 90.0, -90.0},
+                new double[]{-90.0, -90.0, 90.0, 0.0},
+                new double[]{-90.0, 0.0, 90.0, 90.0},
+                new double[]{-90.0, 90.0, 90.0, 180.0});
+    }
+
+    @Test
+    void viewportWiderThanTheWorldCoversItOnce() {
+        List<double[]> boxes = GeoUtils.splitBoundingBox(-10.0, -400.0, 10.0, 400.0);
+
+        assertThat(boxes).hasSize(4);
+        assertThat(boxes.get(0)[1]).isEqualTo(-180.0);
+        assertThat(boxes.get(3)[3]).isEqualTo(180.0);
+    }
+
+    @Test
+    void splitsAtTheAntimeridian() {
+        List<double[]> boxes = GeoUtils.splitBoundingBox(10.0, 170.0, 20.0, 190.0);
+
+        assertThat(boxes).containsExactly(
+                new double[]{10.0, 170.0, 20.0, 180.0},
+                new double[]{10.0, -180.0, 20.0, -170.0});
+    }
+
+    @Test
+    void leavesSmallViewportsAlone() {
+        List<double[]> boxes = GeoUtils.splitBoundingBox(33.6, -117.9, 33.75, -117.7);
+
+        assertThat(boxes).containsExactly(new double[]{33.6, -117.9, 33.75, -117.7});
+    }
+}
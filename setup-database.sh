@@ -106,11 +106,20 @@ CREATE TABLE IF NOT EXISTS houses (
     zillow_id VARCHAR(100),
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0,
+    location POINT GENERATED ALWAYS AS (ST_SRID(POINT(longitude, latitude), 4326)) STORED NOT NULL SRID 4326,
     FOREIGN KEY (house_type_id) REFERENCES house_types(id),
     FOREIGN KEY (house_status_id) REFERENCES house_statuses(id),
     INDEX idx_location (latitude, longitude),
+    SPATIAL INDEX idx_location_point (location),
     INDEX idx_city_state (city, state),
-    INDEX idx_status (house_status_id)
+    INDEX idx_status (house_status_id),
+    INDEX idx_type_status_area (house_type_id, house_status_id, area_sqft),
+    INDEX idx_status_bedrooms_bathrooms (house_status_id, bedrooms, bathrooms),
+    INDEX idx_area_sqft (area_sqft),
+    INDEX idx_build_year ((COALESCE(build_year, 0))),
+    INDEX idx_updated_at (updated_at),
+    UNIQUE INDEX uk_zillow_id (zillow_id)
 );
 
 -- 房屋销售记录表
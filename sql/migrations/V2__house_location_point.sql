@@ -0,0 +1,12 @@
+-- 为已有的 houses 表添加原生空间坐标列和 SPATIAL INDEX
+-- location 是由 latitude/longitude 计算的 STORED 生成列：
+--   * ALTER 执行时会为所有已有行回填坐标
+--   * 之后的 INSERT/UPDATE 由 MySQL 自动维护，应用无需写入该列
+-- 大表上 ALTER 会重建整张表，请在低峰期执行
+USE house_db;
+
+ALTER TABLE houses
+    ADD COLUMN location POINT GENERATED ALWAYS AS (ST_SRID(POINT(longitude, latitude), 4326)) STORED NOT NULL SRID 4326;
+
+ALTER TABLE houses
+    ADD SPATIAL INDEX idx_location_point (location);
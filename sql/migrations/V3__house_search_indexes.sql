@@ -0,0 +1,8 @@
+-- 与 /api/houses/search/location 常用过滤条件组合匹配的复合索引
+--   类型 + 状态 + 面积范围
+--   状态 + 卧室数 + 浴室数
+USE house_db;
+
+ALTER TABLE houses
+    ADD INDEX idx_type_status_area (house_type_id, house_status_id, area_sqft),
+    ADD INDEX idx_status_bedrooms_bathrooms (house_status_id, bedrooms, bathrooms);
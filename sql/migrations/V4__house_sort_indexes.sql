@@ -0,0 +1,9 @@
+-- GET /api/houses 游标分页的排序索引
+-- InnoDB 二级索引隐含主键，因此 (sort_key) 索引即可按 (sort_key, id) 顺序扫描
+-- build_year 可为空，分页按 COALESCE(build_year, 0) 排序，使用函数索引（MySQL 8.0.13+）
+USE house_db;
+
+ALTER TABLE houses
+    ADD INDEX idx_area_sqft (area_sqft),
+    ADD INDEX idx_build_year ((COALESCE(build_year, 0))),
+    ADD INDEX idx_updated_at (updated_at);
@@ -0,0 +1,16 @@
+-- admin-service 按 zillow_id 批量 upsert（INSERT ... ON DUPLICATE KEY UPDATE），需要唯一索引
+-- 已有的重复 zillow_id 只保留最早的一条，其余置空（唯一索引允许多个 NULL），不删除房屋及其关联记录
+USE house_db;
+
+UPDATE houses h
+JOIN (
+    SELECT zillow_id, MIN(id) AS keep_id
+    FROM houses
+    WHERE zillow_id IS NOT NULL
+    GROUP BY zillow_id
+    HAVING COUNT(*) > 1
+) duplicates ON h.zillow_id = duplicates.zillow_id AND h.id <> duplicates.keep_id
+SET h.zillow_id = NULL;
+
+ALTER TABLE houses
+    ADD UNIQUE INDEX uk_zillow_id (zillow_id);
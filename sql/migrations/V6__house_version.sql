@@ -0,0 +1,6 @@
+-- 每次修改房屋时递增的版本号：house-service 的 @Version 乐观锁和 ETag 都基于它，
+-- updated_at 只精确到秒，同一秒内的两次修改无法区分
+USE house_db;
+
+ALTER TABLE houses
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0 AFTER updated_at;